@@ -3,17 +3,13 @@ package com.wawey.tsinjava;
 import com.wawey.interpreter.Interpreter;
 import com.wawey.interpreter.InterpreterFactory;
 import com.wawey.interpreter.StandardOutPrinter;
-import com.wawey.lexer.Lexer;
-import com.wawey.lexer.LexerFactory;
-import com.wawey.lexer.Token;
-import com.wawey.parser.Parser;
 import com.wawey.parser.ParserFactory;
+import com.wawey.parser.StreamingParser;
 import com.wawey.parser.ast.ASTNode;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.List;
 
 /**
  * @author Tomas Perez Molina
@@ -30,17 +26,14 @@ public class Main {
         System.out.println("--------------- OUTPUT ---------------\n\n");
 
 
-        LexerFactory lexerFactory = new LexerFactory();
         ParserFactory parserFactory = new ParserFactory();
         InterpreterFactory interpreterFactory = new InterpreterFactory();
 
-        Lexer lexer = lexerFactory.getTSLexer();
-        Parser parser = parserFactory.getTSParser();
+        StreamingParser parser = parserFactory.getStreamingTSParser();
         Interpreter interpreter = interpreterFactory.getTSInterpreter(new StandardOutPrinter());
 
         try {
-            List<Token> tokens = lexer.lex(input);
-            ASTNode ast = parser.parse(tokens);
+            ASTNode ast = parser.parse(input);
             interpreter.interpret(ast);
         } catch (Exception exc) {
             System.err.println(exc.getMessage());
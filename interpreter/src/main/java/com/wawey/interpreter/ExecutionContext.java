@@ -1,46 +1,73 @@
 package com.wawey.interpreter;
 
-import java.util.HashMap;
-import java.util.Map;
+import com.wawey.lexer.SymbolTable;
+
+import java.util.Arrays;
 
 /**
+ * Variables of a run, kept in slots numbered by a {@link SymbolTable}. The table is shared with the
+ * {@link TreeLowering} that numbers the variables of the programs run here, so a slot always stands for
+ * the same name.
+ *
  * @author Tomas Perez Molina
  */
 public class ExecutionContext implements VariableDeclarator, VariablePool {
-    private final Map<String, VariableTypeValue> variables = new HashMap<>();
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final SymbolTable symbols;
+    private VariableType[] types = new VariableType[INITIAL_CAPACITY];
+    private Value[] values = new Value[INITIAL_CAPACITY];
+
+    public ExecutionContext(SymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
+    public ExecutionContext() {
+        this(new SymbolTable());
+    }
 
     @Override
     public void declareVariable(String identifier, VariableType type) {
-        if (variables.containsKey(identifier)) throw new RedeclarationError(identifier);
-        else variables.put(identifier, new VariableTypeValue(type, UndefinedValue.getInstance()));
+        declareVariable(symbols.intern(identifier), type);
     }
 
     @Override
     public void setVariableValue(String identifier, Value value) {
-        if (!variables.containsKey(identifier)) throw new CannotFindNameException(identifier);
-        else {
-            VariableTypeValue variableTypeValue = variables.get(identifier);
-            if (variableTypeValue.type != VariableType.ANY && variableTypeValue.type != value.getType()) {
-                throw new UnassignableException(value.getType(), variableTypeValue.type);
-            }
-            variables.put(identifier, new VariableTypeValue(value.getType(), value));
-        }
+        int slot = symbols.lookup(identifier);
+        if (slot == SymbolTable.NO_SYMBOL) throw new CannotFindNameException(identifier);
+        setVariableValue(slot, value);
     }
 
     @Override
     public Value getVariable(String identifier) {
-        VariableTypeValue variableTypeValue = variables.get(identifier);
-        if (variableTypeValue == null) throw new ReferenceError(identifier);
-        return variableTypeValue.value;
+        int slot = symbols.lookup(identifier);
+        if (slot == SymbolTable.NO_SYMBOL) throw new ReferenceError(identifier);
+        return getVariable(slot);
     }
 
-    private static class VariableTypeValue {
-        final VariableType type;
-        final Value value;
+    public void declareVariable(int slot, VariableType type) {
+        if (slot >= values.length) {
+            int capacity = Math.max(values.length * 2, slot + 1);
+            types = Arrays.copyOf(types, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        if (values[slot] != null) throw new RedeclarationError(symbols.getName(slot));
+        types[slot] = type;
+        values[slot] = UndefinedValue.getInstance();
+    }
 
-        public VariableTypeValue(VariableType type, Value value) {
-            this.type = type;
-            this.value = value;
+    public void setVariableValue(int slot, Value value) {
+        if (slot >= values.length || values[slot] == null) throw new CannotFindNameException(symbols.getName(slot));
+        VariableType type = types[slot];
+        if (type != VariableType.ANY && type != value.getType()) {
+            throw new UnassignableException(value.getType(), type);
         }
+        types[slot] = value.getType();
+        values[slot] = value;
+    }
+
+    public Value getVariable(int slot) {
+        if (slot >= values.length || values[slot] == null) throw new ReferenceError(symbols.getName(slot));
+        return values[slot];
     }
 }
@@ -0,0 +1,59 @@
+package com.wawey.interpreter;
+
+import com.wawey.interpreter.tree.Binary;
+import com.wawey.interpreter.tree.ExpressionVisitor;
+import com.wawey.interpreter.tree.NumberLiteral;
+import com.wawey.interpreter.tree.StringLiteral;
+import com.wawey.interpreter.tree.VariableReference;
+
+/**
+ * @author Tomas Perez Molina
+ */
+public class ExpressionEvaluator implements ExpressionVisitor<Value> {
+    private final ExecutionContext context;
+
+    public ExpressionEvaluator(ExecutionContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public Value visit(Binary binary) {
+        Value left = binary.getLeft().accept(this);
+        Value right = binary.getRight().accept(this);
+        try {
+            switch (binary.getOperator()) {
+                case SUM:
+                    return left.sum(right);
+                case SUBTRACT:
+                    return left.subtract(right);
+                case MULTIPLY:
+                    return left.multiply(right);
+                case DIVIDE:
+                    return left.divide(right);
+                default:
+                    throw new IllegalStateException("Unknown operator " + binary.getOperator());
+            }
+        } catch (InterpreterException exc) {
+            throw new LocatedInterpreterException(exc, binary.getLine(), binary.getColumn());
+        }
+    }
+
+    @Override
+    public Value visit(NumberLiteral literal) {
+        return new NumberValue(literal.getValue());
+    }
+
+    @Override
+    public Value visit(StringLiteral literal) {
+        return new StringValue(literal.getValue());
+    }
+
+    @Override
+    public Value visit(VariableReference reference) {
+        try {
+            return context.getVariable(reference.getSlot());
+        } catch (InterpreterException exc) {
+            throw new LocatedInterpreterException(exc, reference.getLine(), reference.getColumn());
+        }
+    }
+}
@@ -1,20 +1,27 @@
 package com.wawey.interpreter;
 
+import com.wawey.lexer.SymbolTable;
 import com.wawey.parser.ast.ASTNode;
 
 /**
+ * Lowers each tree it is given with a {@link TreeLowering} and runs the result. Variables are kept
+ * between calls.
+ *
  * @author Tomas Perez Molina
  */
 public class InterpreterImpl implements Interpreter{
-    private final InterpreterVisitor visitor;
+    private final TreeLowering lowering;
+    private final StatementExecutor executor;
 
     public InterpreterImpl(Printer printer) {
-        ExecutionContext context = new ExecutionContext();
-        visitor = new InterpreterVisitor(context, printer, new ExpressionVisitor(context), new TypeAnnotationVisitor());
+        SymbolTable symbols = new SymbolTable();
+        ExecutionContext context = new ExecutionContext(symbols);
+        lowering = new TreeLowering(symbols);
+        executor = new StatementExecutor(context, printer, new ExpressionEvaluator(context));
     }
 
     @Override
     public void interpret(ASTNode ast) {
-        ast.accept(visitor);
+        executor.execute(lowering.lower(ast));
     }
 }
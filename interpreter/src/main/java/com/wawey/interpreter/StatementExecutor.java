@@ -0,0 +1,66 @@
+package com.wawey.interpreter;
+
+import com.wawey.interpreter.tree.Assignment;
+import com.wawey.interpreter.tree.Expression;
+import com.wawey.interpreter.tree.Print;
+import com.wawey.interpreter.tree.Program;
+import com.wawey.interpreter.tree.Statement;
+import com.wawey.interpreter.tree.StatementVisitor;
+import com.wawey.interpreter.tree.VariableDeclaration;
+
+/**
+ * @author Tomas Perez Molina
+ */
+public class StatementExecutor implements StatementVisitor<Void> {
+    private final ExecutionContext context;
+    private final ExpressionEvaluator expressionEvaluator;
+    private final Printer printer;
+
+    public StatementExecutor(ExecutionContext context, Printer printer, ExpressionEvaluator expressionEvaluator) {
+        this.context = context;
+        this.printer = printer;
+        this.expressionEvaluator = expressionEvaluator;
+    }
+
+    public void execute(Program program) {
+        for (Statement statement : program.getStatements()) {
+            statement.accept(this);
+        }
+    }
+
+    @Override
+    public Void visit(VariableDeclaration declaration) {
+        try {
+            Expression initializer = declaration.getInitializer();
+            if (declaration.getType() == VariableType.ANY) {
+                Value value = initializer == null ? null : initializer.accept(expressionEvaluator);
+                context.declareVariable(declaration.getSlot(), VariableType.ANY);
+                if (value != null) context.setVariableValue(declaration.getSlot(), value);
+            } else {
+                context.declareVariable(declaration.getSlot(), declaration.getType());
+                if (initializer != null) {
+                    context.setVariableValue(declaration.getSlot(), initializer.accept(expressionEvaluator));
+                }
+            }
+        } catch (InterpreterException exc) {
+            throw new LocatedInterpreterException(exc, declaration.getLine(), declaration.getColumn());
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(Assignment assignment) {
+        try {
+            context.setVariableValue(assignment.getSlot(), assignment.getValue().accept(expressionEvaluator));
+        } catch (InterpreterException exc) {
+            throw new LocatedInterpreterException(exc, assignment.getLine(), assignment.getColumn());
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(Print print) {
+        printer.print(print.getValue().accept(expressionEvaluator).getString());
+        return null;
+    }
+}
@@ -0,0 +1,168 @@
+package com.wawey.interpreter;
+
+import com.wawey.interpreter.tree.Assignment;
+import com.wawey.interpreter.tree.Binary;
+import com.wawey.interpreter.tree.Expression;
+import com.wawey.interpreter.tree.NumberLiteral;
+import com.wawey.interpreter.tree.Print;
+import com.wawey.interpreter.tree.Program;
+import com.wawey.interpreter.tree.Statement;
+import com.wawey.interpreter.tree.StringLiteral;
+import com.wawey.interpreter.tree.VariableDeclaration;
+import com.wawey.interpreter.tree.VariableReference;
+import com.wawey.lexer.SymbolTable;
+import com.wawey.parser.Rule;
+import com.wawey.parser.ast.ASTNode;
+import com.wawey.parser.ast.ASTVisitor;
+import com.wawey.parser.ast.NonTerminalNode;
+import com.wawey.parser.ast.NumberLiteralNode;
+import com.wawey.parser.ast.TerminalNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lowers parse trees, with or without the wrappers a {@link com.wawey.parser.ast.ChainCollapser} drops,
+ * to the {@link Program} the interpreter runs.
+ * <p>
+ * Every node of a program is checked here, so running it needs no casts or rule switches. Variables are
+ * given the slot of their name in the {@link SymbolTable} of the {@link ExecutionContext} they will run in.
+ *
+ * @author Tomas Perez Molina
+ */
+public class TreeLowering {
+    private final SymbolTable symbols;
+    private final ExpressionLowering expressionLowering = new ExpressionLowering();
+    private final TypeAnnotationVisitor typeAnnotationVisitor = new TypeAnnotationVisitor();
+
+    public TreeLowering(SymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
+    public Program lower(ASTNode ast) {
+        List<Statement> statements = new ArrayList<>();
+        ast.accept(new StatementLowering(statements));
+        return new Program(statements);
+    }
+
+    private int slot(ASTNode identifier) {
+        if (identifier.getRule() != Rule.IDENTIFIER || !(identifier instanceof TerminalNode)) {
+            throw new MalformedASTException();
+        }
+        return symbols.intern(((TerminalNode) identifier).getValue());
+    }
+
+    private Expression initializerValue(ASTNode initializer) {
+        if (!(initializer instanceof NonTerminalNode)) throw new MalformedASTException();
+        return ((NonTerminalNode) initializer).getChildren().get(0).accept(expressionLowering);
+    }
+
+    private class StatementLowering implements ASTVisitor<Void> {
+        private final List<Statement> statements;
+
+        StatementLowering(List<Statement> statements) {
+            this.statements = statements;
+        }
+
+        @Override
+        public Void visit(NonTerminalNode nonTerminal) {
+            List<ASTNode> children = nonTerminal.getChildren();
+            int line = nonTerminal.getStartLine();
+            int column = nonTerminal.getStartColumn();
+            switch (nonTerminal.getRule()) {
+                case FILE:
+                case PROGRAM:
+                case LINE:
+                case STATEMENT:
+                    for (ASTNode child : children) {
+                        child.accept(this);
+                    }
+                    break;
+                case PRINT_STATEMENT:
+                    statements.add(new Print(line, column, children.get(0).accept(expressionLowering)));
+                    break;
+                case COVER_INITIALIZED_NAME:
+                    statements.add(new Assignment(line, column, slot(children.get(0)), initializerValue(children.get(1))));
+                    break;
+                case VARIABLE_DECLARATION: {
+                    int slot = slot(children.get(0));
+                    VariableType type = VariableType.ANY;
+                    Expression initializer = null;
+                    for (ASTNode child : children.subList(1, children.size())) {
+                        switch (child.getRule()) {
+                            case TYPE_ANNOTATION:
+                                type = child.accept(typeAnnotationVisitor);
+                                break;
+                            case INITIALIZER:
+                                initializer = initializerValue(child);
+                                break;
+                            default:
+                                throw new MalformedASTException();
+                        }
+                    }
+                    statements.add(new VariableDeclaration(line, column, slot, type, initializer));
+                    break;
+                }
+                default:
+                    throw new MalformedASTException();
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(TerminalNode terminal) {
+            throw new MalformedASTException();
+        }
+    }
+
+    private class ExpressionLowering implements ASTVisitor<Expression> {
+        @Override
+        public Expression visit(NonTerminalNode nonTerminal) {
+            List<ASTNode> children = nonTerminal.getChildren();
+            int line = nonTerminal.getStartLine();
+            int column = nonTerminal.getStartColumn();
+            switch (nonTerminal.getRule()) {
+                case LITERAL:
+                case IDENTIFIER:
+                case PRIMARY_EXPRESSION:
+                case MULTIPLICATIVE_EXPRESSION:
+                case ADDITIVE_EXPRESSION:
+                    return children.get(0).accept(this);
+                case SUM_EXPRESSION:
+                    return binary(line, column, Binary.Operator.SUM, children);
+                case SUBTRACT_EXPRESSION:
+                    return binary(line, column, Binary.Operator.SUBTRACT, children);
+                case MULTIPLY_EXPRESSION:
+                    return binary(line, column, Binary.Operator.MULTIPLY, children);
+                case DIVIDE_EXPRESSION:
+                    return binary(line, column, Binary.Operator.DIVIDE, children);
+                default:
+                    throw new LocatedInterpreterException(new NotAnExpressionException(nonTerminal), line, column);
+            }
+        }
+
+        @Override
+        public Expression visit(TerminalNode terminal) {
+            int line = terminal.getStartLine();
+            int column = terminal.getStartColumn();
+            switch (terminal.getRule()) {
+                case IDENTIFIER:
+                    return new VariableReference(line, column, slot(terminal));
+                case NUMBER_LITERAL:
+                    if (terminal instanceof NumberLiteralNode) {
+                        return new NumberLiteral(line, column, ((NumberLiteralNode) terminal).getNumberValue());
+                    }
+                    return new NumberLiteral(line, column, Double.parseDouble(terminal.getValue()));
+                case STRING_LITERAL:
+                    String value = terminal.getValue();
+                    return new StringLiteral(line, column, value.substring(1, value.length() - 1));
+                default:
+                    throw new LocatedInterpreterException(new NotAnExpressionException(terminal), line, column);
+            }
+        }
+
+        private Expression binary(int line, int column, Binary.Operator operator, List<ASTNode> children) {
+            return new Binary(line, column, operator, children.get(0).accept(this), children.get(1).accept(this));
+        }
+    }
+}
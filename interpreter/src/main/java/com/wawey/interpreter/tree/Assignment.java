@@ -0,0 +1,28 @@
+package com.wawey.interpreter.tree;
+
+/**
+ * @author Tomas Perez Molina
+ */
+public final class Assignment extends Statement {
+    private final int slot;
+    private final Expression value;
+
+    public Assignment(int line, int column, int slot, Expression value) {
+        super(line, column);
+        this.slot = slot;
+        this.value = value;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public Expression getValue() {
+        return value;
+    }
+
+    @Override
+    public <R> R accept(StatementVisitor<R> visitor) {
+        return visitor.visit(this);
+    }
+}
@@ -0,0 +1,38 @@
+package com.wawey.interpreter.tree;
+
+/**
+ * @author Tomas Perez Molina
+ */
+public final class Binary extends Expression {
+    public enum Operator {
+        SUM, SUBTRACT, MULTIPLY, DIVIDE
+    }
+
+    private final Operator operator;
+    private final Expression left;
+    private final Expression right;
+
+    public Binary(int line, int column, Operator operator, Expression left, Expression right) {
+        super(line, column);
+        this.operator = operator;
+        this.left = left;
+        this.right = right;
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public Expression getLeft() {
+        return left;
+    }
+
+    public Expression getRight() {
+        return right;
+    }
+
+    @Override
+    public <R> R accept(ExpressionVisitor<R> visitor) {
+        return visitor.visit(this);
+    }
+}
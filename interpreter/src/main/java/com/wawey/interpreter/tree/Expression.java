@@ -0,0 +1,12 @@
+package com.wawey.interpreter.tree;
+
+/**
+ * @author Tomas Perez Molina
+ */
+public abstract class Expression extends Node {
+    protected Expression(int line, int column) {
+        super(line, column);
+    }
+
+    public abstract <R> R accept(ExpressionVisitor<R> visitor);
+}
@@ -0,0 +1,11 @@
+package com.wawey.interpreter.tree;
+
+/**
+ * @author Tomas Perez Molina
+ */
+public interface ExpressionVisitor<R> {
+    R visit(Binary binary);
+    R visit(NumberLiteral literal);
+    R visit(StringLiteral literal);
+    R visit(VariableReference reference);
+}
@@ -0,0 +1,26 @@
+package com.wawey.interpreter.tree;
+
+/**
+ * Node of the tree the interpreter runs, lowered from a parse tree by
+ * {@link com.wawey.interpreter.TreeLowering}. Nodes keep where their parse tree node started, which is
+ * where errors found while running them are reported.
+ *
+ * @author Tomas Perez Molina
+ */
+public abstract class Node {
+    private final int line;
+    private final int column;
+
+    protected Node(int line, int column) {
+        this.line = line;
+        this.column = column;
+    }
+
+    public final int getLine() {
+        return line;
+    }
+
+    public final int getColumn() {
+        return column;
+    }
+}
@@ -0,0 +1,22 @@
+package com.wawey.interpreter.tree;
+
+/**
+ * @author Tomas Perez Molina
+ */
+public final class NumberLiteral extends Expression {
+    private final double value;
+
+    public NumberLiteral(int line, int column, double value) {
+        super(line, column);
+        this.value = value;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    @Override
+    public <R> R accept(ExpressionVisitor<R> visitor) {
+        return visitor.visit(this);
+    }
+}
@@ -0,0 +1,22 @@
+package com.wawey.interpreter.tree;
+
+/**
+ * @author Tomas Perez Molina
+ */
+public final class Print extends Statement {
+    private final Expression value;
+
+    public Print(int line, int column, Expression value) {
+        super(line, column);
+        this.value = value;
+    }
+
+    public Expression getValue() {
+        return value;
+    }
+
+    @Override
+    public <R> R accept(StatementVisitor<R> visitor) {
+        return visitor.visit(this);
+    }
+}
@@ -0,0 +1,19 @@
+package com.wawey.interpreter.tree;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author Tomas Perez Molina
+ */
+public final class Program {
+    private final List<Statement> statements;
+
+    public Program(List<Statement> statements) {
+        this.statements = Collections.unmodifiableList(statements);
+    }
+
+    public List<Statement> getStatements() {
+        return statements;
+    }
+}
@@ -0,0 +1,12 @@
+package com.wawey.interpreter.tree;
+
+/**
+ * @author Tomas Perez Molina
+ */
+public abstract class Statement extends Node {
+    protected Statement(int line, int column) {
+        super(line, column);
+    }
+
+    public abstract <R> R accept(StatementVisitor<R> visitor);
+}
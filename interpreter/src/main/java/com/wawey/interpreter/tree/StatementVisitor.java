@@ -0,0 +1,10 @@
+package com.wawey.interpreter.tree;
+
+/**
+ * @author Tomas Perez Molina
+ */
+public interface StatementVisitor<R> {
+    R visit(VariableDeclaration declaration);
+    R visit(Assignment assignment);
+    R visit(Print print);
+}
@@ -0,0 +1,25 @@
+package com.wawey.interpreter.tree;
+
+/**
+ * @author Tomas Perez Molina
+ */
+public final class StringLiteral extends Expression {
+    private final String value;
+
+    /**
+     * @param value the contents of the literal, without its quotes
+     */
+    public StringLiteral(int line, int column, String value) {
+        super(line, column);
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public <R> R accept(ExpressionVisitor<R> visitor) {
+        return visitor.visit(this);
+    }
+}
@@ -0,0 +1,43 @@
+package com.wawey.interpreter.tree;
+
+import com.wawey.interpreter.VariableType;
+
+/**
+ * {@code let} statement. Variables declared without a type annotation have type
+ * {@link VariableType#ANY}; those get their initializer evaluated before they are declared, annotated ones
+ * after.
+ *
+ * @author Tomas Perez Molina
+ */
+public final class VariableDeclaration extends Statement {
+    private final int slot;
+    private final VariableType type;
+    private final Expression initializer;
+
+    public VariableDeclaration(int line, int column, int slot, VariableType type, Expression initializer) {
+        super(line, column);
+        this.slot = slot;
+        this.type = type;
+        this.initializer = initializer;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public VariableType getType() {
+        return type;
+    }
+
+    /**
+     * @return the initializer, or null if the variable is declared without one
+     */
+    public Expression getInitializer() {
+        return initializer;
+    }
+
+    @Override
+    public <R> R accept(StatementVisitor<R> visitor) {
+        return visitor.visit(this);
+    }
+}
@@ -0,0 +1,22 @@
+package com.wawey.interpreter.tree;
+
+/**
+ * @author Tomas Perez Molina
+ */
+public final class VariableReference extends Expression {
+    private final int slot;
+
+    public VariableReference(int line, int column, int slot) {
+        super(line, column);
+        this.slot = slot;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    @Override
+    public <R> R accept(ExpressionVisitor<R> visitor) {
+        return visitor.visit(this);
+    }
+}
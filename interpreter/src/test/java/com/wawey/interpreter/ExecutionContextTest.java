@@ -0,0 +1,54 @@
+package com.wawey.interpreter;
+
+import com.wawey.lexer.SymbolTable;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ExecutionContextTest {
+    @Test
+    public void shouldFindVariablesByNameOrSlot() {
+        SymbolTable symbols = new SymbolTable();
+        ExecutionContext context = new ExecutionContext(symbols);
+        context.declareVariable("a", VariableType.NUMBER);
+        context.setVariableValue("a", new NumberValue(1));
+        Assert.assertEquals(1, context.getVariable(symbols.lookup("a")).getNumber(), 0);
+        context.setVariableValue(symbols.lookup("a"), new NumberValue(2));
+        Assert.assertEquals(2, context.getVariable("a").getNumber(), 0);
+    }
+
+    @Test(expected = ReferenceError.class)
+    public void shouldNotFindUndeclaredVariables() {
+        new ExecutionContext().getVariable("a");
+    }
+
+    @Test(expected = CannotFindNameException.class)
+    public void shouldNotSetUndeclaredVariables() {
+        new ExecutionContext().setVariableValue("a", new NumberValue(1));
+    }
+
+    @Test
+    public void shouldNotAddNamesItCannotFind() {
+        SymbolTable symbols = new SymbolTable();
+        ExecutionContext context = new ExecutionContext(symbols);
+        for (String name : new String[]{"a", "b"}) {
+            try {
+                context.getVariable(name);
+                Assert.fail();
+            } catch (ReferenceError ignored) {
+            }
+            try {
+                context.setVariableValue(name, new StringValue(name));
+                Assert.fail();
+            } catch (CannotFindNameException ignored) {
+            }
+        }
+        Assert.assertEquals(0, symbols.size());
+    }
+
+    @Test(expected = ReferenceError.class)
+    public void shouldNotFindNamesOfOtherContexts() {
+        SymbolTable symbols = new SymbolTable();
+        new ExecutionContext(symbols).declareVariable("a", VariableType.ANY);
+        new ExecutionContext(symbols).getVariable("a");
+    }
+}
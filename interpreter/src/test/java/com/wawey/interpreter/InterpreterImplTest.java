@@ -0,0 +1,90 @@
+package com.wawey.interpreter;
+
+import com.wawey.lexer.LexerFactory;
+import com.wawey.parser.ParserFactory;
+import com.wawey.parser.ast.ASTNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class InterpreterImplTest {
+    private final List<String> printed = new ArrayList<>();
+    private final Interpreter interpreter = new InterpreterFactory().getTSInterpreter(printed::add);
+
+    @Test
+    public void shouldPrintTheValuesOfExpressions() {
+        interpret("let a: number = 1 + 2 * (3 - 1) / 4;\nlet b = 'b';\nprint(a);\nprint(b + a);\nprint(a + b);");
+        Assert.assertEquals(Arrays.asList("2.0", "b2.0", "2.0b"), printed);
+    }
+
+    @Test
+    public void shouldDeclareVariablesWithAndWithoutAnnotationOrInitializer() {
+        interpret("let a: number = 1;\nlet b: string;\nlet c = 'c';\nlet d;\nprint(a);\nprint(b);\nprint(c);\nprint(d);");
+        Assert.assertEquals(Arrays.asList("1.0", "undefined", "c", "undefined"), printed);
+    }
+
+    @Test
+    public void shouldTypeUnannotatedVariablesByTheirFirstValue() {
+        interpret("let a;\na = 'a';\nprint(a);");
+        Assert.assertEquals(Arrays.asList("a"), printed);
+        assertFails("a = 1;", "\"NUMBER\" value is not assignable to \"STRING\" at line: 1, column: 1");
+        assertFails("let b = 1;\nb = 'b';", "\"STRING\" value is not assignable to \"NUMBER\" at line: 2, column: 1");
+    }
+
+    @Test
+    public void shouldKeepVariablesBetweenCalls() {
+        interpret("let a = 1;");
+        interpret("a = a + 1;");
+        interpret("print(a);");
+        Assert.assertEquals(Arrays.asList("2.0"), printed);
+        assertFails("let a = 3;", "Redeclaration of let \"a\" at line: 1, column: 5");
+    }
+
+    @Test
+    public void shouldReportUndefinedVariables() {
+        assertFails("print(a);", "\"a\" is not defined at line: 1, column: 7");
+        assertFails("let a = a;", "\"a\" is not defined at line: 1, column: 9");
+    }
+
+    @Test
+    public void shouldReportAssignmentsToUndeclaredVariables() {
+        assertFails("\n  a = 3;", "Cannot find name 'a' at line: 2, column: 3");
+    }
+
+    @Test
+    public void shouldReportRedeclaredVariables() {
+        assertFails("let a = 1;\nlet a = 2;", "Redeclaration of let \"a\" at line: 2, column: 5");
+    }
+
+    @Test
+    public void shouldReportUnassignableValues() {
+        assertFails("let a: number = 'x';", "\"STRING\" value is not assignable to \"NUMBER\" at line: 1, column: 5");
+        assertFails("let b: string;\nb = 1;", "\"NUMBER\" value is not assignable to \"STRING\" at line: 2, column: 1");
+    }
+
+    @Test
+    public void shouldReportOperandsThatAreNotNumbers() {
+        assertFails("print('a' - 1);", "\"a\" is not convertible to number at line: 1, column: 7");
+        assertFails("let a = 1;\n  print(2 * (a - 'b'));", "\"b\" is not convertible to number at line: 2, column: 14");
+    }
+
+    private void interpret(String program) {
+        interpreter.interpret(parse(program));
+    }
+
+    private void assertFails(String program, String message) {
+        try {
+            interpret(program);
+            Assert.fail("Expected " + message);
+        } catch (LocatedInterpreterException exc) {
+            Assert.assertEquals(message, exc.getMessage());
+        }
+    }
+
+    private static ASTNode parse(String program) {
+        return new ParserFactory().getTSParser().parse(new LexerFactory().getCompiledTSLexer().lex(program));
+    }
+}
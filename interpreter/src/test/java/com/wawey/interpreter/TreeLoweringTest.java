@@ -0,0 +1,138 @@
+package com.wawey.interpreter;
+
+import com.wawey.interpreter.tree.Assignment;
+import com.wawey.interpreter.tree.Binary;
+import com.wawey.interpreter.tree.ExpressionVisitor;
+import com.wawey.interpreter.tree.NumberLiteral;
+import com.wawey.interpreter.tree.Print;
+import com.wawey.interpreter.tree.Program;
+import com.wawey.interpreter.tree.Statement;
+import com.wawey.interpreter.tree.StatementVisitor;
+import com.wawey.interpreter.tree.StringLiteral;
+import com.wawey.interpreter.tree.VariableDeclaration;
+import com.wawey.interpreter.tree.VariableReference;
+import com.wawey.lexer.LexerFactory;
+import com.wawey.lexer.SymbolTable;
+import com.wawey.lexer.Token;
+import com.wawey.parser.ParserFactory;
+import com.wawey.parser.ast.ASTNode;
+import com.wawey.parser.ast.ChainCollapser;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class TreeLoweringTest {
+    private static final String[] PROGRAMS = {
+            "print(3);",
+            "let a: number;\nlet b: string = \"b\";\nlet c = 'c';\na = 3;\nprint(a);",
+            "let a: number = 1 + 2 * (3 - a) / 4 - 5;\nprint(\"a\" + a);",
+            "let b: string = \"b\";\n    print(1 + 2 * (3 + 9) * 3 - (52 + 0.31) * 2.1);\n\n"
+    };
+
+    @Test
+    public void shouldLowerFullAndCollapsedTreesAlike() {
+        ParserFactory parserFactory = new ParserFactory();
+        for (String program : PROGRAMS) {
+            List<Token> tokens = new LexerFactory().getCompiledTSLexer().lex(program);
+            ASTNode tree = parserFactory.getTSParser().parse(tokens);
+            String expected = render(new TreeLowering(new SymbolTable()).lower(tree));
+            Assert.assertEquals(program, expected, render(new TreeLowering(new SymbolTable()).lower(new ChainCollapser().collapse(tree))));
+            Assert.assertEquals(program, expected, render(new TreeLowering(new SymbolTable()).lower(parserFactory.getCollapsingLL1TSParser().parse(tokens))));
+        }
+    }
+
+    @Test
+    public void shouldLowerStatementsWithTheirPositions() {
+        Program program = lower("let a: number = 1 + 2 * a;\n  a = 'a';\nprint(a - 3);");
+        Assert.assertEquals(
+                "let 0: NUMBER = SUM(1.0 @1:17, MULTIPLY(2.0 @1:21, $0 @1:25) @1:21) @1:17 @1:5\n"
+                        + "$0 = 'a' @2:7 @2:3\n"
+                        + "print SUBTRACT($0 @3:7, 3.0 @3:11) @3:7 @3:7\n",
+                render(program)
+        );
+    }
+
+    @Test
+    public void shouldLowerDeclarationsWithAndWithoutAnnotationOrInitializer() {
+        List<Statement> statements = lower("let a: number = 1;\nlet b: string;\nlet c = 'c';\nlet d;").getStatements();
+        VariableType[] types = {VariableType.NUMBER, VariableType.STRING, VariableType.ANY, VariableType.ANY};
+        boolean[] initialized = {true, false, true, false};
+        Assert.assertEquals(types.length, statements.size());
+        for (int i = 0; i < types.length; i++) {
+            VariableDeclaration declaration = (VariableDeclaration) statements.get(i);
+            Assert.assertEquals(i, declaration.getSlot());
+            Assert.assertEquals(types[i], declaration.getType());
+            Assert.assertEquals(initialized[i], declaration.getInitializer() != null);
+            Assert.assertEquals(i + 1, declaration.getLine());
+        }
+    }
+
+    @Test
+    public void shouldNumberVariablesWithTheGivenTable() {
+        SymbolTable symbols = new SymbolTable();
+        symbols.intern("b");
+        VariableDeclaration declaration = (VariableDeclaration) new TreeLowering(symbols).lower(parse("let a = 1;")).getStatements().get(0);
+        Assert.assertEquals(symbols.lookup("a"), declaration.getSlot());
+        Assert.assertEquals(1, declaration.getSlot());
+    }
+
+    private static Program lower(String program) {
+        return new TreeLowering(new SymbolTable()).lower(parse(program));
+    }
+
+    private static ASTNode parse(String program) {
+        return new ParserFactory().getTSParser().parse(new LexerFactory().getCompiledTSLexer().lex(program));
+    }
+
+    private static String render(Program program) {
+        StringBuilder builder = new StringBuilder();
+        Renderer renderer = new Renderer();
+        for (Statement statement : program.getStatements()) {
+            builder.append(statement.accept(renderer)).append(" @").append(statement.getLine()).append(':').append(statement.getColumn()).append('\n');
+        }
+        return builder.toString();
+    }
+
+    private static class Renderer implements StatementVisitor<String>, ExpressionVisitor<String> {
+        @Override
+        public String visit(VariableDeclaration declaration) {
+            String initializer = declaration.getInitializer() == null ? "" : " = " + declaration.getInitializer().accept(this);
+            return "let " + declaration.getSlot() + ": " + declaration.getType() + initializer;
+        }
+
+        @Override
+        public String visit(Assignment assignment) {
+            return "$" + assignment.getSlot() + " = " + assignment.getValue().accept(this);
+        }
+
+        @Override
+        public String visit(Print print) {
+            return "print " + print.getValue().accept(this);
+        }
+
+        @Override
+        public String visit(Binary binary) {
+            return binary.getOperator() + "(" + binary.getLeft().accept(this) + ", " + binary.getRight().accept(this) + ")" + position(binary.getLine(), binary.getColumn());
+        }
+
+        @Override
+        public String visit(NumberLiteral literal) {
+            return literal.getValue() + position(literal.getLine(), literal.getColumn());
+        }
+
+        @Override
+        public String visit(StringLiteral literal) {
+            return "'" + literal.getValue() + "'" + position(literal.getLine(), literal.getColumn());
+        }
+
+        @Override
+        public String visit(VariableReference reference) {
+            return "$" + reference.getSlot() + position(reference.getLine(), reference.getColumn());
+        }
+
+        private static String position(int line, int column) {
+            return " @" + line + ":" + column;
+        }
+    }
+}
@@ -2,7 +2,68 @@ plugins {
     java
 }
 
+val generatedScannerDir = file("$buildDir/generated/sources/scanner/java")
+val generatedTablesDir = file("$buildDir/generated/resources/lexer")
+
+sourceSets {
+    // main sources minus the factory, which needs the scanner this source set generates
+    create("generator") {
+        java {
+            srcDir("src/main/java")
+            srcDir("src/generator/java")
+            exclude("com/wawey/lexer/LexerFactory.java")
+        }
+    }
+    named("main") {
+        java.srcDir(generatedScannerDir)
+        resources.srcDir(generatedTablesDir)
+    }
+}
+
 dependencies {
     compile("com.google.guava:guava:27.1-jre")
     testCompile("junit:junit:4.12")
+    "generatorImplementation"("com.google.guava:guava:27.1-jre")
+}
+
+val generateScanner by tasks.registering(JavaExec::class) {
+    description = "Generates the switch based TS scanner from the token definitions."
+    classpath = sourceSets["generator"].runtimeClasspath
+    main = "com.wawey.lexer.ScannerGenerator"
+    args(generatedScannerDir)
+    outputs.dir(generatedScannerDir)
+}
+
+tasks.named("compileJava") {
+    dependsOn(generateScanner)
+}
+
+val generateLexerTables by tasks.registering(JavaExec::class) {
+    description = "Serializes the TS lexer DFA into a resource loaded at startup."
+    classpath = sourceSets["generator"].runtimeClasspath
+    main = "com.wawey.lexer.DFATableGenerator"
+    args(generatedTablesDir)
+    outputs.dir(generatedTablesDir)
+}
+
+tasks.named("processResources") {
+    dependsOn(generateLexerTables)
+}
+
+tasks.register<JavaExec>("benchmark") {
+    description = "Prints the throughput of the TS lexers on whitespace heavy input."
+    classpath = sourceSets["test"].runtimeClasspath
+    main = "com.wawey.lexer.LexerBenchmark"
+}
+
+tasks.register<JavaExec>("startupBenchmark") {
+    description = "Prints the time to the first token of the TS lexers in fresh JVMs."
+    classpath = sourceSets["test"].runtimeClasspath
+    main = "com.wawey.lexer.LexerStartupBenchmark"
+}
+
+tasks.register<JavaExec>("incrementalBenchmark") {
+    description = "Prints the time of a full lex against relexing one char edits, as the source grows."
+    classpath = sourceSets["test"].runtimeClasspath
+    main = "com.wawey.lexer.IncrementalLexerBenchmark"
 }
@@ -0,0 +1,31 @@
+package com.wawey.lexer;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Writes the {@link DFA} built from {@link TSTokenDefinitions} as the resource {@link TSLexerTables} loads.
+ * <p>
+ * Run by the lexer module build before processing the main resources, with the output resource directory
+ * as its only argument.
+ *
+ * @author Tomas Perez Molina
+ */
+public class DFATableGenerator {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: DFATableGenerator <output resource directory>");
+            System.exit(1);
+        }
+        Path file = Paths.get(args[0], ScannerGenerator.PACKAGE.replace('.', '/'), TSLexerTables.RESOURCE);
+        Files.createDirectories(file.getParent());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            new DFASerializer().write(TSLexerTables.compile(), out);
+        }
+    }
+}
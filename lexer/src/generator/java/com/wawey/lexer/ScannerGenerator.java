@@ -0,0 +1,199 @@
+package com.wawey.lexer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes the source of {@code GeneratedTSLexer}, a scanner for the TS tokens where the {@link DFA} built
+ * from {@link TSTokenDefinitions} is unrolled into switch statements.
+ * <p>
+ * Run by the lexer module build before compiling the main sources, with the output source directory as
+ * its only argument.
+ *
+ * @author Tomas Perez Molina
+ */
+public class ScannerGenerator {
+    static final String PACKAGE = "com.wawey.lexer";
+    static final String CLASS_NAME = "GeneratedTSLexer";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: ScannerGenerator <output source directory>");
+            System.exit(1);
+        }
+        DFA dfa = new DFACompiler().compile(TSTokenDefinitions.matchers(new AutomataFactory()));
+        Path file = Paths.get(args[0], PACKAGE.replace('.', '/'), CLASS_NAME + ".java");
+        Files.createDirectories(file.getParent());
+        Files.write(file, new ScannerGenerator().generate(dfa).getBytes(StandardCharsets.UTF_8));
+    }
+
+    String generate(DFA dfa) {
+        StringBuilder out = new StringBuilder();
+        out.append("package ").append(PACKAGE).append(";\n")
+                .append("\n")
+                .append("import java.util.ArrayList;\n")
+                .append("import java.util.Collections;\n")
+                .append("import java.util.List;\n")
+                .append("\n")
+                .append("/**\n")
+                .append(" * Generated by ScannerGenerator from the TS token definitions, do not edit.\n")
+                .append(" * <p>\n")
+                .append(" * Lexes like {@link DFALexer} with the {@link DFA} of the TS tokens, ")
+                .append(dfa.getStateCount()).append(" states unrolled into switch statements.\n")
+                .append(" */\n")
+                .append("public final class ").append(CLASS_NAME).append(" implements Lexer {\n")
+                .append("    private static final int DEAD = -1;\n")
+                .append("    private static final int INITIAL_STATE = ").append(dfa.getInitialState()).append(";\n")
+                .append("\n");
+        appendLex(out);
+        appendNext(out, dfa);
+        appendAccepted(out, dfa);
+        out.append("}\n");
+        return out.toString();
+    }
+
+    private static void appendLex(StringBuilder out) {
+        out.append("    @Override\n")
+                .append("    public List<Token> lex(String input) {\n")
+                .append("        List<Token> result = new ArrayList<>();\n")
+                .append("        final int length = input.length();\n")
+                .append("        LineTable lines = new LineTable(input);\n")
+                .append("        SymbolTable symbols = new SymbolTable();\n")
+                .append("        int position = 0;\n")
+                .append("        while (position < length) {\n")
+                .append("            int state = INITIAL_STATE;\n")
+                .append("            int acceptedEnd = -1;\n")
+                .append("            TokenType acceptedType = null;\n")
+                .append("            for (int i = position; i < length; i++) {\n")
+                .append("                state = next(state, input.charAt(i));\n")
+                .append("                if (state == DEAD) break;\n")
+                .append("                TokenType type = accepted(state);\n")
+                .append("                if (type != null) {\n")
+                .append("                    acceptedEnd = i + 1;\n")
+                .append("                    acceptedType = type;\n")
+                .append("                }\n")
+                .append("            }\n")
+                .append("            if (acceptedType == null) {\n")
+                .append("                throw new UnknownCharacterException(input.charAt(position), lines.getLine(position), lines.getColumn(position));\n")
+                .append("            }\n")
+                .append("            switch (acceptedType) {\n")
+                .append("                case SPACE:\n")
+                .append("                case NEWLINE:\n")
+                .append("                    break;\n")
+                .append("                case IDENTIFIER:\n")
+                .append("                    int symbol = symbols.intern(input, position, acceptedEnd);\n")
+                .append("                    result.add(new TokenImpl(acceptedType, symbols.getName(symbol), position, lines, Double.NaN, symbol));\n")
+                .append("                    break;\n")
+                .append("                case NUMBER_LITERAL:\n")
+                .append("                    double value = NumberLiteralDecoder.decode(input, position, acceptedEnd);\n")
+                .append("                    result.add(new TokenImpl(acceptedType, input.substring(position, acceptedEnd), position, lines, value));\n")
+                .append("                    break;\n")
+                .append("                default:\n")
+                .append("                    String lexeme = acceptedType.isFixed() ? acceptedType.getLexeme() : input.substring(position, acceptedEnd);\n")
+                .append("                    result.add(new TokenImpl(acceptedType, lexeme, position, lines));\n")
+                .append("            }\n")
+                .append("            position = acceptedEnd;\n")
+                .append("        }\n")
+                .append("        result.add(new TokenImpl(TokenType.EOF, \"\", length, lines));\n")
+                .append("        return Collections.unmodifiableList(result);\n")
+                .append("    }\n")
+                .append("\n");
+    }
+
+    private static void appendNext(StringBuilder out, DFA dfa) {
+        out.append("    private static int next(int state, char c) {\n")
+                .append("        switch (state) {\n");
+        for (int state = 0; state < dfa.getStateCount(); state++) {
+            List<CharRange> ranges = ranges(dfa, state);
+            if (ranges.isEmpty()) continue;
+            out.append("            case ").append(state).append(":\n");
+            for (CharRange range : ranges) {
+                out.append("                if (");
+                if (range.from == range.to) {
+                    out.append("c == ").append(literal(range.from));
+                } else if (range.from == 0) {
+                    out.append("c <= ").append(literal(range.to));
+                } else if (range.to == Character.MAX_VALUE) {
+                    out.append("c >= ").append(literal(range.from));
+                } else {
+                    out.append("c >= ").append(literal(range.from)).append(" && c <= ").append(literal(range.to));
+                }
+                out.append(") return ").append(range.target).append(";\n");
+            }
+            out.append("                return DEAD;\n");
+        }
+        out.append("            default:\n")
+                .append("                return DEAD;\n")
+                .append("        }\n")
+                .append("    }\n")
+                .append("\n");
+    }
+
+    private static void appendAccepted(StringBuilder out, DFA dfa) {
+        Map<TokenType, List<Integer>> statesByType = new TreeMap<>();
+        for (int state = 0; state < dfa.getStateCount(); state++) {
+            TokenType type = dfa.getAcceptedType(state);
+            if (type != null) statesByType.computeIfAbsent(type, t -> new ArrayList<>()).add(state);
+        }
+        out.append("    private static TokenType accepted(int state) {\n")
+                .append("        switch (state) {\n");
+        statesByType.forEach((type, states) -> {
+            for (int state : states) {
+                out.append("            case ").append(state).append(":\n");
+            }
+            out.append("                return TokenType.").append(type.name()).append(";\n");
+        });
+        out.append("            default:\n")
+                .append("                return null;\n")
+                .append("        }\n")
+                .append("    }\n");
+    }
+
+    /**
+     * @return the runs of consecutive chars that move the given state to the same live state
+     */
+    private static List<CharRange> ranges(DFA dfa, int state) {
+        List<CharRange> ranges = new ArrayList<>();
+        CharRange current = null;
+        for (int i = 0; i <= Character.MAX_VALUE; i++) {
+            char c = (char) i;
+            int target = dfa.transition(state, c);
+            if (current != null && current.target == target && current.to == c - 1) {
+                current.to = c;
+            } else if (target != DFA.DEAD) {
+                current = new CharRange(c, target);
+                ranges.add(current);
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * Printable ASCII chars are written as char literals, the rest as numbers so no unicode escape
+     * ends up in the generated source.
+     */
+    private static String literal(char c) {
+        if (c == '\'' || c == '\\') return "'\\" + c + "'";
+        if (c >= ' ' && c <= '~') return "'" + c + "'";
+        return Integer.toString(c);
+    }
+
+    private static class CharRange {
+        final char from;
+        char to;
+        final int target;
+
+        CharRange(char from, int target) {
+            this.from = from;
+            this.to = from;
+            this.target = target;
+        }
+    }
+}
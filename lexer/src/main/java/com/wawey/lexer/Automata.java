@@ -5,6 +5,28 @@ package com.wawey.lexer;
  */
 public interface Automata {
     boolean acceptable();
+
+    /**
+     * @throws NoTransitionException if c is rejected
+     */
     void consume(char c);
+
+    /**
+     * Same as {@link #consume(char)}, but reports a rejected char by returning false instead of throwing.
+     */
+    default boolean tryConsume(char c) {
+        try {
+            consume(c);
+            return true;
+        } catch (NoTransitionException exc) {
+            return false;
+        }
+    }
+
     void reset();
+
+    /**
+     * @return an automata at its initial state that shares everything with this one but the current state
+     */
+    Automata copy();
 }
@@ -1,8 +1,19 @@
 package com.wawey.lexer;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Automatas are stateful, so a new one is built on every call. The char acceptors behind them never
+ * change and are shared between all the automatas built by the same factory.
+ */
 public class AutomataFactory {
+    private final CharClassParser charClassParser = new CharClassParser();
+    private final Map<String, CharAcceptor> charClasses = new ConcurrentHashMap<>();
+    private final Map<List<Character>, CharAcceptor> wordChars = new ConcurrentHashMap<>();
+
     public Automata automataFor(final String text) {
         AutomataState current = AutomataStateImpl.acceptanceState();
         for (int i = text.length() - 1; i >= 0; i--) {
@@ -10,7 +21,7 @@ public class AutomataFactory {
             final int currentI = i;
             current = AutomataStateImpl.intermediateState(
                     new Transition(
-                            c -> c == text.charAt(currentI),
+                            new SingleCharAcceptor(text.charAt(currentI)),
                             () -> currentCurrent
                     )
             );
@@ -19,7 +30,7 @@ public class AutomataFactory {
     }
 
     public Automata infiniteRegexAutomata(final String singleCharRegex) {
-        CharAcceptor acceptor = new RegexAcceptor(singleCharRegex);
+        CharAcceptor acceptor = charClasses.computeIfAbsent(singleCharRegex, charClassParser::parse);
         AutomataState accepting = AutomataStateImpl.acceptanceState(
                 Transition.selfTransition(acceptor)
         );
@@ -30,12 +41,16 @@ public class AutomataFactory {
     }
 
     public Automata delimitedWordAutomata(final char delimiter, final List<Character> except) {
+        List<Character> excludedChars = new ArrayList<>();
+        excludedChars.add(delimiter);
+        excludedChars.addAll(except);
+        CharAcceptor wordChar = wordChars.computeIfAbsent(excludedChars, AutomataFactory::wordCharAcceptor);
         return new LinkedAutomata.Builder()
                 .andThen(singleCharAutomata(delimiter))
                 .maybeThen(
                         new AutomataImpl(
                                 AutomataStateImpl.acceptanceState(
-                                        Transition.selfTransition((c) -> c != delimiter && !except.contains(c))
+                                        Transition.selfTransition(wordChar)
                                 )
                         )
                 )
@@ -43,6 +58,12 @@ public class AutomataFactory {
                 .build();
     }
 
+    private static CharAcceptor wordCharAcceptor(List<Character> excludedChars) {
+        List<CharAcceptor> excluded = new ArrayList<>();
+        excludedChars.forEach(c -> excluded.add(new SingleCharAcceptor(c)));
+        return new CharSetAcceptor(new NegatedCharAcceptor(new CharUnionAcceptor(excluded)));
+    }
+
     public Automata singleCharAutomata(final char c) {
         return automataFor("" + c);
     }
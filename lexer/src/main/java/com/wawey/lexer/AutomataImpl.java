@@ -12,6 +12,10 @@ public class AutomataImpl implements Automata {
         this.currentState = initialState;
     }
 
+    AutomataState getInitialState() {
+        return initialState;
+    }
+
     @Override
     public boolean acceptable() {
         return currentState.isAcceptable();
@@ -22,8 +26,21 @@ public class AutomataImpl implements Automata {
         currentState = currentState.transition(c);
     }
 
+    @Override
+    public boolean tryConsume(char c) {
+        AutomataState next = currentState.next(c);
+        if (next == null) return false;
+        currentState = next;
+        return true;
+    }
+
     @Override
     public void reset() {
         this.currentState = initialState;
     }
+
+    @Override
+    public Automata copy() {
+        return new AutomataImpl(initialState);
+    }
 }
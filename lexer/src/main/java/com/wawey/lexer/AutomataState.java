@@ -5,5 +5,20 @@ package com.wawey.lexer;
  */
 public interface AutomataState {
     boolean isAcceptable();
+
+    /**
+     * @throws NoTransitionException if c is rejected
+     */
     AutomataState transition(char c);
+
+    /**
+     * @return the state after consuming c, or null if c is rejected
+     */
+    default AutomataState next(char c) {
+        try {
+            return transition(c);
+        } catch (NoTransitionException exc) {
+            return null;
+        }
+    }
 }
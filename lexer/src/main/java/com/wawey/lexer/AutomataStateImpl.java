@@ -9,16 +9,15 @@ import java.util.List;
  */
 public class AutomataStateImpl implements AutomataState {
     private final boolean acceptable;
-    private final List<Transition> transitions;
+    private final Transition[] transitions;
 
-    private AutomataStateImpl(boolean acceptable, List<Transition> transitions) {
+    private AutomataStateImpl(boolean acceptable, Transition[] transitions) {
         this.acceptable = acceptable;
         this.transitions = transitions;
     }
 
     private AutomataStateImpl(boolean acceptable) {
-        this.acceptable = acceptable;
-        this.transitions = Collections.emptyList();
+        this(acceptable, new Transition[0]);
     }
 
     @Override
@@ -28,18 +27,28 @@ public class AutomataStateImpl implements AutomataState {
 
     @Override
     public AutomataState transition(char c) {
-        return transitions.stream()
-                .filter(t -> t.consumes(c))
-                .findFirst()
-                .map(t -> {
-                    AutomataState next = t.nextState();
-                    return next == null? this : next;
-                })
-                .orElseThrow(NoTransitionException::new);
+        AutomataState next = next(c);
+        if (next == null) throw new NoTransitionException();
+        return next;
+    }
+
+    @Override
+    public AutomataState next(char c) {
+        for (Transition transition : transitions) {
+            if (transition.consumes(c)) {
+                AutomataState next = transition.nextState();
+                return next == null ? this : next;
+            }
+        }
+        return null;
+    }
+
+    List<Transition> getTransitions() {
+        return Collections.unmodifiableList(Arrays.asList(transitions));
     }
 
     public static AutomataStateImpl acceptanceState(Transition... transitions) {
-        return new AutomataStateImpl(true, Arrays.asList(transitions));
+        return new AutomataStateImpl(true, transitions.clone());
     }
 
     public static AutomataStateImpl acceptanceState() {
@@ -47,6 +56,6 @@ public class AutomataStateImpl implements AutomataState {
     }
 
     public static AutomataStateImpl intermediateState(Transition... transitions) {
-        return new AutomataStateImpl(false, Arrays.asList(transitions));
+        return new AutomataStateImpl(false, transitions.clone());
     }
 }
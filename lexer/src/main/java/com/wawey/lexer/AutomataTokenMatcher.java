@@ -1,37 +1,68 @@
 package com.wawey.lexer;
 
+/**
+ * Matches a token with an {@link Automata}.
+ * <p>
+ * Once told where the token starts with {@link #startAt(CharSequence, int)}, the match is only tracked
+ * as a length into the source and the lexeme is not built until {@link #getBasicToken()}. Without a
+ * source, consumed chars are copied into a buffer that is reused across tokens.
+ */
 public class AutomataTokenMatcher implements TokenMatcher {
     private final Automata automata;
     private final TokenType tokenType;
-    private String match = "";
+    private CharSequence source = null;
+    private int start = 0;
+    private int length = 0;
+    private boolean rejected = false;
+    private StringBuilder buffer;
 
     public AutomataTokenMatcher(TokenType tokenType, Automata automata) {
         this.automata = automata;
         this.tokenType = tokenType;
     }
 
+    TokenType getTokenType() {
+        return tokenType;
+    }
+
+    Automata getAutomata() {
+        return automata;
+    }
+
+    @Override
+    public void startAt(CharSequence source, int offset) {
+        reset();
+        this.source = source;
+        this.start = offset;
+    }
+
     @Override
     public boolean isMatching() {
-        return match.length() > 0;
+        return length > 0;
     }
 
     @Override
     public boolean match(char c) {
-        try {
-            automata.consume(c);
-            match = match + c;
-            return true;
-        } catch (NoTransitionException exc) {
+        if (!automata.tryConsume(c)) {
+            rejected = true;
             return false;
         }
+        if (source == null || (rejected && source != buffer)) {
+            // the matched chars are no longer a slice of the source
+            moveToBuffer();
+        }
+        if (source == buffer) buffer.append(c);
+        length++;
+        return true;
     }
 
     @Override
     public BasicToken getBasicToken() {
+        String lexeme = lexeme();
         if (automata.acceptable()) {
-            return new BasicTokenImpl(tokenType, match);
+            return new BasicTokenImpl(tokenType, lexeme);
         } else {
-            throw new NoMatchException(tokenType, match);
+            throw new NoMatchException(tokenType, lexeme);
         }
     }
 
@@ -40,9 +71,30 @@ public class AutomataTokenMatcher implements TokenMatcher {
         return automata.acceptable();
     }
 
+    @Override
+    public AutomataTokenMatcher copy() {
+        return new AutomataTokenMatcher(tokenType, automata.copy());
+    }
+
     @Override
     public void reset() {
-        match = "";
+        source = null;
+        start = 0;
+        length = 0;
+        rejected = false;
         automata.reset();
     }
+
+    private String lexeme() {
+        return source == null ? "" : source.subSequence(start, start + length).toString();
+    }
+
+    private void moveToBuffer() {
+        if (buffer == null) buffer = new StringBuilder();
+        String matched = lexeme();
+        buffer.setLength(0);
+        buffer.append(matched);
+        source = buffer;
+        start = 0;
+    }
 }
@@ -0,0 +1,147 @@
+package com.wawey.lexer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds precompiled {@link CharAcceptor}s from single char regex specs such as {@code "l"}, {@code "\\."}
+ * or {@code "[a-zA-Z0-9_]"}, with the same meaning {@link java.util.regex.Pattern} gives them.
+ * <p>
+ * Supported are literals, escapes, the {@code \d}, {@code \s} and {@code \w} shorthands and bracket
+ * classes with ranges and leading {@code ^} negation. Any other spec falls back to a {@link RegexAcceptor}.
+ *
+ * @author Tomas Perez Molina
+ */
+public class CharClassParser {
+    private static final String METACHARACTERS = "\\^$.|?*+()[]{}";
+
+    public CharAcceptor parse(String spec) {
+        try {
+            return new SpecReader(spec).read();
+        } catch (UnsupportedSpecException e) {
+            return new RegexAcceptor(spec);
+        }
+    }
+
+    private static class SpecReader {
+        private final String spec;
+        private int position = 0;
+
+        SpecReader(String spec) {
+            this.spec = spec;
+        }
+
+        CharAcceptor read() {
+            CharAcceptor result;
+            if (peek() == '[') {
+                position++;
+                result = readClass();
+            } else if (peek() == '\\') {
+                position++;
+                result = readEscape();
+            } else if (METACHARACTERS.indexOf(peek()) < 0) {
+                result = new SingleCharAcceptor(spec.charAt(position++));
+            } else throw new UnsupportedSpecException();
+            if (position != spec.length()) throw new UnsupportedSpecException();
+            return result;
+        }
+
+        private CharAcceptor readClass() {
+            boolean negated = false;
+            if (peek() == '^') {
+                negated = true;
+                position++;
+            }
+            List<CharAcceptor> members = new ArrayList<>();
+            boolean first = true;
+            while (peek() != ']' || first) {
+                char c = next();
+                if (c == '[' || c == '&' || (c == ']' && first)) throw new UnsupportedSpecException();
+                first = false;
+                char from = c;
+                if (c == '\\') {
+                    char escaped = next();
+                    if (isShorthand(escaped)) {
+                        members.add(shorthand(escaped));
+                        continue;
+                    }
+                    from = literal(escaped);
+                }
+                if (peek() == '-' && position + 1 < spec.length() && spec.charAt(position + 1) != ']') {
+                    position++;
+                    char to = next();
+                    if (to == '\\' || to == '[' || to == '&' || to < from) throw new UnsupportedSpecException();
+                    members.add(new CharRangeAcceptor(from, to));
+                } else members.add(new SingleCharAcceptor(from));
+            }
+            position++;
+            CharAcceptor union = members.size() == 1 ? members.get(0) : new CharUnionAcceptor(members);
+            if (!negated && (union instanceof SingleCharAcceptor || union instanceof CharRangeAcceptor)) return union;
+            return new CharSetAcceptor(negated ? new NegatedCharAcceptor(union) : union);
+        }
+
+        private CharAcceptor readEscape() {
+            char c = next();
+            return isShorthand(c) ? shorthand(c) : new SingleCharAcceptor(literal(c));
+        }
+
+        private static boolean isShorthand(char c) {
+            return c == 'd' || c == 's' || c == 'w';
+        }
+
+        private static CharAcceptor shorthand(char c) {
+            switch (c) {
+                case 'd':
+                    return new CharRangeAcceptor('0', '9');
+                case 's':
+                    return new CharSetAcceptor(new CharUnionAcceptor(
+                            new SingleCharAcceptor(' '),
+                            new CharRangeAcceptor('\t', '\r')
+                    ));
+                default:
+                    return new CharSetAcceptor(new CharUnionAcceptor(
+                            new CharRangeAcceptor('a', 'z'),
+                            new CharRangeAcceptor('A', 'Z'),
+                            new SingleCharAcceptor('_'),
+                            new CharRangeAcceptor('0', '9')
+                    ));
+            }
+        }
+
+        /**
+         * @return the char an escape other than a shorthand stands for
+         */
+        private static char literal(char c) {
+            switch (c) {
+                case 't':
+                    return '\t';
+                case 'n':
+                    return '\n';
+                case 'r':
+                    return '\r';
+                case 'f':
+                    return '\f';
+                default:
+                    if (Character.isLetterOrDigit(c) || c > 127) throw new UnsupportedSpecException();
+                    return c;
+            }
+        }
+
+        private char peek() {
+            if (position >= spec.length()) throw new UnsupportedSpecException();
+            return spec.charAt(position);
+        }
+
+        private char next() {
+            char c = peek();
+            position++;
+            return c;
+        }
+    }
+
+    private static class UnsupportedSpecException extends RuntimeException {
+        UnsupportedSpecException() {
+            super(null, null, false, false);
+        }
+    }
+}
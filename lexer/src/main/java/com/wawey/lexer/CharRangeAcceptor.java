@@ -0,0 +1,22 @@
+package com.wawey.lexer;
+
+/**
+ * Accepts every char between from and to, both included.
+ *
+ * @author Tomas Perez Molina
+ */
+public class CharRangeAcceptor implements CharAcceptor {
+    private final char from;
+    private final char to;
+
+    public CharRangeAcceptor(char from, char to) {
+        if (from > to) throw new IllegalArgumentException(String.format("Illegal char range %s-%s", from, to));
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public boolean accepts(char c) {
+        return c >= from && c <= to;
+    }
+}
@@ -0,0 +1,38 @@
+package com.wawey.lexer;
+
+import java.util.BitSet;
+
+/**
+ * Precomputed copy of another acceptor: ASCII chars are looked up in two longs, the rest of the
+ * Basic Multilingual Plane in a bitset.
+ *
+ * @author Tomas Perez Molina
+ */
+public class CharSetAcceptor implements CharAcceptor {
+    private final long low;
+    private final long high;
+    private final BitSet nonAscii;
+
+    public CharSetAcceptor(CharAcceptor acceptor) {
+        long low = 0;
+        long high = 0;
+        for (char c = 0; c < 64; c++) {
+            if (acceptor.accepts(c)) low |= 1L << c;
+            if (acceptor.accepts((char) (c + 64))) high |= 1L << c;
+        }
+        BitSet nonAscii = new BitSet();
+        for (int c = 128; c <= Character.MAX_VALUE; c++) {
+            if (acceptor.accepts((char) c)) nonAscii.set(c - 128);
+        }
+        this.low = low;
+        this.high = high;
+        this.nonAscii = nonAscii;
+    }
+
+    @Override
+    public boolean accepts(char c) {
+        if (c < 64) return (low & (1L << c)) != 0;
+        if (c < 128) return (high & (1L << (c - 64))) != 0;
+        return nonAscii.get(c - 128);
+    }
+}
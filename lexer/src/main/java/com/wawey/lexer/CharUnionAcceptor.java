@@ -0,0 +1,28 @@
+package com.wawey.lexer;
+
+import java.util.List;
+
+/**
+ * Accepts a char if any of its acceptors does.
+ *
+ * @author Tomas Perez Molina
+ */
+public class CharUnionAcceptor implements CharAcceptor {
+    private final CharAcceptor[] acceptors;
+
+    public CharUnionAcceptor(CharAcceptor... acceptors) {
+        this.acceptors = acceptors.clone();
+    }
+
+    public CharUnionAcceptor(List<CharAcceptor> acceptors) {
+        this.acceptors = acceptors.toArray(new CharAcceptor[0]);
+    }
+
+    @Override
+    public boolean accepts(char c) {
+        for (CharAcceptor acceptor : acceptors) {
+            if (acceptor.accepts(c)) return true;
+        }
+        return false;
+    }
+}
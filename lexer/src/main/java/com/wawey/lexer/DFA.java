@@ -0,0 +1,132 @@
+package com.wawey.lexer;
+
+/**
+ * Deterministic automata recognizing every token of a lexer at once.
+ * <p>
+ * Characters are first mapped to a character class, so each step is a single lookup in the
+ * {@code [state][class]} transition table. States that complete a token know which {@link TokenType}
+ * they accept, with ties already resolved by matcher priority.
+ *
+ * @author Tomas Perez Molina
+ */
+public class DFA {
+    public static final int DEAD = -1;
+
+    // chars are used as unsigned class indexes, one entry per UTF-16 code unit
+    private final char[] classMap;
+    private final int[][] transitions;
+    private final TokenType[] acceptedTypes;
+    private final int initialState;
+    // per state, the ASCII chars that leave it unchanged: bit c of low for c < 64, bit c - 64 of high for the rest
+    private final long[] loopLow;
+    private final long[] loopHigh;
+
+    public DFA(char[] classMap, int[][] transitions, TokenType[] acceptedTypes, int initialState) {
+        if (classMap.length != Character.MAX_VALUE + 1)
+            throw new IllegalArgumentException("Class map must cover every char");
+        if (transitions.length != acceptedTypes.length)
+            throw new IllegalArgumentException("Every state must have an accepted type entry");
+        this.classMap = classMap;
+        this.transitions = transitions;
+        this.acceptedTypes = acceptedTypes;
+        this.initialState = initialState;
+        this.loopLow = new long[transitions.length];
+        this.loopHigh = new long[transitions.length];
+        for (int state = 0; state < transitions.length; state++) {
+            for (char c = 0; c < 128; c++) {
+                if (transition(state, c) != state) continue;
+                if (c < 64) loopLow[state] |= 1L << c;
+                else loopHigh[state] |= 1L << (c - 64);
+            }
+        }
+    }
+
+    public int getInitialState() {
+        return initialState;
+    }
+
+    public int transition(int state, char c) {
+        return transitions[state][classMap[c]];
+    }
+
+    /**
+     * Skips a run of ASCII chars that keep the automata in state, such as the rest of a run of spaces or
+     * of an identifier, testing each char against a bitmask instead of going through the table.
+     *
+     * @return the index of the first char from start on that does not loop on state, or end
+     */
+    public int skipLoop(int state, CharSequence input, int start, int end) {
+        long low = loopLow[state];
+        long high = loopHigh[state];
+        if ((low | high) == 0) return start;
+        int i = start;
+        while (i < end) {
+            char c = input.charAt(i);
+            // shifts only use the low 6 bits of c
+            if (c >= 128 || ((c < 64 ? low : high) & (1L << c)) == 0) break;
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Same as {@link #skipLoop(int, CharSequence, int, int)} over a char array.
+     */
+    public int skipLoop(int state, char[] input, int start, int end) {
+        long low = loopLow[state];
+        long high = loopHigh[state];
+        if ((low | high) == 0) return start;
+        int i = start;
+        while (i < end) {
+            char c = input[i];
+            if (c >= 128 || ((c < 64 ? low : high) & (1L << c)) == 0) break;
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * @return the only ASCII char that loops on state, or -1 if there are none or several
+     */
+    int singleLoopChar(int state) {
+        long low = loopLow[state];
+        long high = loopHigh[state];
+        if (Long.bitCount(low) + Long.bitCount(high) != 1) return -1;
+        return low != 0 ? Long.numberOfTrailingZeros(low) : 64 + Long.numberOfTrailingZeros(high);
+    }
+
+    long getLoopLow(int state) {
+        return loopLow[state];
+    }
+
+    long getLoopHigh(int state) {
+        return loopHigh[state];
+    }
+
+    /**
+     * @return the token type accepted when a token ends in the given state, or null if it is not a final state
+     */
+    public TokenType getAcceptedType(int state) {
+        return acceptedTypes[state];
+    }
+
+    public int getStateCount() {
+        return transitions.length;
+    }
+
+    public int getClassCount() {
+        return transitions.length == 0 ? 0 : transitions[0].length;
+    }
+
+    char[] getClassMap() {
+        return classMap;
+    }
+
+    int[][] getTransitions() {
+        return transitions;
+    }
+
+    TokenType[] getAcceptedTypes() {
+        return acceptedTypes;
+    }
+}
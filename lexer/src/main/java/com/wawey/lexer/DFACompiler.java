@@ -0,0 +1,415 @@
+package com.wawey.lexer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Compiles the automatas behind a list of {@link AutomataTokenMatcher}s, {@link KeywordTokenMatcher}s and
+ * {@link PunctuatorTokenMatcher}s into a single minimized {@link DFA}.
+ * <p>
+ * Matchers keep the priority they have in {@link MatcherLexer}: when several of them accept the same
+ * text, the token type of the first one wins.
+ *
+ * @author Tomas Perez Molina
+ */
+public class DFACompiler {
+    private static final int MAX_STATES = 100_000;
+
+    public DFA compile(List<TokenMatcher> matchers) {
+        List<TokenType> types = new ArrayList<>();
+        List<Machine> machines = new ArrayList<>();
+        for (AutomataTokenMatcher automataMatcher : expand(matchers)) {
+            types.add(automataMatcher.getTokenType());
+            machines.add(machineFor(automataMatcher.getAutomata()));
+        }
+
+        Set<CharAcceptor> acceptors = new LinkedHashSet<>();
+        machines.forEach(m -> m.collectAcceptors(acceptors));
+        CharClasses classes = CharClasses.of(new ArrayList<>(acceptors));
+
+        return minimize(explore(machines, types, classes), classes);
+    }
+
+    /**
+     * Turns keyword and punctuator tables back into one automata per token. The DFA recognizes all of
+     * them in the same pass anyway.
+     */
+    private static List<AutomataTokenMatcher> expand(List<TokenMatcher> matchers) {
+        AutomataFactory factory = new AutomataFactory();
+        List<AutomataTokenMatcher> result = new ArrayList<>();
+        for (TokenMatcher matcher : matchers) {
+            if (matcher instanceof AutomataTokenMatcher) {
+                result.add((AutomataTokenMatcher) matcher);
+            } else if (matcher instanceof KeywordTokenMatcher) {
+                KeywordTokenMatcher keywordMatcher = (KeywordTokenMatcher) matcher;
+                for (TokenType keyword : keywordMatcher.getKeywords().getKeywords()) {
+                    result.add(new AutomataTokenMatcher(keyword, factory.automataFor(keyword.getLexeme())));
+                }
+                result.add(keywordMatcher.getIdentifierMatcher());
+            } else if (matcher instanceof PunctuatorTokenMatcher) {
+                for (TokenType punctuator : ((PunctuatorTokenMatcher) matcher).getPunctuators()) {
+                    result.add(new AutomataTokenMatcher(punctuator, factory.automataFor(punctuator.getLexeme())));
+                }
+            } else {
+                throw new IllegalArgumentException("Cannot compile matcher " + matcher);
+            }
+        }
+        return result;
+    }
+
+    private Product explore(List<Machine> machines, List<TokenType> types, CharClasses classes) {
+        Map<ProductState, Integer> ids = new HashMap<>();
+        List<ProductState> states = new ArrayList<>();
+        List<int[]> transitions = new ArrayList<>();
+        Deque<ProductState> pending = new ArrayDeque<>();
+
+        Object[] initial = new Object[machines.size()];
+        for (int i = 0; i < initial.length; i++) {
+            initial[i] = machines.get(i).initial();
+        }
+        ProductState start = new ProductState(initial);
+        ids.put(start, 0);
+        states.add(start);
+        pending.add(start);
+
+        while (!pending.isEmpty()) {
+            ProductState state = pending.poll();
+            int[] row = new int[classes.count()];
+            for (int k = 0; k < row.length; k++) {
+                char c = classes.representative(k);
+                Object[] next = new Object[machines.size()];
+                boolean alive = false;
+                for (int i = 0; i < next.length; i++) {
+                    if (state.components[i] != null) {
+                        next[i] = machines.get(i).next(state.components[i], c);
+                        alive |= next[i] != null;
+                    }
+                }
+                if (!alive) {
+                    row[k] = DFA.DEAD;
+                    continue;
+                }
+                ProductState nextState = new ProductState(next);
+                Integer id = ids.get(nextState);
+                if (id == null) {
+                    if (states.size() == MAX_STATES)
+                        throw new IllegalStateException("Lexer automata has too many states to compile");
+                    id = states.size();
+                    ids.put(nextState, id);
+                    states.add(nextState);
+                    pending.add(nextState);
+                }
+                row[k] = id;
+            }
+            transitions.add(row);
+        }
+
+        TokenType[] accepted = new TokenType[states.size()];
+        for (int s = 0; s < accepted.length; s++) {
+            Object[] components = states.get(s).components;
+            for (int i = 0; i < components.length; i++) {
+                if (components[i] != null && machines.get(i).accepting(components[i])) {
+                    accepted[s] = types.get(i);
+                    break;
+                }
+            }
+        }
+        return new Product(transitions.toArray(new int[0][]), accepted);
+    }
+
+    /**
+     * Moore partition refinement: states start grouped by accepted type and are split until every
+     * state in a group moves to the same groups.
+     */
+    private DFA minimize(Product product, CharClasses classes) {
+        int stateCount = product.transitions.length;
+        int[] block = new int[stateCount];
+        Map<TokenType, Integer> initialBlocks = new HashMap<>();
+        for (int s = 0; s < stateCount; s++) {
+            TokenType type = product.accepted[s];
+            Integer b = initialBlocks.get(type);
+            if (b == null) {
+                b = initialBlocks.size();
+                initialBlocks.put(type, b);
+            }
+            block[s] = b;
+        }
+        int blockCount = initialBlocks.size();
+
+        while (true) {
+            Map<List<Integer>, Integer> signatures = new HashMap<>();
+            int[] refined = new int[stateCount];
+            for (int s = 0; s < stateCount; s++) {
+                List<Integer> signature = new ArrayList<>(classes.count() + 1);
+                signature.add(block[s]);
+                for (int target : product.transitions[s]) {
+                    signature.add(target == DFA.DEAD ? DFA.DEAD : block[target]);
+                }
+                Integer b = signatures.get(signature);
+                if (b == null) {
+                    b = signatures.size();
+                    signatures.put(signature, b);
+                }
+                refined[s] = b;
+            }
+            block = refined;
+            if (signatures.size() == blockCount) break;
+            blockCount = signatures.size();
+        }
+
+        int[][] transitions = new int[blockCount][];
+        TokenType[] accepted = new TokenType[blockCount];
+        for (int s = 0; s < stateCount; s++) {
+            int b = block[s];
+            if (transitions[b] != null) continue;
+            int[] row = new int[classes.count()];
+            for (int k = 0; k < row.length; k++) {
+                int target = product.transitions[s][k];
+                row[k] = target == DFA.DEAD ? DFA.DEAD : block[target];
+            }
+            transitions[b] = row;
+            accepted[b] = product.accepted[s];
+        }
+        return new DFA(classes.classMap, transitions, accepted, block[0]);
+    }
+
+    private static Machine machineFor(Automata automata) {
+        if (automata instanceof AutomataImpl) {
+            return new StateGraphMachine(((AutomataImpl) automata).getInitialState());
+        } else if (automata instanceof LinkedAutomata) {
+            LinkedAutomata linked = (LinkedAutomata) automata;
+            Machine[] links = new Machine[linked.linkCount()];
+            boolean[] skippable = new boolean[links.length];
+            for (int i = 0; i < links.length; i++) {
+                links[i] = machineFor(linked.getLinkAutomata(i));
+                skippable[i] = linked.isLinkSkippable(i);
+            }
+            return new LinkedMachine(links, skippable);
+        }
+        throw new IllegalArgumentException("Cannot compile automata " + automata);
+    }
+
+    /**
+     * Side effect free view of an {@link Automata}, where the current state is passed around instead of stored.
+     */
+    private interface Machine {
+        Object initial();
+
+        /**
+         * @return the state after consuming c, or null if c is rejected
+         */
+        Object next(Object state, char c);
+
+        boolean accepting(Object state);
+
+        void collectAcceptors(Set<CharAcceptor> acceptors);
+    }
+
+    private static class StateGraphMachine implements Machine {
+        private final AutomataState initial;
+
+        StateGraphMachine(AutomataState initial) {
+            this.initial = initial;
+        }
+
+        @Override
+        public Object initial() {
+            return initial;
+        }
+
+        @Override
+        public Object next(Object state, char c) {
+            for (Transition transition : stateImpl(state).getTransitions()) {
+                if (transition.consumes(c)) {
+                    AutomataState next = transition.nextState();
+                    return next == null ? state : next;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean accepting(Object state) {
+            return ((AutomataState) state).isAcceptable();
+        }
+
+        @Override
+        public void collectAcceptors(Set<CharAcceptor> acceptors) {
+            Set<AutomataState> visited = new LinkedHashSet<>();
+            Deque<AutomataState> pending = new ArrayDeque<>();
+            pending.add(initial);
+            while (!pending.isEmpty()) {
+                AutomataState state = pending.poll();
+                if (!visited.add(state)) continue;
+                if (visited.size() > MAX_STATES)
+                    throw new IllegalStateException("Automata has too many states to compile");
+                for (Transition transition : stateImpl(state).getTransitions()) {
+                    acceptors.add(transition.getAcceptor());
+                    AutomataState next = transition.nextState();
+                    if (next != null) pending.add(next);
+                }
+            }
+        }
+
+        private static AutomataStateImpl stateImpl(Object state) {
+            if (!(state instanceof AutomataStateImpl))
+                throw new IllegalArgumentException("Cannot compile automata state " + state);
+            return (AutomataStateImpl) state;
+        }
+    }
+
+    /**
+     * Mirrors {@link LinkedAutomata}: the state is the current link plus the state inside it.
+     */
+    private static class LinkedMachine implements Machine {
+        private final Machine[] links;
+        private final boolean[] skippable;
+
+        LinkedMachine(Machine[] links, boolean[] skippable) {
+            this.links = links;
+            this.skippable = skippable;
+        }
+
+        @Override
+        public Object initial() {
+            return new LinkState(0, links[0].initial());
+        }
+
+        @Override
+        public Object next(Object state, char c) {
+            LinkState linkState = (LinkState) state;
+            int link = linkState.link;
+            Object inner = linkState.inner;
+            while (true) {
+                Object next = links[link].next(inner, c);
+                if (next != null) return new LinkState(link, next);
+                if ((links[link].accepting(inner) || skippable[link]) && link < links.length - 1) {
+                    link++;
+                    inner = links[link].initial();
+                } else return null;
+            }
+        }
+
+        @Override
+        public boolean accepting(Object state) {
+            LinkState linkState = (LinkState) state;
+            if (!skippable[linkState.link] && !links[linkState.link].accepting(linkState.inner)) return false;
+            for (int i = linkState.link + 1; i < links.length; i++) {
+                if (!skippable[i] && !links[i].accepting(links[i].initial())) return false;
+            }
+            return true;
+        }
+
+        @Override
+        public void collectAcceptors(Set<CharAcceptor> acceptors) {
+            for (Machine link : links) {
+                link.collectAcceptors(acceptors);
+            }
+        }
+    }
+
+    private static class LinkState {
+        final int link;
+        final Object inner;
+
+        LinkState(int link, Object inner) {
+            this.link = link;
+            this.inner = inner;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            LinkState that = (LinkState) o;
+            return link == that.link &&
+                    inner.equals(that.inner);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(link, inner);
+        }
+    }
+
+    private static class ProductState {
+        final Object[] components;
+
+        ProductState(Object[] components) {
+            this.components = components;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            return Arrays.equals(components, ((ProductState) o).components);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(components);
+        }
+    }
+
+    private static class Product {
+        final int[][] transitions;
+        final TokenType[] accepted;
+
+        Product(int[][] transitions, TokenType[] accepted) {
+            this.transitions = transitions;
+            this.accepted = accepted;
+        }
+    }
+
+    /**
+     * Chars accepted by exactly the same acceptors are interchangeable, so they share a class.
+     */
+    private static class CharClasses {
+        final char[] classMap;
+        final List<Character> representatives;
+
+        private CharClasses(char[] classMap, List<Character> representatives) {
+            this.classMap = classMap;
+            this.representatives = representatives;
+        }
+
+        int count() {
+            return representatives.size();
+        }
+
+        char representative(int charClass) {
+            return representatives.get(charClass);
+        }
+
+        static CharClasses of(List<CharAcceptor> acceptors) {
+            char[] classMap = new char[Character.MAX_VALUE + 1];
+            List<Character> representatives = new ArrayList<>();
+            Map<BitSet, Integer> classes = new HashMap<>();
+            for (int i = 0; i <= Character.MAX_VALUE; i++) {
+                char c = (char) i;
+                BitSet signature = new BitSet(acceptors.size());
+                for (int a = 0; a < acceptors.size(); a++) {
+                    if (acceptors.get(a).accepts(c)) signature.set(a);
+                }
+                Integer charClass = classes.get(signature);
+                if (charClass == null) {
+                    charClass = representatives.size();
+                    classes.put(signature, charClass);
+                    representatives.add(c);
+                }
+                classMap[i] = (char) charClass.intValue();
+            }
+            return new CharClasses(classMap, representatives);
+        }
+    }
+}
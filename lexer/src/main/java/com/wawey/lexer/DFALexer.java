@@ -0,0 +1,105 @@
+package com.wawey.lexer;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Table driven lexer: a single pass over the input, with one {@link DFA} lookup per char.
+ * <p>
+ * Tokens are resolved by longest match. When the automata gets stuck, the lexer falls back to the
+ * last position where a token was accepted.
+ *
+ * @author Tomas Perez Molina
+ */
+public class DFALexer implements StreamingLexer {
+    private final DFA dfa;
+
+    public DFALexer(DFA dfa) {
+        this.dfa = dfa;
+    }
+
+    @Override
+    public List<Token> lex(String input) {
+        return lex(input, new SymbolTable());
+    }
+
+    /**
+     * @param symbols table the identifiers are interned into
+     */
+    public List<Token> lex(String input, SymbolTable symbols) {
+        List<Token> result = new ArrayList<>();
+        lexRange(input, 0, input.length(), true, new LineTable(input), symbols, result);
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Lexes input from start to end, adding the tokens to result.
+     *
+     * @param eof whether to finish with an EOF token
+     * @param lines line table of the whole input, shared by the tokens
+     */
+    void lexRange(String input, int start, int end, boolean eof, LineTable lines, SymbolTable symbols, List<Token> result) {
+        scan(input, start, end, eof, lines, (type, tokenStart, tokenEnd) -> {
+            if (type == TokenType.IDENTIFIER) {
+                int symbol = symbols.intern(input, tokenStart, tokenEnd);
+                result.add(new TokenImpl(type, symbols.getName(symbol), tokenStart, lines, Double.NaN, symbol));
+            } else if (type == TokenType.NUMBER_LITERAL) {
+                double value = NumberLiteralDecoder.decode(input, tokenStart, tokenEnd);
+                result.add(new TokenImpl(type, input.substring(tokenStart, tokenEnd), tokenStart, lines, value));
+            } else {
+                String lexeme = type.isFixed() ? type.getLexeme() : input.substring(tokenStart, tokenEnd);
+                result.add(new TokenImpl(type, lexeme, tokenStart, lines));
+            }
+        });
+    }
+
+    /**
+     * Lexes into a {@link TokenBuffer} instead of creating a {@link Token} per token.
+     */
+    public TokenBuffer lexToBuffer(String input) {
+        TokenBuffer buffer = new TokenBuffer(input, Math.max(16, input.length() / 4));
+        scan(input, 0, input.length(), true, buffer.getLineTable(), (type, start, end) -> buffer.add(type, start, end - start));
+        return buffer;
+    }
+
+    private void scan(String input, int start, int end, boolean eof, LineTable lines, TokenSink sink) {
+        final int length = end;
+        final int initialState = dfa.getInitialState();
+        int position = start;
+        while (position < length) {
+            int state = initialState;
+            int acceptedEnd = -1;
+            TokenType acceptedType = null;
+            for (int i = position; i < length; i++) {
+                state = dfa.transition(state, input.charAt(i));
+                if (state == DFA.DEAD) break;
+                i = dfa.skipLoop(state, input, i + 1, length) - 1;
+                TokenType type = dfa.getAcceptedType(state);
+                if (type != null) {
+                    acceptedEnd = i + 1;
+                    acceptedType = type;
+                }
+            }
+            if (acceptedType == null) {
+                throw new UnknownCharacterException(input.charAt(position), lines.getLine(position), lines.getColumn(position));
+            }
+            if (acceptedType != TokenType.SPACE && acceptedType != TokenType.NEWLINE) {
+                sink.accept(acceptedType, position, acceptedEnd);
+            }
+            position = acceptedEnd;
+        }
+        if (eof) sink.accept(TokenType.EOF, length, length);
+    }
+
+    @Override
+    public Iterator<Token> tokens(Reader input) {
+        return new DFATokenIterator(dfa, input);
+    }
+
+    private interface TokenSink {
+        void accept(TokenType type, int start, int end);
+    }
+}
@@ -0,0 +1,104 @@
+package com.wawey.lexer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact binary form of a {@link DFA}, so lexer tables can be built once and loaded at startup.
+ * <p>
+ * Token types are written by name, so the tables survive reordering {@link TokenType}. The class map is
+ * run length encoded, as long stretches of chars share a class; states and classes are written as shorts.
+ *
+ * @author Tomas Perez Molina
+ */
+public class DFASerializer {
+    static final int MAGIC = 0x54534446;
+    static final int VERSION = 1;
+
+    public void write(DFA dfa, DataOutput out) throws IOException {
+        if (dfa.getStateCount() > Short.MAX_VALUE || dfa.getClassCount() > Short.MAX_VALUE)
+            throw new IllegalArgumentException("DFA too large to serialize: " + dfa.getStateCount() + " states");
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+
+        TokenType[] types = TokenType.values();
+        out.writeShort(types.length);
+        for (TokenType type : types) {
+            out.writeUTF(type.name());
+        }
+
+        char[] classMap = dfa.getClassMap();
+        int runCount = 0;
+        for (int c = 0; c < classMap.length; c++) {
+            if (c == 0 || classMap[c] != classMap[c - 1]) runCount++;
+        }
+        out.writeInt(runCount);
+        int runStart = 0;
+        for (int c = 1; c <= classMap.length; c++) {
+            if (c == classMap.length || classMap[c] != classMap[runStart]) {
+                out.writeInt(c - runStart);
+                out.writeShort(classMap[runStart]);
+                runStart = c;
+            }
+        }
+
+        int[][] transitions = dfa.getTransitions();
+        TokenType[] acceptedTypes = dfa.getAcceptedTypes();
+        out.writeShort(dfa.getStateCount());
+        out.writeShort(dfa.getClassCount());
+        out.writeShort(dfa.getInitialState());
+        for (int state = 0; state < transitions.length; state++) {
+            out.writeShort(acceptedTypes[state] == null ? -1 : acceptedTypes[state].ordinal());
+            for (int target : transitions[state]) {
+                out.writeShort(target);
+            }
+        }
+    }
+
+    public DFA read(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) throw new IOException("Not a serialized DFA");
+        int version = in.readShort();
+        if (version != VERSION) throw new IOException("Unsupported DFA version " + version);
+
+        Map<String, TokenType> byName = new HashMap<>();
+        for (TokenType type : TokenType.values()) {
+            byName.put(type.name(), type);
+        }
+        TokenType[] types = new TokenType[in.readShort()];
+        for (int i = 0; i < types.length; i++) {
+            String name = in.readUTF();
+            types[i] = byName.get(name);
+            if (types[i] == null) throw new IOException("Unknown token type " + name);
+        }
+
+        char[] classMap = new char[Character.MAX_VALUE + 1];
+        int runCount = in.readInt();
+        int c = 0;
+        for (int run = 0; run < runCount; run++) {
+            int length = in.readInt();
+            char tokenClass = (char) in.readShort();
+            if (length <= 0 || c + length > classMap.length) throw new IOException("Corrupt class map");
+            for (int end = c + length; c < end; c++) {
+                classMap[c] = tokenClass;
+            }
+        }
+        if (c != classMap.length) throw new IOException("Corrupt class map");
+
+        int stateCount = in.readShort();
+        int classCount = in.readShort();
+        int initialState = in.readShort();
+        int[][] transitions = new int[stateCount][classCount];
+        TokenType[] acceptedTypes = new TokenType[stateCount];
+        for (int state = 0; state < stateCount; state++) {
+            int type = in.readShort();
+            acceptedTypes[state] = type < 0 ? null : types[type];
+            for (int cls = 0; cls < classCount; cls++) {
+                transitions[state][cls] = in.readShort();
+            }
+        }
+        return new DFA(classMap, transitions, acceptedTypes, initialState);
+    }
+}
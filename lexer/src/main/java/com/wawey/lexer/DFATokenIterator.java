@@ -0,0 +1,144 @@
+package com.wawey.lexer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Pulls tokens out of a {@link Reader} using a {@link DFA}.
+ * <p>
+ * Only the chars of the token being scanned are kept, so memory is bounded by the buffer size,
+ * or by the longest token if it does not fit in the buffer. The whole source is never available, so
+ * tokens on the same line share a {@link LineTable} of that line alone.
+ *
+ * @author Tomas Perez Molina
+ */
+public class DFATokenIterator implements Iterator<Token> {
+    static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final DFA dfa;
+    private final Reader reader;
+    private char[] buffer;
+    private int position = 0;
+    private int limit = 0;
+    private boolean inputEnded = false;
+    private int line = 1;
+    private int column = 1;
+    private LineTable lineTable = LineTable.singleLine(1);
+    private final SymbolTable symbols;
+    private Token next;
+    private boolean finished = false;
+
+    public DFATokenIterator(DFA dfa, Reader reader) {
+        this(dfa, reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    DFATokenIterator(DFA dfa, Reader reader, int bufferSize) {
+        this(dfa, reader, bufferSize, new SymbolTable());
+    }
+
+    DFATokenIterator(DFA dfa, Reader reader, int bufferSize, SymbolTable symbols) {
+        if (bufferSize <= 0) throw new IllegalArgumentException("Buffer size must be positive");
+        this.dfa = dfa;
+        this.reader = reader;
+        this.buffer = new char[bufferSize];
+        this.symbols = symbols;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            next = scan();
+        }
+        return next != null;
+    }
+
+    @Override
+    public Token next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        Token result = next;
+        next = null;
+        return result;
+    }
+
+    private Token scan() {
+        while (position < limit || fill()) {
+            int state = dfa.getInitialState();
+            int acceptedLength = -1;
+            TokenType acceptedType = null;
+            int length = 0;
+            while (position + length < limit || fill()) {
+                state = dfa.transition(state, buffer[position + length]);
+                if (state == DFA.DEAD) break;
+                length = dfa.skipLoop(state, buffer, position + length + 1, limit) - position;
+                TokenType type = dfa.getAcceptedType(state);
+                if (type != null) {
+                    acceptedLength = length;
+                    acceptedType = type;
+                }
+            }
+            if (acceptedType == null) {
+                throw new UnknownCharacterException(buffer[position], line, column);
+            }
+            int start = position;
+            position += acceptedLength;
+            switch (acceptedType) {
+                case SPACE:
+                    column += acceptedLength;
+                    break;
+                case NEWLINE:
+                    line++;
+                    column = 1;
+                    lineTable = LineTable.singleLine(line);
+                    break;
+                case IDENTIFIER:
+                    int symbol = symbols.intern(buffer, start, start + acceptedLength);
+                    Token identifier = new TokenImpl(acceptedType, symbols.getName(symbol), column - 1, lineTable, Double.NaN, symbol);
+                    column += acceptedLength;
+                    return identifier;
+                default:
+                    String lexeme = acceptedType.isFixed() ? acceptedType.getLexeme() : new String(buffer, start, acceptedLength);
+                    Token token = new TokenImpl(acceptedType, lexeme, column - 1, lineTable);
+                    column += acceptedLength;
+                    return token;
+            }
+        }
+        finished = true;
+        return new TokenImpl(TokenType.EOF, "", column - 1, lineTable);
+    }
+
+    /**
+     * Reads more input after {@code limit}, discarding the chars before {@code position} to make room.
+     *
+     * @return false if the input has no more chars
+     */
+    private boolean fill() {
+        if (inputEnded) return false;
+        if (limit == buffer.length) {
+            if (position > 0) {
+                System.arraycopy(buffer, position, buffer, 0, limit - position);
+                limit -= position;
+                position = 0;
+            } else {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        try {
+            int read;
+            do {
+                read = reader.read(buffer, limit, buffer.length - limit);
+            } while (read == 0);
+            if (read < 0) {
+                inputEnded = true;
+                return false;
+            }
+            limit += read;
+            return true;
+        } catch (IOException exc) {
+            throw new UncheckedIOException(exc);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.wawey.lexer;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Tokens of an edited source, kept as ranges of the token lists lexed for earlier versions of it.
+ * <p>
+ * Ranges before every edit since they were lexed hand out their tokens as they are. Ranges the edits
+ * moved keep how far they moved and the {@link LineTable} of the latest source, and only create the moved
+ * token when it is asked for. Editing takes time in the size of the edited region and the logarithm of the
+ * number of ranges, not in the number of tokens.
+ *
+ * @author Tomas Perez Molina
+ */
+final class EditedTokenList extends AbstractList<Token> implements RandomAccess {
+    private final PieceTree<Segment, Token> segments;
+
+    private EditedTokenList(PieceTree<Segment, Token> segments) {
+        this.segments = segments;
+    }
+
+    static EditedTokenList of(List<Token> tokens) {
+        if (tokens instanceof EditedTokenList) return (EditedTokenList) tokens;
+        return new EditedTokenList(PieceTree.of(new Segment(tokens, 0, tokens.size(), 0, null)));
+    }
+
+    /**
+     * @return these tokens with the ones from firstRelexed up to resumed replaced by relexed, and the ones
+     * after them moved by shift into the source lines maps
+     */
+    EditedTokenList edited(int firstRelexed, List<Token> relexed, int resumed, int shift, LineTable lines) {
+        Segment replacement = new Segment(relexed, 0, relexed.size(), 0, null);
+        return new EditedTokenList(segments.edited(firstRelexed, replacement, resumed, shift, lines));
+    }
+
+    /**
+     * @return the offset of the token at index, without creating it
+     */
+    int getStart(int index) {
+        checkIndex(index);
+        return segments.keyAt(index);
+    }
+
+    /**
+     * @return the index of the first token starting at or after offset, or the size if there is none
+     */
+    int firstTokenFrom(int offset) {
+        return segments.countBelow(offset);
+    }
+
+    @Override
+    public Token get(int index) {
+        checkIndex(index);
+        return segments.get(index);
+    }
+
+    @Override
+    public int size() {
+        return segments.size();
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+    }
+
+    private static final class Segment implements PieceTree.Piece<Segment, Token> {
+        final List<Token> tokens;
+        final int from;
+        final int size;
+        final int shift;
+        /**
+         * Table of the tokens once moved, or null if they are handed out as they are
+         */
+        final LineTable lines;
+
+        Segment(List<Token> tokens, int from, int size, int shift, LineTable lines) {
+            this.tokens = tokens;
+            this.from = from;
+            this.size = size;
+            this.shift = shift;
+            this.lines = lines;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int key(int index) {
+            return tokens.get(from + index).getStart() + shift;
+        }
+
+        @Override
+        public Token get(int index, int by, LineTable into) {
+            Token token = tokens.get(from + index);
+            LineTable table = into != null ? into : lines;
+            if (table == null) return token;
+            double numberValue = token.getType() == TokenType.NUMBER_LITERAL ? token.getNumberValue() : Double.NaN;
+            return new TokenImpl(token.getType(), token.getLexeme(), token.getStart() + shift + by, table, numberValue, token.getSymbol());
+        }
+
+        @Override
+        public Segment slice(int offset, int length) {
+            return new Segment(tokens, from + offset, length, shift, lines);
+        }
+
+        @Override
+        public Segment moved(int by, LineTable into) {
+            if (by == 0 && into == null) return this;
+            return new Segment(tokens, from, size, shift + by, into != null ? into : lines);
+        }
+
+        @Override
+        public Segment append(Segment next) {
+            List<Token> merged = new ArrayList<>(size + next.size);
+            for (int i = 0; i < size; i++) {
+                merged.add(get(i, 0, null));
+            }
+            for (int i = 0; i < next.size; i++) {
+                merged.add(next.get(i, 0, null));
+            }
+            return new Segment(merged, 0, merged.size(), 0, null);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.wawey.lexer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Updates the tokens of a source after an edit without lexing it all again.
+ * <p>
+ * As in {@link ParallelLexer}, every '\n' ends a token. The lexer goes back to the start of the line
+ * where the edit begins and lexes up to the first '\n' after the inserted text. From there on the
+ * source is the same as before, so the previous tokens are reused, moved by the chars the edit added or
+ * removed.
+ * <p>
+ * The result is a view over the previous tokens: the ones before the edit are handed out as they are, and
+ * the ones after it are created at their new offset when asked for. Its {@link LineTable} is patched from
+ * the previous one, which no longer holds the text of the previous source. Given the edited source, an edit
+ * takes time in the size of the edited region, not of the source.
+ * <p>
+ * Editors should lex with {@link DFALexer#lex(String, SymbolTable)} and keep passing the same table to
+ * {@link #relex(String, List, TextEdit, SymbolTable)}, so only the edited lines are interned.
+ *
+ * @author Tomas Perez Molina
+ */
+public class IncrementalLexer {
+    private final DFALexer lexer;
+
+    public IncrementalLexer(DFALexer lexer) {
+        this.lexer = lexer;
+    }
+
+    /**
+     * Keeps the ids of the previous tokens, interning the identifiers of the edited lines into symbols.
+     *
+     * @param source the source before the edit
+     * @param tokens the result of lexing source, or of relexing into it
+     * @param symbols the table the previous tokens were interned into
+     * @return an unmodifiable list, which later edits are cheapest to apply to
+     */
+    public List<Token> relex(String source, List<Token> tokens, TextEdit edit, SymbolTable symbols) {
+        return relexInto(source, edit.applyTo(source), tokens, edit, symbols);
+    }
+
+    /**
+     * Same as {@link #relex(String, List, TextEdit, SymbolTable)} for callers that already applied the edit,
+     * which saves copying the source.
+     *
+     * @param edited the result of applying edit to source
+     */
+    public List<Token> relex(String source, String edited, List<Token> tokens, TextEdit edit, SymbolTable symbols) {
+        return relexInto(source, edited, tokens, edit, symbols);
+    }
+
+    /**
+     * Slow path for tests and one off edits: symbol ids are given again from scratch, which hashes every
+     * identifier of the source. Use {@link #relex(String, List, TextEdit, SymbolTable)} on every edit.
+     *
+     * @param source the source before the edit
+     * @param tokens the result of lexing source, or of relexing into it
+     * @return the tokens of the edited source, the same list lexing it from scratch would give, symbol ids
+     * included
+     */
+    public List<Token> relex(String source, List<Token> tokens, TextEdit edit) {
+        List<Token> result = new ArrayList<>(relexInto(source, edit.applyTo(source), tokens, edit, new SymbolTable()));
+        SymbolTable symbols = new SymbolTable();
+        for (int i = 0; i < result.size(); i++) {
+            Token token = result.get(i);
+            if (token.getType() != TokenType.IDENTIFIER) continue;
+            int symbol = symbols.intern(token.getLexeme());
+            if (symbol != token.getSymbol()) {
+                result.set(i, new TokenImpl(TokenType.IDENTIFIER, symbols.getName(symbol), token.getStart(), token.getLineTable(), Double.NaN, symbol));
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private EditedTokenList relexInto(String source, String edited, List<Token> tokens, TextEdit edit, SymbolTable symbols) {
+        int offset = edit.getOffset();
+        String inserted = edit.getInsertedText();
+        int shift = inserted.length() - edit.getRemovedLength();
+        EditedTokenList previous = EditedTokenList.of(tokens);
+
+        int start = source.lastIndexOf('\n', offset - 1) + 1;
+        int newline = edited.indexOf('\n', offset + inserted.length());
+        int end = newline < 0 ? edited.length() : newline + 1;
+        LineTable lines = lineTable(source, previous).edited(edited, start, end, shift);
+
+        List<Token> relexed = new ArrayList<>();
+        lexer.lexRange(edited, start, end, newline < 0, lines, symbols, relexed);
+        int firstRelexed = previous.firstTokenFrom(start);
+        int resumed = newline < 0 ? previous.size() : previous.firstTokenFrom(end - shift);
+        return previous.edited(firstRelexed, relexed, resumed, shift, lines);
+    }
+
+    /**
+     * @return the table of the whole source, which every lexer gives its last token
+     */
+    private static LineTable lineTable(String source, List<Token> tokens) {
+        if (!tokens.isEmpty()) {
+            LineTable lines = tokens.get(tokens.size() - 1).getLineTable();
+            if (!lines.isSingleLine()) return lines;
+        }
+        return new LineTable(source);
+    }
+}
@@ -0,0 +1,95 @@
+package com.wawey.lexer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Perfect hash from lexemes to fixed token types, searched for once when the table is built.
+ * <p>
+ * Lexemes are hashed like {@link String#hashCode()} and scrambled by a multiplier chosen so that no two
+ * keywords share a slot. Classifying a lexeme is then one hash plus at most one comparison.
+ *
+ * @author Tomas Perez Molina
+ */
+public class KeywordTable {
+    private static final int MAX_BITS = 16;
+    private static final int ATTEMPTS_PER_SIZE = 1000;
+
+    private final List<TokenType> keywords;
+    private final TokenType[] slots;
+    private final int multiplier;
+    private final int shift;
+    private final int minLength;
+    private final int maxLength;
+
+    public KeywordTable(Collection<TokenType> keywords) {
+        this.keywords = Collections.unmodifiableList(new ArrayList<>(keywords));
+        int minLength = Integer.MAX_VALUE;
+        int maxLength = 0;
+        for (TokenType keyword : keywords) {
+            if (!keyword.isFixed()) throw new IllegalArgumentException(keyword + " has no fixed lexeme");
+            minLength = Math.min(minLength, keyword.getLexeme().length());
+            maxLength = Math.max(maxLength, keyword.getLexeme().length());
+        }
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+
+        Random random = new Random(0);
+        int bits = 1;
+        while ((1 << bits) < keywords.size()) bits++;
+        for (; bits <= MAX_BITS; bits++) {
+            for (int attempt = 0; attempt < ATTEMPTS_PER_SIZE; attempt++) {
+                int multiplier = random.nextInt() | 1;
+                TokenType[] slots = fill(bits, multiplier);
+                if (slots != null) {
+                    this.slots = slots;
+                    this.multiplier = multiplier;
+                    this.shift = 32 - bits;
+                    return;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Could not find a perfect hash for " + keywords);
+    }
+
+    public List<TokenType> getKeywords() {
+        return keywords;
+    }
+
+    public TokenType classify(CharSequence text) {
+        return classify(text, 0, text.length());
+    }
+
+    /**
+     * @return the keyword whose lexeme is the text between start and end, or null if there is none
+     */
+    public TokenType classify(CharSequence text, int start, int end) {
+        int length = end - start;
+        if (length < minLength || length > maxLength) return null;
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        TokenType candidate = slots[(hash * multiplier) >>> shift];
+        if (candidate == null) return null;
+        String lexeme = candidate.getLexeme();
+        if (lexeme.length() != length) return null;
+        for (int i = 0; i < length; i++) {
+            if (lexeme.charAt(i) != text.charAt(start + i)) return null;
+        }
+        return candidate;
+    }
+
+    private TokenType[] fill(int bits, int multiplier) {
+        TokenType[] slots = new TokenType[1 << bits];
+        for (TokenType keyword : keywords) {
+            int slot = (keyword.getLexeme().hashCode() * multiplier) >>> (32 - bits);
+            if (slots[slot] != null) return null;
+            slots[slot] = keyword;
+        }
+        return slots;
+    }
+}
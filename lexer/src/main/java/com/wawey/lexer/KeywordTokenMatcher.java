@@ -0,0 +1,62 @@
+package com.wawey.lexer;
+
+/**
+ * Matches identifiers once and then tells keywords apart with a {@link KeywordTable}, instead of
+ * running one matcher per keyword. Every keyword must be a valid identifier.
+ *
+ * @author Tomas Perez Molina
+ */
+public class KeywordTokenMatcher implements TokenMatcher {
+    private final AutomataTokenMatcher identifierMatcher;
+    private final KeywordTable keywords;
+
+    public KeywordTokenMatcher(AutomataTokenMatcher identifierMatcher, KeywordTable keywords) {
+        this.identifierMatcher = identifierMatcher;
+        this.keywords = keywords;
+    }
+
+    AutomataTokenMatcher getIdentifierMatcher() {
+        return identifierMatcher;
+    }
+
+    KeywordTable getKeywords() {
+        return keywords;
+    }
+
+    @Override
+    public void startAt(CharSequence source, int offset) {
+        identifierMatcher.startAt(source, offset);
+    }
+
+    @Override
+    public boolean isMatching() {
+        return identifierMatcher.isMatching();
+    }
+
+    @Override
+    public boolean match(char c) {
+        return identifierMatcher.match(c);
+    }
+
+    @Override
+    public boolean acceptable() {
+        return identifierMatcher.acceptable();
+    }
+
+    @Override
+    public BasicToken getBasicToken() {
+        BasicToken identifier = identifierMatcher.getBasicToken();
+        TokenType keyword = keywords.classify(identifier.getLexeme());
+        return keyword == null ? identifier : new BasicTokenImpl(keyword, keyword.getLexeme());
+    }
+
+    @Override
+    public TokenMatcher copy() {
+        return new KeywordTokenMatcher(identifierMatcher.copy(), keywords);
+    }
+
+    @Override
+    public void reset() {
+        identifierMatcher.reset();
+    }
+}
@@ -1,69 +1,58 @@
 package com.wawey.lexer;
 
-import com.google.common.collect.ImmutableList;
-
-import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class LexerFactory {
     private final AutomataFactory factory = new AutomataFactory();
 
+    /**
+     * @return a lexer that can be shared between threads. Its matchers are built once per process
+     */
     public Lexer getTSLexer() {
-        List<TokenMatcher> keywordMatchers =
-                Arrays.stream(TokenType.values())
-                        .filter(TokenType::isFixed)
-                        .map(t -> new AutomataTokenMatcher(t, factory.automataFor(t.getLexeme())))
-                        .collect(Collectors.toList());
-        TokenMatcher idMatcher = new AutomataTokenMatcher(
-                TokenType.IDENTIFIER,
-                new LinkedAutomata.Builder()
-                        .andThen(factory.infiniteRegexAutomata("[a-zA-z]"))
-                        .maybeThen(factory.infiniteRegexAutomata("[a-zA-Z0-9]"))
-                        .build()
-        );
-        TokenMatcher numLiteralMatcher1 = new AutomataTokenMatcher(
-                TokenType.NUMBER_LITERAL,
-                new LinkedAutomata.Builder()
-                        .andThen(factory.infiniteRegexAutomata("[1-9]"))
-                        .maybeThen(factory.infiniteRegexAutomata("[0-9]"))
-                        .maybeThen(factory.singleCharAutomata('.'))
-                        .maybeThen(factory.infiniteRegexAutomata("[0-9]"))
-                        .build()
-        );
-        TokenMatcher numLiteralMatcher2 = new AutomataTokenMatcher(
-                TokenType.NUMBER_LITERAL,
-                new LinkedAutomata.Builder()
-                        .andThen(factory.singleCharAutomata('0'))
-                        .maybeThen(factory.singleCharAutomata('.'))
-                        .maybeThen(factory.infiniteRegexAutomata("[0-9]"))
-                        .build()
-        );
-        TokenMatcher singleQuoteStrLiteralMatcher = new AutomataTokenMatcher(TokenType.STRING_LITERAL, factory.delimitedWordAutomata('"', Arrays.asList('\n', '\r')));
-        TokenMatcher doubleQuoteStrLiteralMatcher = new AutomataTokenMatcher(TokenType.STRING_LITERAL, factory.delimitedWordAutomata('\'', Arrays.asList('\n', '\r')));
-        TokenMatcher spaceMatcher = new AutomataTokenMatcher(TokenType.SPACE, factory.infiniteRegexAutomata(" "));
-        TokenMatcher crlfMatcher = new AutomataTokenMatcher(
-                TokenType.NEWLINE,
-                new LinkedAutomata.Builder()
-                        .andThen(factory.singleCharAutomata('\r'))
-                        .andThen(factory.singleCharAutomata('\n'))
-                        .build()
-        );
-        TokenMatcher lfMatcher = new AutomataTokenMatcher(TokenType.NEWLINE, factory.singleCharAutomata('\n'));
+        return TSMatcherLexerHolder.LEXER;
+    }
+
+    /**
+     * @return a lexer for the same tokens as {@link #getTSLexer()}, compiled into a single table driven {@link DFA}.
+     * The tables are prebuilt and loaded once per process, and the lexer can be shared between threads
+     */
+    public DFALexer getCompiledTSLexer() {
+        return TSLexerTables.lexer();
+    }
 
-        List<TokenMatcher> matchers =
-                ImmutableList.<TokenMatcher>builder()
-                        .addAll(keywordMatchers)
-                        .add(idMatcher)
-                        .add(numLiteralMatcher1)
-                        .add(numLiteralMatcher2)
-                        .add(singleQuoteStrLiteralMatcher)
-                        .add(doubleQuoteStrLiteralMatcher)
-                        .add(spaceMatcher)
-                        .add(crlfMatcher)
-                        .add(lfMatcher)
-                        .build();
+    /**
+     * @return a lexer for the same tokens as {@link #getTSLexer()}, generated at build time as straight line code
+     */
+    public Lexer getGeneratedTSLexer() {
+        return new GeneratedTSLexer();
+    }
+
+    /**
+     * @return a lexer for the same tokens as {@link #getTSLexer()} that works on memory mapped files
+     */
+    public MappedFileLexer getMappedTSLexer() {
+        return new MappedFileLexer(TSLexerTables.dfa());
+    }
+
+    /**
+     * @return a lexer for the same tokens as {@link #getTSLexer()} that lexes large inputs in parallel on the common pool
+     */
+    public ParallelLexer getParallelTSLexer() {
+        return new ParallelLexer(getCompiledTSLexer());
+    }
+
+    /**
+     * @return a lexer that updates the tokens given by {@link #getTSLexer()} after an edit
+     */
+    public IncrementalLexer getIncrementalTSLexer() {
+        return new IncrementalLexer(getCompiledTSLexer());
+    }
+
+    List<TokenMatcher> getTSMatchers() {
+        return TSTokenDefinitions.matchers(factory);
+    }
 
-        return new MatcherLexer(matchers);
+    private static class TSMatcherLexerHolder {
+        static final Lexer LEXER = new MatcherLexer(TSTokenDefinitions.matchers(new AutomataFactory()));
     }
 }
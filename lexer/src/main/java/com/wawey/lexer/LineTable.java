@@ -0,0 +1,210 @@
+package com.wawey.lexer;
+
+import java.util.Arrays;
+
+/**
+ * Maps char offsets of a source to lines and columns, both starting at 1.
+ * <p>
+ * Tokens only store their offset; the offsets where each line starts are found the first time a line
+ * or column is asked for, and binary searched from then on. The source is only referenced until then, so
+ * tables of earlier versions of an edited source do not keep their text alive. A table can be shared
+ * between threads.
+ *
+ * @author Tomas Perez Molina
+ */
+public class LineTable {
+    private volatile CharSequence source;
+    private final int firstLine;
+    private volatile LineStarts lineStarts;
+
+    public LineTable(CharSequence source) {
+        this.source = source;
+        this.firstLine = 1;
+    }
+
+    private LineTable(int firstLine, LineStarts lineStarts) {
+        this.source = null;
+        this.firstLine = firstLine;
+        this.lineStarts = lineStarts;
+    }
+
+    /**
+     * Table for a position given as a line and a column, where the offset of a column is column - 1.
+     */
+    public static LineTable singleLine(int line) {
+        return new LineTable(line, LineStarts.SINGLE_LINE);
+    }
+
+    public int getLine(int offset) {
+        return lineStarts().lineIndex(offset) + firstLine;
+    }
+
+    public int getColumn(int offset) {
+        LineStarts starts = lineStarts();
+        return offset - starts.get(starts.lineIndex(offset)) + 1;
+    }
+
+    /**
+     * @return the offset of the first char of line
+     * @throws IndexOutOfBoundsException if the source does not have that line
+     */
+    public int getLineStart(int line) {
+        LineStarts starts = lineStarts();
+        int index = line - firstLine;
+        if (index < 0 || index >= starts.size())
+            throw new IndexOutOfBoundsException("Line: " + line + ", lines: " + starts.size());
+        return starts.get(index);
+    }
+
+    /**
+     * Table of the source after an edit, sharing the line starts the edit did not change with this one.
+     * Takes time in the size of the edited region, not of the source.
+     *
+     * @param start start of a line both sources have, at or before the edit
+     * @param end offset in the edited source where it is the same as before again, which is the start of a
+     *            line or the end of the source
+     * @param shift how many chars the edit added, negative if it removed them
+     */
+    LineTable edited(CharSequence edited, int start, int end, int shift) {
+        if (isSingleLine()) throw new IllegalStateException("Not the table of a whole source");
+        int[] inserted = new int[4];
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            if (edited.charAt(i) == '\n') {
+                if (count == inserted.length) inserted = Arrays.copyOf(inserted, count * 2);
+                inserted[count++] = i + 1;
+            }
+        }
+        return new LineTable(firstLine, lineStarts().edited(start, end - shift, shift, Arrays.copyOf(inserted, count)));
+    }
+
+    /**
+     * @return whether this table was built by {@link #singleLine(int)}, so it only knows the line of its
+     * tokens and not the source they come from
+     */
+    boolean isSingleLine() {
+        return lineStarts == LineStarts.SINGLE_LINE;
+    }
+
+    private LineStarts lineStarts() {
+        LineStarts starts = lineStarts;
+        if (starts == null) {
+            CharSequence text = source;
+            if (text == null) return lineStarts;
+            starts = LineStarts.of(computeLineStarts(text));
+            lineStarts = starts;
+            source = null;
+        }
+        return starts;
+    }
+
+    private static int[] computeLineStarts(CharSequence source) {
+        int[] result = new int[16];
+        int count = 1;
+        for (int i = 0; i < source.length(); i++) {
+            if (source.charAt(i) == '\n') {
+                if (count == result.length) result = Arrays.copyOf(result, count * 2);
+                result[count++] = i + 1;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Line starts kept as chunks of arrays shared between the tables of the versions of a source.
+     */
+    private static final class LineStarts {
+        static final LineStarts SINGLE_LINE = of(new int[]{0});
+
+        private final PieceTree<Chunk, Integer> chunks;
+
+        private LineStarts(PieceTree<Chunk, Integer> chunks) {
+            this.chunks = chunks;
+        }
+
+        static LineStarts of(int[] starts) {
+            return new LineStarts(PieceTree.of(new Chunk(starts, 0, starts.length, 0)));
+        }
+
+        int size() {
+            return chunks.size();
+        }
+
+        int get(int index) {
+            return chunks.keyAt(index);
+        }
+
+        int lineIndex(int offset) {
+            return Math.max(chunks.countBelow(offset + 1) - 1, 0);
+        }
+
+        /**
+         * @return the starts with lines after start and up to oldEnd replaced by inserted, and lines after
+         * oldEnd moved by shift
+         */
+        LineStarts edited(int start, int oldEnd, int shift, int[] inserted) {
+            Chunk replacement = new Chunk(inserted, 0, inserted.length, 0);
+            return new LineStarts(chunks.edited(lineIndex(start) + 1, replacement, lineIndex(oldEnd) + 1, shift, null));
+        }
+    }
+
+    /**
+     * Starts {@code array[from..from + length]} plus delta.
+     */
+    private static final class Chunk implements PieceTree.Piece<Chunk, Integer> {
+        private final int[] array;
+        private final int from;
+        private final int length;
+        private final int delta;
+
+        Chunk(int[] array, int from, int length, int delta) {
+            this.array = array;
+            this.from = from;
+            this.length = length;
+            this.delta = delta;
+        }
+
+        @Override
+        public int size() {
+            return length;
+        }
+
+        @Override
+        public int key(int index) {
+            return array[from + index] + delta;
+        }
+
+        @Override
+        public Integer get(int index, int shift, LineTable lines) {
+            return key(index) + shift;
+        }
+
+        @Override
+        public Chunk slice(int offset, int length) {
+            return new Chunk(array, from + offset, length, delta);
+        }
+
+        @Override
+        public Chunk moved(int shift, LineTable lines) {
+            return shift == 0 ? this : new Chunk(array, from, length, delta + shift);
+        }
+
+        @Override
+        public Chunk append(Chunk next) {
+            int[] merged = new int[length + next.length];
+            for (int i = 0; i < length; i++) {
+                merged[i] = key(i);
+            }
+            for (int i = 0; i < next.length; i++) {
+                merged[length + i] = next.key(i);
+            }
+            return new Chunk(merged, 0, merged.length, 0);
+        }
+
+        @Override
+        public int countBelow(int key) {
+            int index = Arrays.binarySearch(array, from, from + length, key - delta);
+            return (index >= 0 ? index : -index - 1) - from;
+        }
+    }
+}
@@ -1,44 +1,71 @@
 package com.wawey.lexer;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 public class LinkedAutomata implements Automata {
-    private List<AutomataLink> automatas;
+    private final AutomataLink[] automatas;
     private int current = 0;
 
     private LinkedAutomata(List<AutomataLink> automatas) {
-        this.automatas = automatas;
+        this.automatas = automatas.toArray(new AutomataLink[0]);
     }
 
     @Override
     public boolean acceptable() {
-        return automatas.stream().allMatch(l -> l.skippable || l.automata.acceptable());
+        for (AutomataLink link : automatas) {
+            if (!link.skippable && !link.automata.acceptable()) return false;
+        }
+        return true;
     }
 
     @Override
     public void consume(char c) {
-        AutomataLink currentLink = automatas.get(current);
-        try {
-            currentLink.automata.consume(c);
-        } catch (NoTransitionException exc) {
-            if (
-                    (currentLink.automata.acceptable() || currentLink.skippable)
-                            && current < automatas.size() - 1) {
+        if (!tryConsume(c)) throw new NoTransitionException();
+    }
+
+    @Override
+    public boolean tryConsume(char c) {
+        while (true) {
+            AutomataLink currentLink = automatas[current];
+            if (currentLink.automata.tryConsume(c)) return true;
+            if ((currentLink.automata.acceptable() || currentLink.skippable) && current < automatas.length - 1) {
                 current++;
-                consume(c);
-            } else throw exc;
+            } else return false;
         }
     }
 
+    int linkCount() {
+        return automatas.length;
+    }
+
+    Automata getLinkAutomata(int link) {
+        return automatas[link].automata;
+    }
+
+    boolean isLinkSkippable(int link) {
+        return automatas[link].skippable;
+    }
+
     @Override
     public void reset() {
-        automatas.forEach(l -> l.automata.reset());
+        for (AutomataLink link : automatas) {
+            link.automata.reset();
+        }
         current = 0;
     }
 
+    @Override
+    public Automata copy() {
+        List<AutomataLink> links = new ArrayList<>(automatas.length);
+        for (AutomataLink link : automatas) {
+            links.add(new AutomataLink(link.automata.copy(), link.skippable));
+        }
+        return new LinkedAutomata(links);
+    }
+
     public static class Builder {
-        private List<AutomataLink> links = new LinkedList<>();
+        private List<AutomataLink> links = new ArrayList<>();
 
         public Builder andThen(Automata automata) {
             links.add(new AutomataLink(automata, false));
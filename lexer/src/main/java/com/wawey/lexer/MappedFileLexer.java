@@ -0,0 +1,204 @@
+package com.wawey.lexer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Lexes a {@link MappedSource} in place, without loading the file into the heap.
+ * <p>
+ * ASCII bytes are fed straight to the {@link DFA}; multi-byte UTF-8 sequences, which the TS grammar only
+ * allows inside string literals, are decoded as they are found. Tokens are {@link MappedToken}s, so
+ * lexemes are not copied unless they are requested.
+ *
+ * @author Tomas Perez Molina
+ */
+public class MappedFileLexer {
+    private static final char REPLACEMENT = '\uFFFD';
+
+    private final DFA dfa;
+
+    public MappedFileLexer(DFA dfa) {
+        this.dfa = dfa;
+    }
+
+    public List<Token> lex(MappedSource source) {
+        List<Token> result = new ArrayList<>();
+        tokens(source).forEachRemaining(result::add);
+        return Collections.unmodifiableList(result);
+    }
+
+    public Iterator<Token> tokens(MappedSource source) {
+        return new MappedTokenIterator(dfa, source);
+    }
+
+    private static class MappedTokenIterator implements Iterator<Token> {
+        private final DFA dfa;
+        private final MappedSource source;
+        private final long size;
+        private final char[] decoded = new char[2];
+        private long position = 0;
+        private int line = 1;
+        private int column = 1;
+        private boolean finished = false;
+
+        MappedTokenIterator(DFA dfa, MappedSource source) {
+            this.dfa = dfa;
+            this.source = source;
+            this.size = source.size();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !finished;
+        }
+
+        @Override
+        public Token next() {
+            if (finished) throw new NoSuchElementException();
+            while (position < size) {
+                int state = dfa.getInitialState();
+                long acceptedEnd = -1;
+                int acceptedWidth = 0;
+                TokenType acceptedType = null;
+                long offset = position;
+                int width = 0;
+                scan:
+                while (offset < size) {
+                    byte b = source.get(offset);
+                    if (b >= 0) {
+                        state = dfa.transition(state, (char) b);
+                        if (state == DFA.DEAD) break;
+                        long runEnd = skipLoop(state, offset + 1);
+                        width += (int) (runEnd - offset);
+                        offset = runEnd;
+                    } else {
+                        int sequenceLength = decode(offset);
+                        int chars = decoded[1] == 0 ? 1 : 2;
+                        for (int i = 0; i < chars; i++) {
+                            state = dfa.transition(state, decoded[i]);
+                            if (state == DFA.DEAD) break scan;
+                        }
+                        offset += sequenceLength;
+                        width += chars;
+                    }
+                    TokenType type = dfa.getAcceptedType(state);
+                    if (type != null) {
+                        acceptedEnd = offset;
+                        acceptedWidth = width;
+                        acceptedType = type;
+                    }
+                }
+                if (acceptedType == null) {
+                    byte b = source.get(position);
+                    char c = b >= 0 ? (char) b : firstDecodedChar(position);
+                    throw new UnknownCharacterException(c, line, column);
+                }
+                long start = position;
+                position = acceptedEnd;
+                switch (acceptedType) {
+                    case SPACE:
+                        column += acceptedWidth;
+                        break;
+                    case NEWLINE:
+                        line++;
+                        column = 1;
+                        break;
+                    default:
+                        Token token = new MappedToken(source, acceptedType, start, (int) (acceptedEnd - start), line, column, acceptedWidth);
+                        column += acceptedWidth;
+                        return token;
+                }
+            }
+            finished = true;
+            return new MappedToken(source, TokenType.EOF, position, 0, line, column, 0);
+        }
+
+        /**
+         * Skips the ASCII bytes from offset on that loop on state. Runs of a single char, such as
+         * indentation, are compared 8 bytes at a time.
+         */
+        private long skipLoop(int state, long offset) {
+            long low = dfa.getLoopLow(state);
+            long high = dfa.getLoopHigh(state);
+            if ((low | high) == 0) return offset;
+            int single = dfa.singleLoopChar(state);
+            if (single >= 0) {
+                long pattern = single * 0x0101010101010101L;
+                while (offset + Long.BYTES <= size && source.getLong(offset) == pattern) {
+                    offset += Long.BYTES;
+                }
+            }
+            while (offset < size) {
+                byte b = source.get(offset);
+                if (b < 0 || ((b < 64 ? low : high) & (1L << b)) == 0) break;
+                offset++;
+            }
+            return offset;
+        }
+
+        private char firstDecodedChar(long offset) {
+            decode(offset);
+            return decoded[0];
+        }
+
+        /**
+         * Decodes the UTF-8 sequence starting at offset into {@code decoded}, leaving 0 as the second
+         * char unless a surrogate pair is needed. Malformed input decodes to U+FFFD the way
+         * {@code new String(bytes, UTF_8)} does: one per invalid byte, or per start of a valid sequence cut
+         * short, and one for a whole sequence that encodes a surrogate. Overlong encodings are invalid from
+         * their second byte on, or their first for 2 byte ones.
+         *
+         * @return the length in bytes of the sequence, or of the malformed input replaced
+         */
+        private int decode(long offset) {
+            int lead = source.get(offset) & 0xFF;
+            int length;
+            int codePoint;
+            int secondLow = 0x80;
+            int secondHigh = 0xBF;
+            if (lead >= 0xC2 && lead <= 0xDF) {
+                length = 2;
+                codePoint = lead & 0x1F;
+            } else if (lead >= 0xE0 && lead <= 0xEF) {
+                length = 3;
+                codePoint = lead & 0x0F;
+                if (lead == 0xE0) secondLow = 0xA0;
+            } else if (lead >= 0xF0 && lead <= 0xF4) {
+                length = 4;
+                codePoint = lead & 0x07;
+                if (lead == 0xF0) secondLow = 0x90;
+                if (lead == 0xF4) secondHigh = 0x8F;
+            } else {
+                return replace(1);
+            }
+            for (int i = 1; i < length; i++) {
+                if (offset + i >= size) return replace(i);
+                int continuation = source.get(offset + i) & 0xFF;
+                int low = i == 1 ? secondLow : 0x80;
+                int high = i == 1 ? secondHigh : 0xBF;
+                if (continuation < low || continuation > high) return replace(i);
+                codePoint = (codePoint << 6) | (continuation & 0x3F);
+            }
+            if (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE) {
+                return replace(length);
+            }
+            if (Character.isBmpCodePoint(codePoint)) {
+                decoded[0] = (char) codePoint;
+                decoded[1] = 0;
+            } else {
+                decoded[0] = Character.highSurrogate(codePoint);
+                decoded[1] = Character.lowSurrogate(codePoint);
+            }
+            return length;
+        }
+
+        private int replace(int length) {
+            decoded[0] = REPLACEMENT;
+            decoded[1] = 0;
+            return length;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.wawey.lexer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * UTF-8 source file mapped into memory, addressed by long byte offsets.
+ * <p>
+ * A single {@link MappedByteBuffer} cannot go past 2 GB, so the file is mapped as consecutive regions.
+ *
+ * @author Tomas Perez Molina
+ */
+public class MappedSource implements Closeable {
+    static final int DEFAULT_REGION_SHIFT = 30;
+
+    private final FileChannel channel;
+    private final long size;
+    private final int regionShift;
+    private final long regionMask;
+    private final MappedByteBuffer[] regions;
+
+    /**
+     * Takes ownership of channel, which is closed if the file cannot be mapped.
+     */
+    MappedSource(FileChannel channel, int regionShift) throws IOException {
+        try {
+            if (regionShift < 0 || regionShift > 30)
+                throw new IllegalArgumentException("Regions must fit in a MappedByteBuffer");
+            long regionSize = 1L << regionShift;
+            this.channel = channel;
+            this.size = channel.size();
+            this.regionShift = regionShift;
+            this.regionMask = regionSize - 1;
+            this.regions = new MappedByteBuffer[(int) ((size + regionSize - 1) / regionSize)];
+            for (int i = 0; i < regions.length; i++) {
+                long start = i * regionSize;
+                regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(regionSize, size - start));
+            }
+        } catch (IOException | RuntimeException exc) {
+            try {
+                channel.close();
+            } catch (IOException closeExc) {
+                exc.addSuppressed(closeExc);
+            }
+            throw exc;
+        }
+    }
+
+    public static MappedSource open(Path file) throws IOException {
+        return new MappedSource(FileChannel.open(file, StandardOpenOption.READ), DEFAULT_REGION_SHIFT);
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public byte get(long offset) {
+        return regions[(int) (offset >>> regionShift)].get((int) (offset & regionMask));
+    }
+
+    /**
+     * @return the 8 bytes from offset on, big endian
+     */
+    public long getLong(long offset) {
+        MappedByteBuffer region = regions[(int) (offset >>> regionShift)];
+        int index = (int) (offset & regionMask);
+        if (index + Long.BYTES <= region.limit()) return region.getLong(index);
+        long result = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            result = result << 8 | (get(offset + i) & 0xFF);
+        }
+        return result;
+    }
+
+    public String decode(long offset, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Closes the file. Regions stay readable until they are garbage collected, so tokens keep working.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,85 @@
+package com.wawey.lexer;
+
+import java.util.Objects;
+
+/**
+ * Token pointing into a {@link MappedSource}. Its lexeme is only decoded when requested.
+ *
+ * @author Tomas Perez Molina
+ */
+public class MappedToken implements Token {
+    private final MappedSource source;
+    private final TokenType type;
+    private final long offset;
+    private final int length;
+    private final int line;
+    private final int startColumn;
+    private final int width;
+
+    /**
+     * @param width length of the token in chars, which differs from its length in bytes for non ASCII text
+     */
+    public MappedToken(MappedSource source, TokenType type, long offset, int length, int line, int startColumn, int width) {
+        this.source = source;
+        this.type = type;
+        this.offset = offset;
+        this.length = length;
+        this.line = line;
+        this.startColumn = startColumn;
+        this.width = width;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public TokenType getType() {
+        return type;
+    }
+
+    @Override
+    public String getLexeme() {
+        return type.isFixed() ? type.getLexeme() : source.decode(offset, length);
+    }
+
+    @Override
+    public int getStartColumn() {
+        return startColumn;
+    }
+
+    @Override
+    public int getEndColumn() {
+        return startColumn + width;
+    }
+
+    @Override
+    public int getLine() {
+        return line;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Token)) return false;
+        Token token = (Token) o;
+        return startColumn == token.getStartColumn() &&
+                line == token.getLine() &&
+                type == token.getType() &&
+                Objects.equals(getLexeme(), token.getLexeme());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, getLexeme(), startColumn, line);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Token(type=%s, lexeme=%s, line=%d, col=%d)", type, getLexeme(), line, startColumn);
+    }
+}
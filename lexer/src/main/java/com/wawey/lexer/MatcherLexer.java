@@ -2,96 +2,116 @@ package com.wawey.lexer;
 
 import com.google.common.collect.ImmutableList;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
+/**
+ * Runs every matcher over the input until all but one drop out.
+ * <p>
+ * Matchers are stateful, so the lexer keeps copies of the ones it is built with and never runs them: each
+ * {@link #lex(String)} runs its own {@link TokenMatcher#copy() copies}, which share the automata states
+ * and tables and only hold where their match is. The lexer can be shared between threads.
+ */
 public class MatcherLexer implements Lexer {
     private final List<TokenMatcher> matchers;
 
     public MatcherLexer(TokenMatcher... matchers) {
-        this.matchers = Arrays.asList(matchers);
+        this(Arrays.asList(matchers));
     }
 
     public MatcherLexer(List<TokenMatcher> matchers) {
-        this.matchers = matchers;
+        this.matchers = Collections.unmodifiableList(copies(matchers));
     }
 
     @Override
     public List<Token> lex(String input) {
-        LexerState state = LexerState.initialState();
-        for (char c : input.toCharArray()) {
+        List<TokenMatcher> matchers = copies(this.matchers);
+        LexerState state = new LexerState(new LineTable(input));
+        List<TokenMatcher> alreadyMatching = new ArrayList<>(matchers.size());
+        List<TokenMatcher> matchersForChar = new ArrayList<>(matchers.size());
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
             boolean tryAgain;
             do {
                 tryAgain = false;
                 boolean noPreviousMatch = false;
-                List<TokenMatcher> alreadyMatching = matchers.stream()
-                        .filter(TokenMatcher::isMatching)
-                        .collect(Collectors.toList());
+                collectMatching(matchers, alreadyMatching);
                 if (alreadyMatching.size() == 0) {
                     noPreviousMatch = true;
-                    alreadyMatching = matchers;
+                    for (TokenMatcher matcher : matchers) {
+                        matcher.startAt(input, i);
+                    }
+                    alreadyMatching.addAll(matchers);
+                }
+                matchersForChar.clear();
+                for (TokenMatcher matcher : alreadyMatching) {
+                    if (matcher.match(c)) matchersForChar.add(matcher);
                 }
-                List<TokenMatcher> matchersForChar = alreadyMatching.stream()
-                        .filter(m -> m.match(c))
-                        .collect(Collectors.toList());
                 if (matchersForChar.size() == 0 && (alreadyMatching.size() == 0 || noPreviousMatch)) {
-                    throw new UnknownCharacterException(c, state.line, state.column);
+                    throw new UnknownCharacterException(c, state.lines.getLine(state.offset), state.lines.getColumn(state.offset));
                 } else if (matchersForChar.size() == 0) {
-                    Token token = buildToken(state.line, state.column, alreadyMatching);
-                    state = state.addToken(token);
+                    state.addToken(buildToken(matchers, alreadyMatching));
                     tryAgain = true;
                 }
             } while (tryAgain);
         }
-        List<TokenMatcher> alreadyMatching = matchers.stream()
-                .filter(TokenMatcher::isMatching)
-                .collect(Collectors.toList());
+        collectMatching(matchers, alreadyMatching);
         if (alreadyMatching.size() > 0) {
-            Token token = buildToken(state.line, state.column, alreadyMatching);
-            state = state.addToken(token);
+            state.addToken(buildToken(matchers, alreadyMatching));
         }
-        Token eof = new TokenImpl(TokenType.EOF, "", state.line, state.column);
-        state = state.addToken(eof);
-        return state.result;
+        state.addToken(TokenType.EOF, "");
+        return ImmutableList.copyOf(state.result);
     }
 
-    private Token buildToken(int line, int startColumn, List<TokenMatcher> alreadyMatching) {
+    private static List<TokenMatcher> copies(List<TokenMatcher> matchers) {
+        List<TokenMatcher> result = new ArrayList<>(matchers.size());
+        for (TokenMatcher matcher : matchers) {
+            result.add(matcher.copy());
+        }
+        return result;
+    }
+
+    private static void collectMatching(List<TokenMatcher> matchers, List<TokenMatcher> into) {
+        into.clear();
+        for (TokenMatcher matcher : matchers) {
+            if (matcher.isMatching()) into.add(matcher);
+        }
+    }
+
+    private static BasicToken buildToken(List<TokenMatcher> matchers, List<TokenMatcher> alreadyMatching) {
         TokenMatcher matcher = alreadyMatching.stream().filter(TokenMatcher::acceptable).findFirst().get();
         BasicToken basicToken = matcher.getBasicToken();
         matchers.forEach(TokenMatcher::reset);
-        return new TokenImpl(basicToken, line, startColumn);
+        return basicToken;
     }
 
+    /**
+     * Offset of the lexer plus the tokens found so far, which are only ever appended.
+     */
     private static class LexerState {
-        final int line;
-        final int column;
-        final List<Token> result;
+        final LineTable lines;
+        final SymbolTable symbols = new SymbolTable();
+        final List<Token> result = new ArrayList<>();
+        int offset = 0;
 
-        LexerState(int line, int column, List<Token> result) {
-            this.line = line;
-            this.column = column;
-            this.result = result;
+        LexerState(LineTable lines) {
+            this.lines = lines;
         }
 
-        LexerState addToken(Token token) {
-            switch (token.getType()) {
-                case SPACE:
-                    return new LexerState(line, column + token.getLexeme().length(), result);
-                case NEWLINE:
-                    return new LexerState(line + 1, 1, result);
-                default:
-                    final ImmutableList<Token> newResult =
-                            ImmutableList.<Token>builder()
-                                    .addAll(result)
-                                    .add(token)
-                                    .build();
-                    return new LexerState(line, column + token.getLexeme().length(), newResult);
-            }
+        void addToken(BasicToken token) {
+            addToken(token.getType(), token.getLexeme());
         }
 
-        static LexerState initialState() {
-            return new LexerState(1, 1, ImmutableList.of());
+        void addToken(TokenType type, String lexeme) {
+            if (type == TokenType.IDENTIFIER) {
+                int symbol = symbols.intern(lexeme);
+                result.add(new TokenImpl(type, symbols.getName(symbol), offset, lines, Double.NaN, symbol));
+            } else if (type != TokenType.SPACE && type != TokenType.NEWLINE) {
+                result.add(new TokenImpl(type, lexeme, offset, lines));
+            }
+            offset += lexeme.length();
         }
     }
 }
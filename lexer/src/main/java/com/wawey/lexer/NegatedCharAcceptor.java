@@ -0,0 +1,17 @@
+package com.wawey.lexer;
+
+/**
+ * @author Tomas Perez Molina
+ */
+public class NegatedCharAcceptor implements CharAcceptor {
+    private final CharAcceptor acceptor;
+
+    public NegatedCharAcceptor(CharAcceptor acceptor) {
+        this.acceptor = acceptor;
+    }
+
+    @Override
+    public boolean accepts(char c) {
+        return !acceptor.accepts(c);
+    }
+}
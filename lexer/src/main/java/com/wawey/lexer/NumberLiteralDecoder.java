@@ -0,0 +1,154 @@
+package com.wawey.lexer;
+
+import java.math.BigInteger;
+
+/**
+ * Decodes number literals ({@code 12}, {@code 0.5}, {@code 3.}) into correctly rounded doubles without
+ * going through {@link Double#parseDouble(String)} in the common case.
+ * <p>
+ * Literals with up to 19 significant digits are first tried with Clinger's fast path, exact when both the
+ * digits and the power of ten fit in a double, then with the Eisel-Lemire algorithm, which multiplies the
+ * digits by a 128 bit approximation of the power of ten. Whenever the result could be ambiguous, or the
+ * literal has more digits, it falls back to {@link Double#parseDouble(String)}.
+ *
+ * @author Tomas Perez Molina
+ */
+public class NumberLiteralDecoder {
+    private static final int MAX_DIGITS = 19;
+    private static final int MIN_EXPONENT = -342;
+    private static final int MAX_EXPONENT = 308;
+    private static final int MAX_FAST_EXPONENT = 22;
+    private static final long MAX_FAST_MANTISSA = 1L << 53;
+    private static final double[] FAST_POWERS = new double[MAX_FAST_EXPONENT + 1];
+    // 128 bit mantissas of the powers of ten, rounded down, as {high, low} pairs
+    private static final long[] POWERS = new long[2 * (MAX_EXPONENT - MIN_EXPONENT + 1)];
+
+    static {
+        double power = 1;
+        for (int i = 0; i <= MAX_FAST_EXPONENT; i++) {
+            FAST_POWERS[i] = power;
+            power *= 10;
+        }
+        BigInteger mask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+        for (int q = MIN_EXPONENT; q <= MAX_EXPONENT; q++) {
+            BigInteger mantissa;
+            if (q >= 0) {
+                BigInteger power5 = BigInteger.valueOf(5).pow(q);
+                int shift = power5.bitLength() - 128;
+                mantissa = shift > 0 ? power5.shiftRight(shift) : power5.shiftLeft(-shift);
+            } else {
+                BigInteger power5 = BigInteger.valueOf(5).pow(-q);
+                mantissa = BigInteger.ONE.shiftLeft(power5.bitLength() + 127).divide(power5);
+            }
+            int index = 2 * (q - MIN_EXPONENT);
+            POWERS[index] = mantissa.shiftRight(64).longValue();
+            POWERS[index + 1] = mantissa.and(mask).longValue();
+        }
+    }
+
+    private NumberLiteralDecoder() {
+    }
+
+    public static double decode(CharSequence literal) {
+        return decode(literal, 0, literal.length());
+    }
+
+    /**
+     * @throws NumberFormatException if the text between start and end is not digits with an optional point
+     */
+    public static double decode(CharSequence text, int start, int end) {
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean point = false;
+        boolean truncated = false;
+        if (start == end) throw new NumberFormatException("Empty number literal");
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '.' && !point) {
+                point = true;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                throw new NumberFormatException("Invalid number literal \"" + text.subSequence(start, end) + "\"");
+            }
+            if (digits == 0 && c == '0') {
+                if (point) exponent--;
+            } else if (digits < MAX_DIGITS) {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (point) exponent--;
+            } else {
+                truncated = true;
+                if (!point) exponent++;
+            }
+        }
+        if (mantissa == 0) return 0;
+        if (!truncated) {
+            // 19 digits may not fit in a signed long, mantissa is unsigned from here on
+            if (mantissa > 0 && mantissa <= MAX_FAST_MANTISSA && exponent >= -MAX_FAST_EXPONENT && exponent <= MAX_FAST_EXPONENT) {
+                return exponent >= 0 ? mantissa * FAST_POWERS[exponent] : mantissa / FAST_POWERS[-exponent];
+            }
+            long bits = eiselLemire(mantissa, exponent);
+            if (bits >= 0) return Double.longBitsToDouble(bits);
+        }
+        return Double.parseDouble(text.subSequence(start, end).toString());
+    }
+
+    /**
+     * @return the bits of the double closest to mantissa * 10^exponent, or -1 if they cannot be told for sure
+     */
+    static long eiselLemire(long mantissa, int exponent) {
+        if (exponent < MIN_EXPONENT || exponent > MAX_EXPONENT) return -1;
+        int leadingZeros = Long.numberOfLeadingZeros(mantissa);
+        mantissa <<= leadingZeros;
+        long exponent2 = ((217706L * exponent) >> 16) + 64 + 1023 - leadingZeros;
+
+        int index = 2 * (exponent - MIN_EXPONENT);
+        long powerHigh = POWERS[index];
+        long powerLow = POWERS[index + 1];
+        long high = unsignedMultiplyHigh(mantissa, powerHigh);
+        long low = mantissa * powerHigh;
+
+        // the low bits may be off by the truncated part of the power, check with the rest of it
+        if ((high & 0x1FF) == 0x1FF && Long.compareUnsigned(low + mantissa, mantissa) < 0) {
+            long restHigh = unsignedMultiplyHigh(mantissa, powerLow);
+            long restLow = mantissa * powerLow;
+            long mergedHigh = high;
+            long mergedLow = low + restHigh;
+            if (Long.compareUnsigned(mergedLow, low) < 0) mergedHigh++;
+            if ((mergedHigh & 0x1FF) == 0x1FF && mergedLow == -1 && Long.compareUnsigned(restLow + mantissa, mantissa) < 0) {
+                return -1;
+            }
+            high = mergedHigh;
+            low = mergedLow;
+        }
+
+        long msb = high >>> 63;
+        long result = high >>> (msb + 9);
+        exponent2 -= 1 ^ msb;
+
+        // exactly halfway between two doubles
+        if (low == 0 && (high & 0x1FF) == 0 && (result & 3) == 1) return -1;
+
+        result += result & 1;
+        result >>>= 1;
+        if ((result >>> 53) > 0) {
+            result >>>= 1;
+            exponent2++;
+        }
+        // subnormal, infinite or NaN
+        if (Long.compareUnsigned(exponent2 - 1, 0x7FF - 1) >= 0) return -1;
+        return exponent2 << 52 | (result & 0x000FFFFFFFFFFFFFL);
+    }
+
+    private static long unsignedMultiplyHigh(long x, long y) {
+        long x0 = x & 0xFFFFFFFFL;
+        long x1 = x >>> 32;
+        long y0 = y & 0xFFFFFFFFL;
+        long y1 = y >>> 32;
+        long t = x1 * y0 + ((x0 * y0) >>> 32);
+        long middle = x0 * y1 + (t & 0xFFFFFFFFL);
+        return x1 * y1 + (t >>> 32) + (middle >>> 32);
+    }
+}
@@ -0,0 +1,133 @@
+package com.wawey.lexer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+/**
+ * Splits large inputs into chunks that are lexed in parallel by a {@link DFALexer}.
+ * <p>
+ * Chunks always start right after a '\n'. That is only a token boundary when the only tokens that may
+ * contain a '\n' are newlines, which holds for the TS tokens: string literals cannot span lines.
+ * The result is the same list the wrapped lexer returns, errors included: if several chunks fail, the
+ * error of the first one is thrown.
+ * <p>
+ * Each chunk interns its identifiers into a table of its own. The tables are then merged in order, so
+ * symbol ids come out the same as when lexing sequentially.
+ *
+ * @author Tomas Perez Molina
+ */
+public class ParallelLexer implements Lexer {
+    static final int DEFAULT_MIN_CHUNK_SIZE = 1 << 16;
+
+    private final DFALexer lexer;
+    private final ForkJoinPool pool;
+    private final int minChunkSize;
+
+    public ParallelLexer(DFALexer lexer) {
+        this(lexer, ForkJoinPool.commonPool());
+    }
+
+    public ParallelLexer(DFALexer lexer, ForkJoinPool pool) {
+        this(lexer, pool, DEFAULT_MIN_CHUNK_SIZE);
+    }
+
+    ParallelLexer(DFALexer lexer, ForkJoinPool pool, int minChunkSize) {
+        this.lexer = lexer;
+        this.pool = pool;
+        this.minChunkSize = Math.max(minChunkSize, 1);
+    }
+
+    @Override
+    public List<Token> lex(String input) {
+        return lex(input, new SymbolTable());
+    }
+
+    public List<Token> lex(String input, SymbolTable symbols) {
+        List<Chunk> chunks = split(input);
+        if (chunks.size() == 1) return lexer.lex(input, symbols);
+
+        LineTable lines = new LineTable(input);
+        runAll(chunks, chunk -> chunk.lex(input, chunk == chunks.get(chunks.size() - 1), lines));
+
+        int tokenCount = 0;
+        for (Chunk chunk : chunks) {
+            if (chunk.error != null) throw chunk.error;
+            tokenCount += chunk.tokens.size();
+        }
+        for (Chunk chunk : chunks) {
+            chunk.mapSymbols(symbols);
+        }
+        runAll(chunks, chunk -> chunk.remapSymbols(symbols));
+        List<Token> result = new ArrayList<>(tokenCount);
+        chunks.forEach(chunk -> result.addAll(chunk.tokens));
+        return Collections.unmodifiableList(result);
+    }
+
+    private void runAll(List<Chunk> chunks, Consumer<Chunk> action) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks.size());
+        for (Chunk chunk : chunks) {
+            tasks.add(pool.submit(() -> action.accept(chunk)));
+        }
+        tasks.forEach(ForkJoinTask::join);
+    }
+
+    private List<Chunk> split(String input) {
+        int length = input.length();
+        int chunkCount = Math.max(1, Math.min(pool.getParallelism(), length / minChunkSize));
+        List<Chunk> chunks = new ArrayList<>(chunkCount);
+        int start = 0;
+        for (int i = 1; i < chunkCount && start < length; i++) {
+            int target = Math.max(start, (int) ((long) length * i / chunkCount));
+            int newline = input.indexOf('\n', target);
+            if (newline < 0) break;
+            chunks.add(new Chunk(start, newline + 1));
+            start = newline + 1;
+        }
+        chunks.add(new Chunk(start, length));
+        return chunks;
+    }
+
+    private class Chunk {
+        final int start;
+        final int end;
+        final SymbolTable localSymbols = new SymbolTable();
+        int[] symbolMap;
+        List<Token> tokens;
+        RuntimeException error;
+
+        Chunk(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        void lex(String input, boolean eof, LineTable lines) {
+            try {
+                List<Token> result = new ArrayList<>();
+                lexer.lexRange(input, start, end, eof, lines, localSymbols, result);
+                tokens = result;
+            } catch (RuntimeException e) {
+                error = e;
+            }
+        }
+
+        void mapSymbols(SymbolTable symbols) {
+            symbolMap = new int[localSymbols.size()];
+            for (int i = 0; i < symbolMap.length; i++) {
+                symbolMap[i] = symbols.intern(localSymbols.getName(i));
+            }
+        }
+
+        void remapSymbols(SymbolTable symbols) {
+            for (int i = 0; i < tokens.size(); i++) {
+                Token token = tokens.get(i);
+                if (token.getType() != TokenType.IDENTIFIER) continue;
+                int symbol = symbolMap[token.getSymbol()];
+                tokens.set(i, new TokenImpl(TokenType.IDENTIFIER, symbols.getName(symbol), token.getStart(), token.getLineTable(), Double.NaN, symbol));
+            }
+        }
+    }
+}
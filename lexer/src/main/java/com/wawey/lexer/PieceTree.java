@@ -0,0 +1,277 @@
+package com.wawey.lexer;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Persistent list made of pieces of elements sorted by an int key, such as tokens by their offset, where a
+ * range can be replaced and everything after it moved in time logarithmic in the number of pieces.
+ * <p>
+ * The pieces are kept in a treap. Moving a subtree only records the shift on its root, and every edit copies
+ * just the paths to where it splits and joins, so versions of the list share all the pieces they have in
+ * common. Small pieces next to an edit are copied into one, so typing at one place does not keep splitting
+ * the list.
+ *
+ * @author Tomas Perez Molina
+ */
+final class PieceTree<P extends PieceTree.Piece<P, T>, T> {
+    private static final int MERGE_SIZE = 256;
+
+    private final Node<P> root;
+
+    private PieceTree(Node<P> root) {
+        this.root = root;
+    }
+
+    static <P extends Piece<P, T>, T> PieceTree<P, T> of(P piece) {
+        return new PieceTree<>(leaf(piece));
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    /**
+     * @return the element at index, after every move of it
+     */
+    T get(int index) {
+        Node<P> node = root;
+        int shift = 0;
+        LineTable lines = null;
+        while (true) {
+            shift += node.shift;
+            if (lines == null) lines = node.lines;
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+                continue;
+            }
+            index -= leftSize;
+            if (index < node.piece.size()) return node.piece.get(index, shift, lines);
+            index -= node.piece.size();
+            node = node.right;
+        }
+    }
+
+    /**
+     * @return the key of the element at index, after every move of it
+     */
+    int keyAt(int index) {
+        Node<P> node = root;
+        int shift = 0;
+        while (true) {
+            shift += node.shift;
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+                continue;
+            }
+            index -= leftSize;
+            if (index < node.piece.size()) return node.piece.key(index) + shift;
+            index -= node.piece.size();
+            node = node.right;
+        }
+    }
+
+    /**
+     * @return how many elements have a key below key
+     */
+    int countBelow(int key) {
+        Node<P> node = root;
+        int shift = 0;
+        int count = 0;
+        while (node != null) {
+            shift += node.shift;
+            if (key <= node.piece.key(0) + shift) {
+                node = node.left;
+                continue;
+            }
+            count += size(node.left);
+            int below = node.piece.countBelow(key - shift);
+            count += below;
+            if (below < node.piece.size()) return count;
+            node = node.right;
+        }
+        return count;
+    }
+
+    /**
+     * @return this list with the elements from first up to resumed replaced by the ones of replacement, and the
+     * ones after them moved by shift into lines
+     */
+    PieceTree<P, T> edited(int first, P replacement, int resumed, int shift, LineTable lines) {
+        Node<P> before = take(root, first);
+        Node<P> after = moved(drop(root, resumed), shift, lines);
+        P last = lastPiece(before);
+        if (last != null && last.size() + replacement.size() <= MERGE_SIZE) {
+            before = take(before, size(before) - last.size());
+            replacement = last.append(replacement);
+        }
+        P next = firstPiece(after);
+        if (next != null && replacement.size() + next.size() <= MERGE_SIZE) {
+            after = drop(after, next.size());
+            replacement = replacement.append(next);
+        }
+        return new PieceTree<>(join(join(before, leaf(replacement)), after));
+    }
+
+    private static <P extends Piece<P, ?>> Node<P> leaf(P piece) {
+        if (piece.size() == 0) return null;
+        return new Node<>(null, piece, null, ThreadLocalRandom.current().nextInt(), 0, null);
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static <P extends Piece<P, ?>> Node<P> moved(Node<P> node, int shift, LineTable lines) {
+        if (node == null) return null;
+        return new Node<>(node.left, node.piece, node.right, node.priority, node.shift + shift, lines != null ? lines : node.lines);
+    }
+
+    /**
+     * @return node with its move handed down to its piece and children, so they can be taken apart
+     */
+    private static <P extends Piece<P, ?>> Node<P> pushed(Node<P> node) {
+        if (node.shift == 0 && node.lines == null) return node;
+        return new Node<>(
+                moved(node.left, node.shift, node.lines),
+                node.piece.moved(node.shift, node.lines),
+                moved(node.right, node.shift, node.lines),
+                node.priority,
+                0,
+                null
+        );
+    }
+
+    /**
+     * @return the first count elements of node
+     */
+    private static <P extends Piece<P, ?>> Node<P> take(Node<P> node, int count) {
+        if (node == null || count <= 0) return null;
+        if (count >= node.size) return node;
+        node = pushed(node);
+        int leftSize = size(node.left);
+        if (count <= leftSize) return take(node.left, count);
+        int pieceSize = node.piece.size();
+        if (count - leftSize < pieceSize) {
+            return new Node<>(node.left, node.piece.slice(0, count - leftSize), null, node.priority, 0, null);
+        }
+        return new Node<>(node.left, node.piece, take(node.right, count - leftSize - pieceSize), node.priority, 0, null);
+    }
+
+    /**
+     * @return the elements of node after the first count
+     */
+    private static <P extends Piece<P, ?>> Node<P> drop(Node<P> node, int count) {
+        if (node == null || count >= node.size) return null;
+        if (count <= 0) return node;
+        node = pushed(node);
+        int leftSize = size(node.left);
+        int pieceSize = node.piece.size();
+        if (count >= leftSize + pieceSize) return drop(node.right, count - leftSize - pieceSize);
+        if (count > leftSize) {
+            P rest = node.piece.slice(count - leftSize, pieceSize - (count - leftSize));
+            return new Node<>(null, rest, node.right, node.priority, 0, null);
+        }
+        return new Node<>(drop(node.left, count), node.piece, node.right, node.priority, 0, null);
+    }
+
+    private static <P extends Piece<P, ?>> Node<P> join(Node<P> left, Node<P> right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority >= right.priority) {
+            left = pushed(left);
+            return new Node<>(left.left, left.piece, join(left.right, right), left.priority, 0, null);
+        }
+        right = pushed(right);
+        return new Node<>(join(left, right.left), right.piece, right.right, right.priority, 0, null);
+    }
+
+    private static <P extends Piece<P, ?>> P firstPiece(Node<P> node) {
+        if (node == null) return null;
+        int shift = 0;
+        LineTable lines = null;
+        while (true) {
+            shift += node.shift;
+            if (lines == null) lines = node.lines;
+            if (node.left == null) return node.piece.moved(shift, lines);
+            node = node.left;
+        }
+    }
+
+    private static <P extends Piece<P, ?>> P lastPiece(Node<P> node) {
+        if (node == null) return null;
+        int shift = 0;
+        LineTable lines = null;
+        while (true) {
+            shift += node.shift;
+            if (lines == null) lines = node.lines;
+            if (node.right == null) return node.piece.moved(shift, lines);
+            node = node.right;
+        }
+    }
+
+    /**
+     * Immutable run of elements, which may stand for elements of another one moved into another source.
+     */
+    interface Piece<P, T> {
+        int size();
+
+        /**
+         * @return the key of the element at index, growing with the index
+         */
+        int key(int index);
+
+        /**
+         * @return the element at index, moved further by shift and into lines if they are not null
+         */
+        T get(int index, int shift, LineTable lines);
+
+        P slice(int from, int length);
+
+        /**
+         * @return this piece moved further by shift, and into lines if they are not null
+         */
+        P moved(int shift, LineTable lines);
+
+        /**
+         * @return a new piece with the elements of this one followed by the ones of next
+         */
+        P append(P next);
+
+        default int countBelow(int key) {
+            int low = 0;
+            int high = size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (key(middle) < key) low = middle + 1;
+                else high = middle;
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Piece between two subtrees. Shift and lines move the whole subtree, on top of any move of its nodes;
+     * a table set closer to the root is newer and replaces the ones below it.
+     */
+    private static final class Node<P extends Piece<P, ?>> {
+        final Node<P> left;
+        final P piece;
+        final Node<P> right;
+        final int priority;
+        final int shift;
+        final LineTable lines;
+        final int size;
+
+        Node(Node<P> left, P piece, Node<P> right, int priority, int shift, LineTable lines) {
+            this.left = left;
+            this.piece = piece;
+            this.right = right;
+            this.priority = priority;
+            this.shift = shift;
+            this.lines = lines;
+            this.size = size(left) + piece.size() + size(right);
+        }
+    }
+}
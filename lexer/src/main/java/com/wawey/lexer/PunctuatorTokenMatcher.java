@@ -0,0 +1,77 @@
+package com.wawey.lexer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Matches every single char token at once, looking the char up in a table indexed by its ASCII code.
+ *
+ * @author Tomas Perez Molina
+ */
+public class PunctuatorTokenMatcher implements TokenMatcher {
+    private final List<TokenType> punctuators;
+    private final TokenType[] table;
+    private TokenType matched = null;
+
+    public PunctuatorTokenMatcher(Collection<TokenType> punctuators) {
+        this.punctuators = Collections.unmodifiableList(new ArrayList<>(punctuators));
+        this.table = new TokenType[128];
+        for (TokenType punctuator : punctuators) {
+            String lexeme = punctuator.getLexeme();
+            if (!punctuator.isFixed() || lexeme.length() != 1 || lexeme.charAt(0) >= table.length)
+                throw new IllegalArgumentException(punctuator + " is not a single ASCII char token");
+            table[lexeme.charAt(0)] = punctuator;
+        }
+    }
+
+    private PunctuatorTokenMatcher(PunctuatorTokenMatcher other) {
+        this.punctuators = other.punctuators;
+        this.table = other.table;
+    }
+
+    List<TokenType> getPunctuators() {
+        return punctuators;
+    }
+
+    /**
+     * @return the token type for c, or null if c is not a punctuator
+     */
+    public TokenType lookup(char c) {
+        return c < table.length ? table[c] : null;
+    }
+
+    @Override
+    public boolean isMatching() {
+        return matched != null;
+    }
+
+    @Override
+    public boolean match(char c) {
+        if (matched != null) return false;
+        matched = lookup(c);
+        return matched != null;
+    }
+
+    @Override
+    public boolean acceptable() {
+        return matched != null;
+    }
+
+    @Override
+    public BasicToken getBasicToken() {
+        if (matched == null) throw new IllegalStateException("No punctuator matched");
+        return new BasicTokenImpl(matched, matched.getLexeme());
+    }
+
+    @Override
+    public TokenMatcher copy() {
+        return new PunctuatorTokenMatcher(this);
+    }
+
+    @Override
+    public void reset() {
+        matched = null;
+    }
+}
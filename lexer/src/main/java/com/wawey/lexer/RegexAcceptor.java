@@ -1,17 +1,19 @@
 package com.wawey.lexer;
 
+import java.util.regex.Pattern;
+
 /**
  * @author Tomas Perez Molina
  */
 public class RegexAcceptor implements CharAcceptor{
-    private final String regex;
+    private final Pattern pattern;
 
     public RegexAcceptor(String regex) {
-        this.regex = regex;
+        this.pattern = Pattern.compile(regex);
     }
 
     @Override
     public boolean accepts(char c) {
-        return ("" + c).matches(regex);
+        return pattern.matcher(String.valueOf(c)).matches();
     }
 }
@@ -0,0 +1,25 @@
+package com.wawey.lexer;
+
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+
+/**
+ * Lexer that can pull its input on demand, producing tokens as they are requested instead of
+ * materializing the whole token list.
+ *
+ * @author Tomas Perez Molina
+ */
+public interface StreamingLexer extends Lexer {
+    /**
+     * Tokens are read lazily from the reader, ending with an {@link TokenType#EOF} token.
+     * I/O errors are rethrown as {@link java.io.UncheckedIOException}.
+     */
+    Iterator<Token> tokens(Reader input);
+
+    default Iterator<Token> tokens(ReadableByteChannel input, Charset charset) {
+        return tokens(Channels.newReader(input, charset.newDecoder(), -1));
+    }
+}
@@ -0,0 +1,122 @@
+package com.wawey.lexer;
+
+import java.util.Arrays;
+
+/**
+ * Interns the identifiers of a compilation, giving each distinct name a dense id starting at 0.
+ * <p>
+ * Names are looked up straight from the source chars, so an identifier only becomes a {@link String}
+ * the first time it is seen; later occurrences share that instance. A table is meant to be filled by
+ * one thread at a time.
+ *
+ * @author Tomas Perez Molina
+ */
+public class SymbolTable {
+    public static final int NO_SYMBOL = -1;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int[] hashes = new int[INITIAL_CAPACITY];
+    private int[] slots = new int[INITIAL_CAPACITY * 2];
+    private int size = 0;
+
+    public int intern(String name) {
+        return intern(name, 0, name.length());
+    }
+
+    /**
+     * @return the id of the chars of source from start to end
+     */
+    public int intern(CharSequence source, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + source.charAt(i);
+        }
+        int mask = slots.length - 1;
+        for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+            int id = slots[slot] - 1;
+            if (id < 0) return add(source.subSequence(start, end).toString(), hash, slot);
+            if (hashes[id] == hash && matches(names[id], source, start, end)) return id;
+        }
+    }
+
+    public int intern(char[] source, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + source[i];
+        }
+        int mask = slots.length - 1;
+        for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+            int id = slots[slot] - 1;
+            if (id < 0) return add(new String(source, start, end - start), hash, slot);
+            if (hashes[id] == hash && matches(names[id], source, start, end)) return id;
+        }
+    }
+
+    /**
+     * @return the id of name, or {@link #NO_SYMBOL} if it was never interned
+     */
+    public int lookup(String name) {
+        int hash = name.hashCode();
+        int mask = slots.length - 1;
+        for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+            int id = slots[slot] - 1;
+            if (id < 0) return NO_SYMBOL;
+            if (hashes[id] == hash && names[id].equals(name)) return id;
+        }
+    }
+
+    public String getName(int id) {
+        if (id < 0 || id >= size) throw new IndexOutOfBoundsException("Symbol: " + id + ", size: " + size);
+        return names[id];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int add(String name, int hash, int slot) {
+        int id = size++;
+        if (id == names.length) {
+            names = Arrays.copyOf(names, id * 2);
+            hashes = Arrays.copyOf(hashes, id * 2);
+        }
+        names[id] = name;
+        hashes[id] = hash;
+        slots[slot] = id + 1;
+        if (size * 2 > slots.length) rehash();
+        return id;
+    }
+
+    private void rehash() {
+        int[] rehashed = new int[slots.length * 2];
+        int mask = rehashed.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = mix(hashes[id]) & mask;
+            while (rehashed[slot] != 0) slot = (slot + 1) & mask;
+            rehashed[slot] = id + 1;
+        }
+        slots = rehashed;
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean matches(String name, CharSequence source, int start, int end) {
+        if (name.length() != end - start) return false;
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != source.charAt(start + i)) return false;
+        }
+        return true;
+    }
+
+    private static boolean matches(String name, char[] source, int start, int end) {
+        if (name.length() != end - start) return false;
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != source[start + i]) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,49 @@
+package com.wawey.lexer;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Process wide {@link DFA} for the TS tokens.
+ * <p>
+ * The build serializes the tables to a resource next to this class, which is read the first time they are
+ * needed. When the resource is missing, as when running from sources, the DFA is compiled from
+ * {@link TSTokenDefinitions} instead.
+ *
+ * @author Tomas Perez Molina
+ */
+final class TSLexerTables {
+    static final String RESOURCE = "ts-lexer.dfa";
+
+    private TSLexerTables() {
+    }
+
+    static DFA dfa() {
+        return Holder.DFA;
+    }
+
+    static DFALexer lexer() {
+        return Holder.LEXER;
+    }
+
+    static DFA compile() {
+        return new DFACompiler().compile(TSTokenDefinitions.matchers(new AutomataFactory()));
+    }
+
+    static DFA load() {
+        try (InputStream in = TSLexerTables.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) return compile();
+            return new DFASerializer().read(new DataInputStream(new BufferedInputStream(in)));
+        } catch (IOException exc) {
+            throw new UncheckedIOException(exc);
+        }
+    }
+
+    private static class Holder {
+        static final DFA DFA = load();
+        static final DFALexer LEXER = new DFALexer(DFA);
+    }
+}
@@ -0,0 +1,92 @@
+package com.wawey.lexer;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The tokens of the TS lexer, as matchers in priority order.
+ * <p>
+ * Kept apart from {@link LexerFactory} so the scanner generator can be built from them before the
+ * generated scanner exists.
+ *
+ * @author Tomas Perez Molina
+ */
+class TSTokenDefinitions {
+    private TSTokenDefinitions() {
+    }
+
+    static List<TokenMatcher> matchers(AutomataFactory factory) {
+        List<TokenType> fixedTypes = Arrays.stream(TokenType.values())
+                .filter(TokenType::isFixed)
+                .collect(Collectors.toList());
+        List<TokenType> keywords = fixedTypes.stream()
+                .filter(t -> isIdentifier(t.getLexeme()))
+                .collect(Collectors.toList());
+        List<TokenType> punctuators = fixedTypes.stream()
+                .filter(t -> !keywords.contains(t) && t.getLexeme().length() == 1)
+                .collect(Collectors.toList());
+        List<TokenMatcher> otherFixedMatchers = fixedTypes.stream()
+                .filter(t -> !keywords.contains(t) && !punctuators.contains(t))
+                .map(t -> new AutomataTokenMatcher(t, factory.automataFor(t.getLexeme())))
+                .collect(Collectors.toList());
+        TokenMatcher idMatcher = new KeywordTokenMatcher(
+                new AutomataTokenMatcher(
+                        TokenType.IDENTIFIER,
+                        new LinkedAutomata.Builder()
+                                .andThen(factory.infiniteRegexAutomata("[a-zA-z]"))
+                                .maybeThen(factory.infiniteRegexAutomata("[a-zA-Z0-9]"))
+                                .build()
+                ),
+                new KeywordTable(keywords)
+        );
+        TokenMatcher numLiteralMatcher1 = new AutomataTokenMatcher(
+                TokenType.NUMBER_LITERAL,
+                new LinkedAutomata.Builder()
+                        .andThen(factory.infiniteRegexAutomata("[1-9]"))
+                        .maybeThen(factory.infiniteRegexAutomata("[0-9]"))
+                        .maybeThen(factory.singleCharAutomata('.'))
+                        .maybeThen(factory.infiniteRegexAutomata("[0-9]"))
+                        .build()
+        );
+        TokenMatcher numLiteralMatcher2 = new AutomataTokenMatcher(
+                TokenType.NUMBER_LITERAL,
+                new LinkedAutomata.Builder()
+                        .andThen(factory.singleCharAutomata('0'))
+                        .maybeThen(factory.singleCharAutomata('.'))
+                        .maybeThen(factory.infiniteRegexAutomata("[0-9]"))
+                        .build()
+        );
+        TokenMatcher singleQuoteStrLiteralMatcher = new AutomataTokenMatcher(TokenType.STRING_LITERAL, factory.delimitedWordAutomata('"', Arrays.asList('\n', '\r')));
+        TokenMatcher doubleQuoteStrLiteralMatcher = new AutomataTokenMatcher(TokenType.STRING_LITERAL, factory.delimitedWordAutomata('\'', Arrays.asList('\n', '\r')));
+        TokenMatcher spaceMatcher = new AutomataTokenMatcher(TokenType.SPACE, factory.infiniteRegexAutomata(" "));
+        TokenMatcher crlfMatcher = new AutomataTokenMatcher(
+                TokenType.NEWLINE,
+                new LinkedAutomata.Builder()
+                        .andThen(factory.singleCharAutomata('\r'))
+                        .andThen(factory.singleCharAutomata('\n'))
+                        .build()
+        );
+        TokenMatcher lfMatcher = new AutomataTokenMatcher(TokenType.NEWLINE, factory.singleCharAutomata('\n'));
+
+        return ImmutableList.<TokenMatcher>builder()
+                .add(new PunctuatorTokenMatcher(punctuators))
+                .addAll(otherFixedMatchers)
+                .add(idMatcher)
+                .add(numLiteralMatcher1)
+                .add(numLiteralMatcher2)
+                .add(singleQuoteStrLiteralMatcher)
+                .add(doubleQuoteStrLiteralMatcher)
+                .add(spaceMatcher)
+                .add(crlfMatcher)
+                .add(lfMatcher)
+                .build();
+    }
+
+    private static boolean isIdentifier(String lexeme) {
+        if (lexeme.isEmpty() || !Character.isLetter(lexeme.charAt(0))) return false;
+        return lexeme.chars().allMatch(Character::isLetterOrDigit);
+    }
+}
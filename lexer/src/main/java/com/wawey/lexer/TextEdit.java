@@ -0,0 +1,50 @@
+package com.wawey.lexer;
+
+/**
+ * Replacement of removedLength chars at offset by insertedText.
+ *
+ * @author Tomas Perez Molina
+ */
+public class TextEdit {
+    private final int offset;
+    private final int removedLength;
+    private final String insertedText;
+
+    public TextEdit(int offset, int removedLength, String insertedText) {
+        if (offset < 0 || removedLength < 0) throw new IllegalArgumentException("Negative offset or length in edit");
+        this.offset = offset;
+        this.removedLength = removedLength;
+        this.insertedText = insertedText;
+    }
+
+    public static TextEdit insert(int offset, String text) {
+        return new TextEdit(offset, 0, text);
+    }
+
+    public static TextEdit delete(int offset, int length) {
+        return new TextEdit(offset, length, "");
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getRemovedLength() {
+        return removedLength;
+    }
+
+    public String getInsertedText() {
+        return insertedText;
+    }
+
+    public String applyTo(String source) {
+        if (offset + removedLength > source.length())
+            throw new IndexOutOfBoundsException(String.format("Edit at %d-%d is out of source of length %d", offset, offset + removedLength, source.length()));
+        return source.substring(0, offset) + insertedText + source.substring(offset + removedLength);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TextEdit(offset=%d, removed=%d, inserted=\"%s\")", offset, removedLength, insertedText);
+    }
+}
@@ -1,9 +1,40 @@
 package com.wawey.lexer;
 
+/**
+ * Tokens are equal when their type, lexeme, line and start column are, whatever their implementation.
+ */
 public interface Token {
     TokenType getType();
     String getLexeme();
     int getStartColumn();
     int getEndColumn();
     int getLine();
+
+    /**
+     * @return offset of the token in its source, which {@link #getLineTable()} maps to a line and column
+     */
+    default int getStart() {
+        return getStartColumn() - 1;
+    }
+
+    default LineTable getLineTable() {
+        return LineTable.singleLine(getLine());
+    }
+
+    /**
+     * @return the id of an identifier in the {@link SymbolTable} of its compilation, or
+     * {@link SymbolTable#NO_SYMBOL} if it was not interned
+     */
+    default int getSymbol() {
+        return SymbolTable.NO_SYMBOL;
+    }
+
+    /**
+     * @return the value of a {@link TokenType#NUMBER_LITERAL} token
+     * @throws IllegalStateException if this is not a number literal
+     */
+    default double getNumberValue() {
+        if (getType() != TokenType.NUMBER_LITERAL) throw new IllegalStateException(getType() + " is not a number literal");
+        return NumberLiteralDecoder.decode(getLexeme());
+    }
 }
@@ -0,0 +1,270 @@
+package com.wawey.lexer;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compact token list: tokens are stored as parallel arrays of type ordinals, start offsets and lengths
+ * into the source instead of one object per token.
+ * <p>
+ * Lines and columns are not stored; they come from a {@link LineTable} of the source.
+ * {@link Token} views are only created on request, and {@link #cursor()} walks the buffer without
+ * creating any.
+ *
+ * @author Tomas Perez Molina
+ */
+public class TokenBuffer {
+    private static final TokenType[] TYPES = TokenType.values();
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final String source;
+    private byte[] types;
+    private int[] starts;
+    private int[] lengths;
+    private int size = 0;
+    private final LineTable lines;
+
+    public TokenBuffer(String source) {
+        this(source, INITIAL_CAPACITY);
+    }
+
+    public TokenBuffer(String source, int capacity) {
+        this.source = source;
+        this.types = new byte[Math.max(capacity, 1)];
+        this.starts = new int[types.length];
+        this.lengths = new int[types.length];
+        this.lines = new LineTable(source);
+    }
+
+    public void add(TokenType type, int start, int length) {
+        if (size == types.length) {
+            int capacity = types.length * 2;
+            types = Arrays.copyOf(types, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+        types[size] = (byte) type.ordinal();
+        starts[size] = start;
+        lengths[size] = length;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public TokenType getType(int index) {
+        return TYPES[types[checkIndex(index)]];
+    }
+
+    public int getStart(int index) {
+        return starts[checkIndex(index)];
+    }
+
+    public int getLength(int index) {
+        return lengths[checkIndex(index)];
+    }
+
+    public String getLexeme(int index) {
+        TokenType type = getType(index);
+        return type.isFixed() ? type.getLexeme() : source.substring(starts[index], starts[index] + lengths[index]);
+    }
+
+    public LineTable getLineTable() {
+        return lines;
+    }
+
+    public int getLine(int index) {
+        return lines.getLine(getStart(index));
+    }
+
+    public double getNumberValue(int index) {
+        if (getType(index) != TokenType.NUMBER_LITERAL)
+            throw new IllegalStateException(getType(index) + " is not a number literal");
+        return NumberLiteralDecoder.decode(source, starts[index], starts[index] + lengths[index]);
+    }
+
+    public int getStartColumn(int index) {
+        return lines.getColumn(getStart(index));
+    }
+
+    /**
+     * @return a view of the token at index
+     */
+    public Token get(int index) {
+        return new TokenView(this, checkIndex(index));
+    }
+
+    public List<Token> toList() {
+        return new AbstractList<Token>() {
+            @Override
+            public Token get(int index) {
+                return TokenBuffer.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    public Cursor cursor() {
+        return new Cursor(this);
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        return index;
+    }
+
+    /**
+     * Moves along the buffer, exposing the current token through the {@link Token} interface.
+     * The same cursor object stands for every token, so consumers that keep tokens must use
+     * {@link #snapshot()} instead.
+     */
+    public static class Cursor implements Token {
+        private final TokenBuffer buffer;
+        private int index = -1;
+
+        private Cursor(TokenBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        public boolean next() {
+            if (index + 1 >= buffer.size) return false;
+            index++;
+            return true;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public Token snapshot() {
+            return buffer.get(index);
+        }
+
+        @Override
+        public TokenType getType() {
+            return buffer.getType(index);
+        }
+
+        @Override
+        public String getLexeme() {
+            return buffer.getLexeme(index);
+        }
+
+        @Override
+        public int getStartColumn() {
+            return buffer.getStartColumn(index);
+        }
+
+        @Override
+        public int getEndColumn() {
+            return getStartColumn() + buffer.getLength(index);
+        }
+
+        @Override
+        public int getLine() {
+            return buffer.getLine(index);
+        }
+
+        @Override
+        public int getStart() {
+            return buffer.getStart(index);
+        }
+
+        @Override
+        public LineTable getLineTable() {
+            return buffer.lines;
+        }
+
+        @Override
+        public double getNumberValue() {
+            return buffer.getNumberValue(index);
+        }
+
+        @Override
+        public String toString() {
+            return snapshot().toString();
+        }
+    }
+
+    private static class TokenView implements Token {
+        private final TokenBuffer buffer;
+        private final int index;
+
+        TokenView(TokenBuffer buffer, int index) {
+            this.buffer = buffer;
+            this.index = index;
+        }
+
+        @Override
+        public TokenType getType() {
+            return buffer.getType(index);
+        }
+
+        @Override
+        public String getLexeme() {
+            return buffer.getLexeme(index);
+        }
+
+        @Override
+        public int getStartColumn() {
+            return buffer.getStartColumn(index);
+        }
+
+        @Override
+        public int getEndColumn() {
+            return getStartColumn() + buffer.getLength(index);
+        }
+
+        @Override
+        public int getLine() {
+            return buffer.getLine(index);
+        }
+
+        @Override
+        public int getStart() {
+            return buffer.getStart(index);
+        }
+
+        @Override
+        public LineTable getLineTable() {
+            return buffer.lines;
+        }
+
+        @Override
+        public double getNumberValue() {
+            return buffer.getNumberValue(index);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Token)) return false;
+            Token token = (Token) o;
+            return getStartColumn() == token.getStartColumn() &&
+                    getLine() == token.getLine() &&
+                    getType() == token.getType() &&
+                    Objects.equals(getLexeme(), token.getLexeme());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(getType(), getLexeme(), getStartColumn(), getLine());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Token(type=%s, lexeme=%s, line=%d, col=%d)", getType(), getLexeme(), getLine(), getStartColumn());
+        }
+    }
+}
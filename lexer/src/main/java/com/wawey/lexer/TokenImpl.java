@@ -2,24 +2,47 @@ package com.wawey.lexer;
 
 import java.util.Objects;
 
+/**
+ * Token holding its offset in the source. Line and column are looked up in a {@link LineTable} shared by
+ * every token of the source, and only when they are asked for.
+ */
 public class TokenImpl implements Token {
     private final TokenType type;
     private final String lexeme;
-    private final int line;
-    private final int startColumn;
+    private final int start;
+    private final LineTable lines;
+    private final double numberValue;
+    private final int symbol;
 
     public TokenImpl(BasicToken basicToken, int line, int startColumn) {
-        this.type = basicToken.getType();
-        this.lexeme = basicToken.getLexeme();
-        this.startColumn = startColumn;
-        this.line = line;
+        this(basicToken.getType(), basicToken.getLexeme(), line, startColumn);
     }
 
     public TokenImpl(TokenType type, String lexeme, int line, int startColumn) {
+        this(type, lexeme, startColumn - 1, LineTable.singleLine(line));
+    }
+
+    public TokenImpl(TokenType type, String lexeme, int start, LineTable lines) {
+        this(type, lexeme, start, lines, type == TokenType.NUMBER_LITERAL ? NumberLiteralDecoder.decode(lexeme) : Double.NaN);
+    }
+
+    /**
+     * @param numberValue value of a number literal, already decoded by the lexer
+     */
+    TokenImpl(TokenType type, String lexeme, int start, LineTable lines, double numberValue) {
+        this(type, lexeme, start, lines, numberValue, SymbolTable.NO_SYMBOL);
+    }
+
+    /**
+     * @param symbol id of an identifier, interned by the lexer
+     */
+    TokenImpl(TokenType type, String lexeme, int start, LineTable lines, double numberValue, int symbol) {
         this.type = type;
         this.lexeme = lexeme;
-        this.startColumn = startColumn;
-        this.line = line;
+        this.start = start;
+        this.lines = lines;
+        this.numberValue = numberValue;
+        this.symbol = symbol;
     }
 
     @Override
@@ -34,38 +57,59 @@ public class TokenImpl implements Token {
 
     @Override
     public int getStartColumn() {
-        return startColumn;
+        return lines.getColumn(start);
     }
 
     @Override
     public int getEndColumn() {
-        return startColumn + lexeme.length();
+        return getStartColumn() + lexeme.length();
     }
 
     @Override
     public int getLine() {
-        return line;
+        return lines.getLine(start);
+    }
+
+    @Override
+    public int getStart() {
+        return start;
+    }
+
+    @Override
+    public LineTable getLineTable() {
+        return lines;
+    }
+
+    @Override
+    public double getNumberValue() {
+        if (type != TokenType.NUMBER_LITERAL) throw new IllegalStateException(type + " is not a number literal");
+        return numberValue;
+    }
+
+    @Override
+    public int getSymbol() {
+        return symbol;
     }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        TokenImpl token = (TokenImpl) o;
-        return startColumn == token.startColumn &&
-                line == token.line &&
-                type == token.type &&
-                Objects.equals(lexeme, token.lexeme);
+        if (!(o instanceof Token)) return false;
+        Token token = (Token) o;
+        return getStartColumn() == token.getStartColumn() &&
+                getLine() == token.getLine() &&
+                type == token.getType() &&
+                Objects.equals(lexeme, token.getLexeme());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(type, lexeme, startColumn, line);
+        return Objects.hash(type, lexeme, getStartColumn(), getLine());
     }
 
     @Override
     public String toString() {
-        return String.format("Token(type=%s, lexeme=%s, line=%d, col=%d)", type, lexeme, line, startColumn);
+        return String.format("Token(type=%s, lexeme=%s, line=%d, col=%d)", type, lexeme, getLine(), getStartColumn());
     }
 
     public static TokenImpl forFixedToken(TokenType type, int line, int startColumn) {
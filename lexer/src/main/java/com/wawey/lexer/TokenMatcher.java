@@ -1,9 +1,23 @@
 package com.wawey.lexer;
 
 public interface TokenMatcher {
+    /**
+     * Tells the matcher that the next chars it is given are the ones in source from offset on, so it
+     * can take the lexeme from there instead of keeping a copy. Ignored by default.
+     */
+    default void startAt(CharSequence source, int offset) {
+        reset();
+    }
+
     boolean isMatching();
     boolean match(char c);
     boolean acceptable();
     BasicToken getBasicToken();
     void reset();
+
+    /**
+     * @return a reset matcher for the same tokens. It shares everything that never changes with this one,
+     * such as automata states and lookup tables, and only has its own match state.
+     */
+    TokenMatcher copy();
 }
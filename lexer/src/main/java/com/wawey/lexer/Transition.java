@@ -14,6 +14,10 @@ public class Transition {
         this.stateSupplier = stateSupplier;
     }
 
+    CharAcceptor getAcceptor() {
+        return acceptor;
+    }
+
     boolean consumes(char c) {
         return acceptor.accepts(c);
     }
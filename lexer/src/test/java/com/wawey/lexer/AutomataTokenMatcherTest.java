@@ -1,8 +1,12 @@
 package com.wawey.lexer;
 
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Test;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
 public class AutomataTokenMatcherTest {
     @Test
     public void letMatcherShouldMatchLetToken() {
@@ -35,4 +39,57 @@ public class AutomataTokenMatcherTest {
         TokenMatcher matcher = new AutomataTokenMatcher(TokenType.LET, letAutomata);
         matcher.getBasicToken();
     }
+
+    @Test
+    public void shouldTakeLexemeFromSource() {
+        TokenMatcher matcher = new LexerFactory().getTSMatchers().stream()
+                .filter(m -> m instanceof KeywordTokenMatcher)
+                .findFirst()
+                .get();
+        String source = "let abc1 = 2;";
+        matcher.startAt(source, 4);
+        for (int i = 4; matcher.match(source.charAt(i)); i++) ;
+        Assert.assertEquals(new BasicTokenImpl(TokenType.IDENTIFIER, "abc1"), matcher.getBasicToken());
+        matcher.startAt(source, 0);
+        for (int i = 0; matcher.match(source.charAt(i)); i++) ;
+        Assert.assertEquals(new BasicTokenImpl(TokenType.LET, "let"), matcher.getBasicToken());
+    }
+
+    @Test
+    public void shouldNotAllocateWhileMatching() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        Assume.assumeTrue(allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled());
+
+        AutomataFactory factory = new AutomataFactory();
+        TokenMatcher matcher = new AutomataTokenMatcher(
+                TokenType.IDENTIFIER,
+                new LinkedAutomata.Builder()
+                        .andThen(factory.infiniteRegexAutomata("[a-zA-z]"))
+                        .maybeThen(factory.infiniteRegexAutomata("[a-zA-Z0-9]"))
+                        .build()
+        );
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 1_000_000; i++) {
+            builder.append(i < 500_000 ? 'a' : (char) ('0' + i % 10));
+        }
+        String source = builder.toString();
+        matchAll(matcher, source);
+
+        long threadId = Thread.currentThread().getId();
+        long before = allocations.getThreadAllocatedBytes(threadId);
+        matchAll(matcher, source);
+        long allocated = allocations.getThreadAllocatedBytes(threadId) - before;
+
+        Assert.assertTrue("Allocated " + allocated + " bytes for " + source.length() + " chars", allocated < source.length() / 100);
+        Assert.assertEquals(source, matcher.getBasicToken().getLexeme());
+    }
+
+    private static void matchAll(TokenMatcher matcher, String source) {
+        matcher.startAt(source, 0);
+        for (int i = 0; i < source.length(); i++) {
+            if (!matcher.match(source.charAt(i))) Assert.fail("Rejected char at " + i);
+        }
+    }
 }
@@ -0,0 +1,61 @@
+package com.wawey.lexer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+
+public class CharClassParserTest {
+    private static final String[] SPECS = {
+            "l",
+            " ",
+            "\\.",
+            "\\d",
+            "\\s",
+            "\\w",
+            "[a-zA-z]",
+            "[a-zA-Z0-9]",
+            "[1-9]",
+            "[0-9]",
+            "[-a]",
+            "[a-]",
+            "[^\"\\n\\r]",
+            "[\\d_\\-]",
+            "[^a-c\\w]",
+            "[\\]\\[]"
+    };
+
+    @Test
+    public void shouldAcceptSameCharsAsRegex() {
+        CharClassParser parser = new CharClassParser();
+        for (String spec : SPECS) {
+            CharAcceptor acceptor = parser.parse(spec);
+            Assert.assertFalse(spec, acceptor instanceof RegexAcceptor);
+            Pattern pattern = Pattern.compile(spec);
+            for (int i = 0; i <= Character.MAX_VALUE; i++) {
+                char c = (char) i;
+                Assert.assertEquals(spec + " on " + i, pattern.matcher(String.valueOf(c)).matches(), acceptor.accepts(c));
+            }
+        }
+    }
+
+    @Test
+    public void shouldFallBackToRegexForUnsupportedSpecs() {
+        CharAcceptor acceptor = new CharClassParser().parse("[a-z&&[^e]]");
+        Assert.assertTrue(acceptor instanceof RegexAcceptor);
+        Assert.assertTrue(acceptor.accepts('a'));
+        Assert.assertFalse(acceptor.accepts('e'));
+    }
+
+    @Test
+    public void charSetShouldCopyAcceptor() {
+        CharAcceptor acceptor = new CharSetAcceptor(new NegatedCharAcceptor(new CharUnionAcceptor(
+                new CharRangeAcceptor('b', 'y'),
+                new SingleCharAcceptor('\u00e9')
+        )));
+        Assert.assertTrue(acceptor.accepts('a'));
+        Assert.assertFalse(acceptor.accepts('m'));
+        Assert.assertFalse(acceptor.accepts('\u00e9'));
+        Assert.assertTrue(acceptor.accepts('\uffff'));
+    }
+}
@@ -0,0 +1,123 @@
+package com.wawey.lexer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class DFALexerTest {
+    private static final String[] PROGRAMS = {
+            "print(3);",
+            "print(\"hello, world!\");",
+            "let a: number;\na = 3;\nprint(a);",
+            "print(1 + 2 * (3 + 9) * 3 - (52 + 0.31) * 2.1);\r\nprint(1/3);",
+            "let a = '\"String-ception\"' + \"'Same here'\";\n\nprint(a);\n",
+            "let b: string = \"b\";\n    print(a+b);\n\n",
+            "0.04 3.14 10 0 1.",
+            "letter printer lets let numbers string",
+            ""
+    };
+
+    @Test
+    public void shouldLexLikeMatcherLexer() {
+        LexerFactory lexerFactory = new LexerFactory();
+        Lexer matcherLexer = lexerFactory.getTSLexer();
+        Lexer compiledLexer = lexerFactory.getCompiledTSLexer();
+        for (String program : PROGRAMS) {
+            Assert.assertEquals(program, matcherLexer.lex(program), compiledLexer.lex(program));
+        }
+    }
+
+    @Test
+    public void lexesDeclarationAsignationAndPrint() {
+        Lexer lexer = new LexerFactory().getCompiledTSLexer();
+        List<Token> actual = lexer.lex("let a: number;\na = 3;");
+        List<Token> expected = Arrays.asList(
+                TokenImpl.forFixedToken(TokenType.LET, 1, 1),
+                new TokenImpl(TokenType.IDENTIFIER, "a", 1, 5),
+                TokenImpl.forFixedToken(TokenType.COLON, 1, 6),
+                TokenImpl.forFixedToken(TokenType.NUMBER_TYPE, 1, 8),
+                TokenImpl.forFixedToken(TokenType.SEMICOLON, 1, 14),
+                new TokenImpl(TokenType.IDENTIFIER, "a", 2, 1),
+                TokenImpl.forFixedToken(TokenType.EQUALS, 2, 3),
+                new TokenImpl(TokenType.NUMBER_LITERAL, "3", 2, 5),
+                TokenImpl.forFixedToken(TokenType.SEMICOLON, 2, 6),
+                new TokenImpl(TokenType.EOF, "", 2, 7)
+        );
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void shouldPreferLongestMatchOverKeyword() {
+        Lexer lexer = new LexerFactory().getCompiledTSLexer();
+        List<Token> expected = Arrays.asList(
+                new TokenImpl(TokenType.IDENTIFIER, "letter", 1, 1),
+                new TokenImpl(TokenType.IDENTIFIER, "printer", 1, 8),
+                new TokenImpl(TokenType.EOF, "", 1, 15)
+        );
+        Assert.assertEquals(expected, lexer.lex("letter printer"));
+    }
+
+    @Test
+    public void shouldPrioritizeTokensByMatcherOrder() {
+        AutomataFactory factory = new AutomataFactory();
+        TokenMatcher letMatcher = new AutomataTokenMatcher(TokenType.LET, factory.automataFor("let"));
+        TokenMatcher otherMatcher = new AutomataTokenMatcher(TokenType.IDENTIFIER, factory.automataFor("let"));
+        DFACompiler compiler = new DFACompiler();
+
+        Lexer letFirstLexer = new DFALexer(compiler.compile(Arrays.asList(letMatcher, otherMatcher)));
+        Assert.assertEquals(
+                Arrays.asList(TokenImpl.forFixedToken(TokenType.LET, 1, 1), new TokenImpl(TokenType.EOF, "", 1, 4)),
+                letFirstLexer.lex("let")
+        );
+
+        Lexer idFirstLexer = new DFALexer(compiler.compile(Arrays.asList(otherMatcher, letMatcher)));
+        Assert.assertEquals(
+                Arrays.asList(new TokenImpl(TokenType.IDENTIFIER, "let", 1, 1), new TokenImpl(TokenType.EOF, "", 1, 4)),
+                idFirstLexer.lex("let")
+        );
+    }
+
+    @Test
+    public void shouldMergeEquivalentStates() {
+        AutomataFactory factory = new AutomataFactory();
+        TokenMatcher matcher = new AutomataTokenMatcher(
+                TokenType.IDENTIFIER,
+                new LinkedAutomata.Builder()
+                        .andThen(factory.infiniteRegexAutomata("a"))
+                        .maybeThen(factory.infiniteRegexAutomata("a"))
+                        .build()
+        );
+        DFA dfa = new DFACompiler().compile(Arrays.asList(matcher));
+        Assert.assertEquals(2, dfa.getStateCount());
+    }
+
+    @Test
+    public void shouldSkipRunsOfSpacesAndIdentifierChars() {
+        String input = "                    let someRatherLongIdentifier2019abc: number =      12345678;\n" +
+                "                print(someRatherLongIdentifier2019abc   +    \"string     with     spaces\");  ";
+        Assert.assertEquals(new LexerFactory().getTSLexer().lex(input), new LexerFactory().getCompiledTSLexer().lex(input));
+        Assert.assertEquals(
+                new LexerFactory().getTSLexer().lex(input),
+                new LexerFactory().getCompiledTSLexer().lexToBuffer(input).toList()
+        );
+    }
+
+    @Test
+    public void shouldDecodeNumberLiterals() {
+        DFALexer lexer = new LexerFactory().getCompiledTSLexer();
+        String input = "print(0.1 + 52.31 * 1.);";
+        List<Token> tokens = lexer.lex(input);
+        Assert.assertEquals(0.1, tokens.get(2).getNumberValue(), 0);
+        Assert.assertEquals(52.31, tokens.get(4).getNumberValue(), 0);
+        Assert.assertEquals(1, tokens.get(6).getNumberValue(), 0);
+        Assert.assertEquals(52.31, lexer.lexToBuffer(input).get(4).getNumberValue(), 0);
+    }
+
+    @Test(expected = UnknownCharacterException.class)
+    public void shouldThrowLexicalErrorOnUnknownCharacter() {
+        Lexer lexer = new LexerFactory().getCompiledTSLexer();
+        lexer.lex("let \u00f1 = 2;");
+    }
+}
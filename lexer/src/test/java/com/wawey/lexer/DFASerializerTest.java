@@ -0,0 +1,44 @@
+package com.wawey.lexer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+public class DFASerializerTest {
+
+    @Test
+    public void shouldReadTheDFAItWrote() throws IOException {
+        DFA dfa = TSLexerTables.compile();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new DFASerializer().write(dfa, new DataOutputStream(bytes));
+        DFA read = new DFASerializer().read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertSameDFA(dfa, read);
+        Assert.assertTrue("Tables take " + bytes.size() + " bytes", bytes.size() < 16 * 1024);
+    }
+
+    @Test
+    public void prebuiltTablesShouldMatchTheTokenDefinitions() {
+        Assert.assertNotNull("Missing " + TSLexerTables.RESOURCE, TSLexerTables.class.getResource(TSLexerTables.RESOURCE));
+        assertSameDFA(TSLexerTables.compile(), TSLexerTables.load());
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectOtherData() throws IOException {
+        new DFASerializer().read(new DataInputStream(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6})));
+    }
+
+    private static void assertSameDFA(DFA expected, DFA actual) {
+        Assert.assertEquals(expected.getInitialState(), actual.getInitialState());
+        Assert.assertEquals(expected.getStateCount(), actual.getStateCount());
+        Assert.assertArrayEquals(expected.getClassMap(), actual.getClassMap());
+        Assert.assertArrayEquals(expected.getAcceptedTypes(), actual.getAcceptedTypes());
+        for (int state = 0; state < expected.getStateCount(); state++) {
+            Assert.assertArrayEquals(expected.getTransitions()[state], actual.getTransitions()[state]);
+        }
+    }
+}
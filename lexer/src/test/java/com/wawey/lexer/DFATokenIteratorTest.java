@@ -0,0 +1,57 @@
+package com.wawey.lexer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public class DFATokenIteratorTest {
+    private static final String PROGRAM =
+            "let a: string = \"a string literal longer than the buffer\";\r\n" +
+                    "print(1 + 2 * (3 + 9) * 3 - (52 + 0.31) * 2.1);\n" +
+                    "\n" +
+                    "        a = 'indented';\n";
+
+    @Test
+    public void shouldProduceSameTokensAsLexingTheWholeString() {
+        StreamingLexer lexer = new LexerFactory().getCompiledTSLexer();
+        Assert.assertEquals(lexer.lex(PROGRAM), drain(lexer.tokens(new StringReader(PROGRAM))));
+    }
+
+    @Test
+    public void shouldProduceSameTokensWithABufferSmallerThanTheTokens() {
+        DFA dfa = new DFACompiler().compile(new LexerFactory().getTSMatchers());
+        StreamingLexer lexer = new DFALexer(dfa);
+        Iterator<Token> tokens = new DFATokenIterator(dfa, new StringReader(PROGRAM), 4);
+        Assert.assertEquals(lexer.lex(PROGRAM), drain(tokens));
+    }
+
+    @Test
+    public void shouldLexFromAChannel() {
+        StreamingLexer lexer = new LexerFactory().getCompiledTSLexer();
+        byte[] bytes = PROGRAM.getBytes(StandardCharsets.UTF_8);
+        Iterator<Token> tokens = lexer.tokens(Channels.newChannel(new ByteArrayInputStream(bytes)), StandardCharsets.UTF_8);
+        Assert.assertEquals(lexer.lex(PROGRAM), drain(tokens));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void shouldEndAfterEOF() {
+        Iterator<Token> tokens = new LexerFactory().getCompiledTSLexer().tokens(new StringReader(""));
+        Assert.assertEquals(new TokenImpl(TokenType.EOF, "", 1, 1), tokens.next());
+        Assert.assertFalse(tokens.hasNext());
+        tokens.next();
+    }
+
+    private static List<Token> drain(Iterator<Token> tokens) {
+        List<Token> result = new ArrayList<>();
+        tokens.forEachRemaining(result::add);
+        return result;
+    }
+}
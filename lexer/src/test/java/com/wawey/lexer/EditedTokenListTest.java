@@ -0,0 +1,52 @@
+package com.wawey.lexer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class EditedTokenListTest {
+    @Test
+    public void shouldMoveTheTokensAfterEveryEdit() {
+        assertMovesTokens(300_000, 300_000);
+    }
+
+    @Test
+    public void shouldMoveTheTokensAfterEditsAtOnePlace() {
+        assertMovesTokens(100_000, 600);
+    }
+
+    private static void assertMovesTokens(int size, int editedRange) {
+        List<Token> tokens = new ArrayList<>();
+        LineTable lines = new LineTable("");
+        for (int i = 0; i < size; i++) {
+            tokens.add(new TokenImpl(TokenType.IDENTIFIER, "a", 2 * i, lines));
+        }
+        int[] starts = new int[size];
+        for (int i = 0; i < size; i++) {
+            starts[i] = 2 * i;
+        }
+        Random random = new Random(3);
+        EditedTokenList list = EditedTokenList.of(tokens);
+        for (int edit = 0; edit < 800; edit++) {
+            int index = size / 2 + random.nextInt(editedRange) - editedRange / 2;
+            int shift = random.nextInt(3) - 1;
+            Token relexed = new TokenImpl(TokenType.IDENTIFIER, "b", starts[index], lines);
+            list = list.edited(index, Collections.singletonList(relexed), index + 1, shift, lines);
+            for (int i = index + 1; i < size; i++) {
+                starts[i] += shift;
+            }
+
+            Assert.assertEquals(size, list.size());
+            Assert.assertSame(relexed, list.get(index));
+            for (int j = 0; j < 50; j++) {
+                int i = random.nextInt(size);
+                Assert.assertEquals(starts[i], list.getStart(i));
+                Assert.assertEquals(starts[i], list.get(i).getStart());
+            }
+        }
+    }
+}
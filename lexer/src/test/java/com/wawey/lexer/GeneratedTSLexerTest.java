@@ -0,0 +1,61 @@
+package com.wawey.lexer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public class GeneratedTSLexerTest {
+    private static final String[] INPUTS = {
+            "print(3);",
+            "print(\"hello, world!\");",
+            "let a: number;\na = 3;\nprint(a);",
+            "print(1+2);",
+            "3.14",
+            "0.14",
+            "0.04",
+            "1",
+            "0",
+            "let a = '\"String-ception\"' + \"'Same here'\";\r\n\r\nprint(a);\r\n",
+            "let \u00f1 = 2;",
+            ""
+    };
+
+    private final Lexer matcherLexer = new LexerFactory().getTSLexer();
+    private final Lexer generatedLexer = new LexerFactory().getGeneratedTSLexer();
+
+    @Test
+    public void shouldLexLikeMatcherLexer() {
+        for (String input : INPUTS) {
+            Assert.assertEquals(input, lexOrError(matcherLexer, input), lexOrError(generatedLexer, input));
+        }
+    }
+
+    @Test
+    public void shouldLexExamplesLikeMatcherLexer() throws IOException {
+        Path examples = Paths.get("examples");
+        if (!Files.isDirectory(examples)) examples = Paths.get("..", "examples");
+        int count = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(examples, "*.ts")) {
+            for (Path file : files) {
+                String input = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+                Assert.assertEquals(file.toString(), lexOrError(matcherLexer, input), lexOrError(generatedLexer, input));
+                count++;
+            }
+        }
+        Assert.assertTrue(count > 0);
+    }
+
+    private static Object lexOrError(Lexer lexer, String input) {
+        try {
+            return lexer.lex(input);
+        } catch (UnknownCharacterException exc) {
+            return exc.getMessage();
+        }
+    }
+}
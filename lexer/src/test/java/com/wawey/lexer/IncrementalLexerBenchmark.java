@@ -0,0 +1,55 @@
+package com.wawey.lexer;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Prints the time of a full lex against the time of relexing one char edits, for sources of growing size.
+ * The relex time should stay about the same as the source grows. Applying the edits to the source is
+ * not timed, an editor does it anyway.
+ * Run with {@code gradle :lexer:incrementalBenchmark}.
+ *
+ * @author Tomas Perez Molina
+ */
+public class IncrementalLexerBenchmark {
+    private static final int ROUNDS = 5;
+    private static final int EDITS = 1_000;
+
+    public static void main(String[] args) {
+        DFALexer lexer = new LexerFactory().getCompiledTSLexer();
+        IncrementalLexer incremental = new IncrementalLexer(lexer);
+        for (int lines : new int[]{20_000, 200_000}) {
+            run(lexer, incremental, lines);
+        }
+    }
+
+    private static void run(DFALexer lexer, IncrementalLexer incremental, int lines) {
+        String source = LexerBenchmark.whitespaceHeavyInput(lines);
+        SymbolTable symbols = new SymbolTable();
+        List<Token> tokens = lexer.lex(source, symbols);
+        for (int i = 0; i < ROUNDS; i++) {
+            tokens = lexer.lex(source, symbols);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            tokens = lexer.lex(source, symbols);
+        }
+        double lexMillis = (System.nanoTime() - start) / 1e6 / ROUNDS;
+
+        Random random = new Random(7);
+        long relexNanos = 0;
+        int offset = 0;
+        for (int i = 0; i < 2 * EDITS; i++) {
+            // types a digit into a number and deletes it again
+            if (i % 2 == 0) offset = source.indexOf('=', random.nextInt(source.length() - 200)) + 2;
+            TextEdit edit = i % 2 == 0 ? TextEdit.insert(offset, "1") : TextEdit.delete(offset, 1);
+            String edited = edit.applyTo(source);
+            long editStart = System.nanoTime();
+            tokens = incremental.relex(source, edited, tokens, edit, symbols);
+            if (i >= EDITS) relexNanos += System.nanoTime() - editStart;
+            source = edited;
+        }
+        System.out.printf("%8d lines, %8d tokens: lex %8.2f ms, relex %6.1f us per edit%n",
+                lines, tokens.size(), lexMillis, relexNanos / 1e3 / EDITS);
+    }
+}
@@ -0,0 +1,187 @@
+package com.wawey.lexer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class IncrementalLexerTest {
+    private static final String[] SNIPPETS = {
+            "let", " ", "a", "b1", ": ", "number", "string", " = ", "3", "0.5", ";", "\n", "\r\n", "\n\n",
+            "print(", ")", "\"", "'", "\"text\"", "+", " * ", "-", "/", "(", "@"
+    };
+
+    private final DFALexer lexer = new LexerFactory().getCompiledTSLexer();
+    private final IncrementalLexer incrementalLexer = new IncrementalLexer(lexer);
+
+    @Test
+    public void shouldMoveFollowingLines() {
+        String source = "let a: number;\na = 3;\nprint(a);";
+        TextEdit edit = TextEdit.insert(15, "let b = 2;\n");
+        List<Token> actual = incrementalLexer.relex(source, lexer.lex(source), edit);
+        Assert.assertEquals(lexer.lex(edit.applyTo(source)), actual);
+        Assert.assertEquals(Arrays.asList(
+                TokenImpl.forFixedToken(TokenType.PRINT, 4, 1),
+                TokenImpl.forFixedToken(TokenType.LEFT_PAREN, 4, 6),
+                new TokenImpl(TokenType.IDENTIFIER, "a", 4, 7),
+                TokenImpl.forFixedToken(TokenType.RIGHT_PAREN, 4, 8),
+                TokenImpl.forFixedToken(TokenType.SEMICOLON, 4, 9),
+                new TokenImpl(TokenType.EOF, "", 4, 10)
+        ), actual.subList(actual.size() - 6, actual.size()));
+    }
+
+    @Test
+    public void shouldMoveEveryTokenIntoTheEditedSource() {
+        String source = "let a = 1;\nlet b = 2;\nlet c = 3;\n";
+        TextEdit edit = TextEdit.insert(0, "xx");
+        List<Token> actual = incrementalLexer.relex(source, lexer.lex(source), edit);
+        String edited = edit.applyTo(source);
+        Token c = actual.get(actual.size() - 5);
+        Assert.assertEquals("c", c.getLexeme());
+        Assert.assertEquals(edited.indexOf('c'), c.getStart());
+        LineTable lines = actual.get(0).getLineTable();
+        for (Token token : actual) {
+            Assert.assertSame(lines, token.getLineTable());
+            Assert.assertEquals(token.getLexeme(), edited.substring(token.getStart(), token.getStart() + token.getLexeme().length()));
+        }
+    }
+
+    @Test
+    public void shouldKeepSymbolIdsWhenGivenTheSymbolTable() {
+        String source = "let a = 1;\nlet b = a;\nprint(b);";
+        SymbolTable symbols = new SymbolTable();
+        List<Token> tokens = lexer.lex(source, symbols);
+        TextEdit edit = TextEdit.insert(0, "let z = 0;\n");
+        List<Token> actual = incrementalLexer.relex(source, tokens, edit, symbols);
+        Assert.assertEquals(lexer.lex(edit.applyTo(source)), actual);
+        for (Token token : actual) {
+            if (token.getType() == TokenType.IDENTIFIER) {
+                Assert.assertEquals(token.getLexeme(), symbols.getName(token.getSymbol()));
+            }
+        }
+        Assert.assertEquals(0, symbols.lookup("a"));
+        Assert.assertEquals(1, symbols.lookup("b"));
+        Assert.assertEquals(2, symbols.lookup("z"));
+    }
+
+    @Test
+    public void shouldHandOutTheTokensBeforeTheEditAsTheyAre() {
+        String source = "let a = 1;\nlet b = 2;\nlet c = 3;\n";
+        List<Token> tokens = lexer.lex(source);
+        List<Token> actual = incrementalLexer.relex(source, tokens, TextEdit.insert(source.indexOf('c'), "d"), new SymbolTable());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertSame(tokens.get(i), actual.get(i));
+        }
+    }
+
+    @Test
+    public void shouldOnlyReadTheTokensAroundTheEdit() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            builder.append("let a").append(i).append(": number = ").append(i).append(";\n");
+        }
+        String source = builder.toString();
+        SymbolTable symbols = new SymbolTable();
+        CountingList tokens = new CountingList(lexer.lex(source, symbols));
+
+        TextEdit edit = TextEdit.insert(source.length() / 2, "x");
+        List<Token> edited = incrementalLexer.relex(source, tokens, edit, symbols);
+        Assert.assertTrue("Read " + tokens.reads + " of " + tokens.size() + " tokens", tokens.reads < 100);
+        String editedSource = edit.applyTo(source);
+        TextEdit next = new TextEdit(10, 3, "\n\n");
+        tokens.reads = 0;
+        List<Token> actual = incrementalLexer.relex(editedSource, edited, next, symbols);
+        Assert.assertTrue("Read " + tokens.reads + " of " + tokens.size() + " tokens", tokens.reads < 100);
+
+        Assert.assertEquals(lexer.lex(next.applyTo(editedSource)), actual);
+    }
+
+    @Test
+    public void shouldLexLikeFullLexOverChainedEdits() {
+        Random random = new Random(11);
+        String source = "let a: number = 3;\nlet b: string = \"hello\";\r\n\nprint(a + b);\n";
+        SymbolTable symbols = new SymbolTable();
+        List<Token> tokens = lexer.lex(source, symbols);
+        for (int i = 0; i < 3000; i++) {
+            int offset = random.nextInt(source.length() + 1);
+            int removed = random.nextInt(Math.min(6, source.length() - offset + 1));
+            String inserted = random.nextInt(3) == 0 ? "" : SNIPPETS[random.nextInt(SNIPPETS.length)];
+            TextEdit edit = new TextEdit(offset, removed, inserted);
+            String edited = edit.applyTo(source);
+            List<Token> expected;
+            try {
+                expected = lexer.lex(edited);
+            } catch (UnknownCharacterException e) {
+                continue;
+            }
+            List<Token> actual = incrementalLexer.relex(source, edited, tokens, edit, symbols);
+            Assert.assertEquals(edit + " on " + source, expected, actual);
+            for (int j = 0; j < expected.size(); j++) {
+                Token token = actual.get(j);
+                Assert.assertEquals(expected.get(j).getStart(), token.getStart());
+                if (token.getType() == TokenType.IDENTIFIER) {
+                    Assert.assertEquals(token.getLexeme(), symbols.getName(token.getSymbol()));
+                }
+            }
+            source = edited;
+            tokens = actual;
+        }
+    }
+
+    @Test
+    public void shouldLexLikeFullLexOverRandomEdits() {
+        Random random = new Random(42);
+        String source = "let a: number = 3;\nlet b: string = \"hello\";\r\n\nprint(a + b);\n";
+        List<Token> tokens = lexer.lex(source);
+        for (int i = 0; i < 2000; i++) {
+            int offset = random.nextInt(source.length() + 1);
+            int removed = random.nextInt(Math.min(6, source.length() - offset + 1));
+            String inserted = random.nextInt(3) == 0 ? "" : SNIPPETS[random.nextInt(SNIPPETS.length)];
+            TextEdit edit = new TextEdit(offset, removed, inserted);
+            String edited = edit.applyTo(source);
+
+            List<Token> expected;
+            try {
+                expected = lexer.lex(edited);
+            } catch (UnknownCharacterException e) {
+                try {
+                    incrementalLexer.relex(source, tokens, edit);
+                    Assert.fail("Expected error after " + edit + " on " + source);
+                } catch (UnknownCharacterException relexError) {
+                    Assert.assertEquals(e.getMessage(), relexError.getMessage());
+                }
+                continue;
+            }
+            List<Token> actual = incrementalLexer.relex(source, tokens, edit);
+            Assert.assertEquals(edit + " on " + source, expected, actual);
+            for (int j = 0; j < expected.size(); j++) {
+                Assert.assertEquals(expected.get(j).getSymbol(), actual.get(j).getSymbol());
+            }
+            source = edited;
+            tokens = expected;
+        }
+    }
+
+    private static class CountingList extends AbstractList<Token> {
+        private final List<Token> tokens;
+        int reads = 0;
+
+        CountingList(List<Token> tokens) {
+            this.tokens = tokens;
+        }
+
+        @Override
+        public Token get(int index) {
+            reads++;
+            return tokens.get(index);
+        }
+
+        @Override
+        public int size() {
+            return tokens.size();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.wawey.lexer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class KeywordTableTest {
+    private final KeywordTable table = new KeywordTable(Arrays.asList(
+            TokenType.LET, TokenType.PRINT, TokenType.STRING_TYPE, TokenType.NUMBER_TYPE
+    ));
+
+    @Test
+    public void shouldClassifyKeywords() {
+        Assert.assertEquals(TokenType.LET, table.classify("let"));
+        Assert.assertEquals(TokenType.PRINT, table.classify("print"));
+        Assert.assertEquals(TokenType.STRING_TYPE, table.classify("string"));
+        Assert.assertEquals(TokenType.NUMBER_TYPE, table.classify("number"));
+        Assert.assertEquals(TokenType.NUMBER_TYPE, table.classify("a number;", 2, 8));
+    }
+
+    @Test
+    public void shouldNotClassifyOtherIdentifiers() {
+        for (String identifier : Arrays.asList("", "l", "le", "lets", "Let", "printer", "strinG", "numbers", "a", "x1")) {
+            Assert.assertNull(identifier, table.classify(identifier));
+        }
+    }
+
+    @Test
+    public void shouldLexKeywordPrefixesAsIdentifiers() {
+        Lexer lexer = new LexerFactory().getTSLexer();
+        Assert.assertEquals(
+                Arrays.asList(
+                        new TokenImpl(TokenType.IDENTIFIER, "lets", 1, 1),
+                        TokenImpl.forFixedToken(TokenType.LET, 1, 6),
+                        new TokenImpl(TokenType.IDENTIFIER, "printer", 1, 10),
+                        TokenImpl.forFixedToken(TokenType.SEMICOLON, 1, 17),
+                        new TokenImpl(TokenType.EOF, "", 1, 18)
+                ),
+                lexer.lex("lets let printer;")
+        );
+    }
+}
@@ -0,0 +1,75 @@
+package com.wawey.lexer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.ToIntFunction;
+
+/**
+ * Prints the throughput of the TS lexers on heavily indented input with long identifiers.
+ * Run with {@code gradle :lexer:benchmark}.
+ *
+ * @author Tomas Perez Molina
+ */
+public class LexerBenchmark {
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) throws IOException {
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        String input = whitespaceHeavyInput(lines);
+        LexerFactory factory = new LexerFactory();
+        DFALexer compiled = factory.getCompiledTSLexer();
+        Lexer generated = factory.getGeneratedTSLexer();
+        MappedFileLexer mapped = factory.getMappedTSLexer();
+        Path file = Files.createTempFile("benchmark", ".ts");
+        try {
+            Files.write(file, input.getBytes(StandardCharsets.UTF_8));
+            System.out.printf("%d chars, %d lines%n", input.length(), lines);
+            run("DFALexer.lex", input, s -> compiled.lex(s).size());
+            run("DFALexer.lexToBuffer", input, s -> compiled.lexToBuffer(s).size());
+            run("GeneratedTSLexer.lex", input, s -> generated.lex(s).size());
+            run("MappedFileLexer.lex", input, s -> {
+                try (MappedSource source = MappedSource.open(file)) {
+                    return mapped.lex(source).size();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            String small = whitespaceHeavyInput(Math.max(1, lines / 100));
+            run("MatcherLexer.lex", small, s -> factory.getTSLexer().lex(s).size());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void run(String name, String input, ToIntFunction<String> lexer) {
+        int tokens = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            tokens += lexer.applyAsInt(input);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            tokens += lexer.applyAsInt(input);
+        }
+        long elapsed = System.nanoTime() - start;
+        double charsPerSecond = (double) input.length() * ROUNDS / (elapsed / 1e9);
+        System.out.printf("%-22s %10.1f M chars/s (%d tokens)%n", name, charsPerSecond / 1e6, tokens / (WARMUP_ROUNDS + ROUNDS));
+    }
+
+    static String whitespaceHeavyInput(int lines) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            for (int indent = 0; indent < 8 + i % 5 * 4; indent++) {
+                builder.append("    ");
+            }
+            if (i % 2 == 0) {
+                builder.append("let generatedVariableNumber").append(i).append("WithAVeryLongName: number = ").append(i).append(";\n");
+            } else {
+                builder.append("print(generatedVariableNumber").append(i - 1).append("WithAVeryLongName    +    1);\n");
+            }
+        }
+        return builder.toString();
+    }
+}
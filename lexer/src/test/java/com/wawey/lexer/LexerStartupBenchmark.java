@@ -0,0 +1,87 @@
+package com.wawey.lexer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Prints the time to the first token of each TS lexer, as a short lived CLI invocation sees it.
+ * <p>
+ * Every measure runs in a new JVM, started with the classpath of this one. Run with
+ * {@code gradle :lexer:startupBenchmark}.
+ *
+ * @author Tomas Perez Molina
+ */
+public class LexerStartupBenchmark {
+    private static final int RUNS = 7;
+    private static final String INPUT = "let a: number = 1;\nprint(a);";
+    private static final String[] MODES = {"prebuilt", "compiled", "generated", "matcher"};
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 1) {
+            measure(args[0]);
+            return;
+        }
+        System.out.printf("%-10s %22s %24s%n", "lexer", "main to token (ms)", "jvm start to token (ms)");
+        for (String mode : MODES) {
+            List<Double> sinceMain = new ArrayList<>();
+            List<Double> sinceStart = new ArrayList<>();
+            for (int i = 0; i < RUNS; i++) {
+                String[] result = fork(mode).split(" ");
+                sinceMain.add(Double.parseDouble(result[0]));
+                sinceStart.add(Double.parseDouble(result[1]));
+            }
+            System.out.printf("%-10s %22.2f %24.2f%n", mode, median(sinceMain), median(sinceStart));
+        }
+    }
+
+    private static void measure(String mode) {
+        long start = System.nanoTime();
+        Token first = lexer(mode).get().lex(INPUT).get(0);
+        long end = System.nanoTime();
+        if (first.getType() != TokenType.LET) throw new IllegalStateException("Unexpected token " + first);
+        long sinceStart = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        System.out.println((end - start) / 1e6 + " " + sinceStart);
+    }
+
+    private static Supplier<Lexer> lexer(String mode) {
+        switch (mode) {
+            case "prebuilt":
+                return () -> new LexerFactory().getCompiledTSLexer();
+            case "compiled":
+                return () -> new DFALexer(TSLexerTables.compile());
+            case "generated":
+                return () -> new LexerFactory().getGeneratedTSLexer();
+            case "matcher":
+                return () -> new LexerFactory().getTSLexer();
+            default:
+                throw new IllegalArgumentException("Unknown lexer " + mode + ", expected one of " + Arrays.toString(MODES));
+        }
+    }
+
+    private static String fork(String mode) throws IOException, InterruptedException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), LexerStartupBenchmark.class.getName(), mode)
+                .redirectErrorStream(true)
+                .start();
+        String output;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            output = reader.readLine();
+        }
+        if (process.waitFor() != 0 || output == null) throw new IllegalStateException(mode + " run failed: " + output);
+        return output;
+    }
+
+    private static double median(List<Double> values) {
+        Collections.sort(values);
+        return values.get(values.size() / 2);
+    }
+}
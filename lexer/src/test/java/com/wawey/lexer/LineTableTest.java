@@ -0,0 +1,141 @@
+package com.wawey.lexer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+public class LineTableTest {
+
+    @Test
+    public void shouldMapOffsetsToLinesAndColumns() {
+        LineTable lines = new LineTable("let a;\n\nprint(a);\n");
+        Assert.assertEquals(1, lines.getLine(0));
+        Assert.assertEquals(1, lines.getColumn(0));
+        Assert.assertEquals(1, lines.getLine(6));
+        Assert.assertEquals(7, lines.getColumn(6));
+        Assert.assertEquals(2, lines.getLine(7));
+        Assert.assertEquals(3, lines.getLine(8));
+        Assert.assertEquals(1, lines.getColumn(8));
+        Assert.assertEquals(4, lines.getLine(18));
+        Assert.assertEquals(8, lines.getLineStart(3));
+    }
+
+    @Test
+    public void singleLineTableShouldMapOffsetsToColumns() {
+        LineTable lines = LineTable.singleLine(12);
+        Assert.assertEquals(12, lines.getLine(4));
+        Assert.assertEquals(5, lines.getColumn(4));
+        Assert.assertEquals(0, lines.getLineStart(12));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void shouldRejectMissingLines() {
+        new LineTable("a\nb").getLineStart(3);
+    }
+
+    @Test
+    public void tokensShouldShareTheLineTableOfTheirSource() {
+        String input = "let a: number;\na = 3;";
+        List<Token> tokens = new LexerFactory().getCompiledTSLexer().lex(input);
+        Token assigned = tokens.get(5);
+        Assert.assertEquals(15, assigned.getStart());
+        Assert.assertEquals(2, assigned.getLine());
+        Assert.assertEquals(1, assigned.getStartColumn());
+        Assert.assertSame(tokens.get(0).getLineTable(), assigned.getLineTable());
+    }
+
+    @Test
+    public void editedTablesShouldMapLikeTablesOfTheEditedSource() {
+        String[] snippets = {"", "a", "let b;", "\n", "\n\n", "c\nd", "\r\n"};
+        Random random = new Random(7);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            builder.append("let a").append(i).append(" = ").append(i).append(";\n");
+        }
+        String source = builder.toString();
+        LineTable lines = new LineTable(source);
+        for (int i = 0; i < 3000; i++) {
+            int offset = random.nextInt(source.length() + 1);
+            int removed = random.nextInt(Math.min(8, source.length() - offset + 1));
+            String inserted = snippets[random.nextInt(snippets.length)];
+            String edited = source.substring(0, offset) + inserted + source.substring(offset + removed);
+            int start = source.lastIndexOf('\n', offset - 1) + 1;
+            int newline = edited.indexOf('\n', offset + inserted.length());
+            int end = newline < 0 ? edited.length() : newline + 1;
+            lines = lines.edited(edited, start, end, inserted.length() - removed);
+
+            LineTable expected = new LineTable(edited);
+            int lastLine = expected.getLine(edited.length());
+            Assert.assertEquals(lastLine, lines.getLine(edited.length()));
+            for (int line = 1; line <= lastLine; line++) {
+                Assert.assertEquals(expected.getLineStart(line), lines.getLineStart(line));
+            }
+            for (int j = 0; j < 20; j++) {
+                int position = random.nextInt(edited.length() + 1);
+                Assert.assertEquals(expected.getLine(position), lines.getLine(position));
+                Assert.assertEquals(expected.getColumn(position), lines.getColumn(position));
+            }
+            source = edited;
+        }
+    }
+
+    @Test
+    public void tablesEditedManyTimesShouldKeepMappingLines() {
+        int lineCount = 300_000;
+        int[] starts = new int[lineCount];
+        int[] lengths = new int[lineCount];
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < lineCount; i++) {
+            starts[i] = builder.length();
+            lengths[i] = 3;
+            builder.append("a;\n");
+        }
+        LineTable lines = new LineTable(builder);
+        Random random = new Random(5);
+        for (int edit = 0; edit < 1600; edit++) {
+            int line = random.nextInt(lineCount - 1);
+            String text = line % 2 == 0 ? "ab;\n" : ";\n";
+            int shift = text.length() - lengths[line];
+            lines = lines.edited(new EditedLine(starts[line], text), starts[line], starts[line] + text.length(), shift);
+            lengths[line] = text.length();
+            for (int i = line + 1; i < lineCount; i++) {
+                starts[i] += shift;
+            }
+            for (int j = 0; j < 50; j++) {
+                int i = random.nextInt(lineCount);
+                Assert.assertEquals(starts[i], lines.getLineStart(i + 1));
+                Assert.assertEquals(i + 1, lines.getLine(starts[i] + 1));
+            }
+        }
+    }
+
+    /**
+     * Just the chars of an edited line, which is all {@link LineTable#edited} reads.
+     */
+    private static class EditedLine implements CharSequence {
+        private final int start;
+        private final String text;
+
+        EditedLine(int start, String text) {
+            this.start = start;
+            this.text = text;
+        }
+
+        @Override
+        public int length() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return text.charAt(index - start);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.wawey.lexer;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+public class MappedFileLexerTest {
+    private static final String PROGRAM =
+            "let a: string = \"\u00f1and\u00fa \uD834\uDD1E \u00fcber\";\r\n" +
+                    "print(1 + 2 * (3 + 9) * 3 - (52 + 0.31) * 2.1);\n" +
+                    "\n" +
+                    "    a = 'ok' + a;\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldLexLikeTheStringLexer() throws IOException {
+        Path file = write(PROGRAM);
+        try (MappedSource source = MappedSource.open(file)) {
+            List<Token> actual = new LexerFactory().getMappedTSLexer().lex(source);
+            Assert.assertEquals(new LexerFactory().getCompiledTSLexer().lex(PROGRAM), actual);
+        }
+    }
+
+    @Test
+    public void shouldLexTokensSpanningMappedRegions() throws IOException {
+        Path file = write(PROGRAM);
+        try (MappedSource source = new MappedSource(FileChannel.open(file, StandardOpenOption.READ), 3)) {
+            List<Token> actual = new LexerFactory().getMappedTSLexer().lex(source);
+            Assert.assertEquals(new LexerFactory().getCompiledTSLexer().lex(PROGRAM), actual);
+        }
+    }
+
+    @Test
+    public void shouldSkipSpaceRunsAcrossMappedRegions() throws IOException {
+        String program = "                                   let abcdefghijklmnopqrstuvwxyz0123456789: number = 1;\n" +
+                "       \t print(abcdefghijklmnopqrstuvwxyz0123456789);                                 ";
+        Path file = write(program);
+        try (MappedSource source = new MappedSource(FileChannel.open(file, StandardOpenOption.READ), 4)) {
+            try {
+                new LexerFactory().getMappedTSLexer().lex(source);
+                Assert.fail();
+            } catch (UnknownCharacterException exc) {
+                Assert.assertEquals("Unknown character \"\t\" at line 2, column 8", exc.getMessage());
+            }
+        }
+        program = program.replace('\t', ' ');
+        file = write(program);
+        try (MappedSource source = new MappedSource(FileChannel.open(file, StandardOpenOption.READ), 4)) {
+            Assert.assertEquals(new LexerFactory().getCompiledTSLexer().lex(program), new LexerFactory().getMappedTSLexer().lex(source));
+        }
+    }
+
+    @Test
+    public void shouldReferenceTheSourceByOffset() throws IOException {
+        Path file = write("let abc = 1;");
+        try (MappedSource source = MappedSource.open(file)) {
+            MappedToken identifier = (MappedToken) new LexerFactory().getMappedTSLexer().lex(source).get(1);
+            Assert.assertEquals(4, identifier.getOffset());
+            Assert.assertEquals(3, identifier.getLength());
+            Assert.assertEquals("abc", identifier.getLexeme());
+        }
+    }
+
+    @Test
+    public void shouldDecodeOverlongAndSurrogateSequencesLikeStrings() throws IOException {
+        byte[] overlong = {'p', 'r', 'i', 'n', 't', '(', '"', (byte) 0xC0, (byte) 0xAF, (byte) 0xE0, (byte) 0x80,
+                (byte) 0xAF, (byte) 0xF0, (byte) 0x80, (byte) 0x80, (byte) 0xAF, (byte) 0xED, (byte) 0xA0, (byte) 0x80,
+                (byte) 0xE2, (byte) 0x82, (byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80, (byte) 0xF0, (byte) 0x9F,
+                (byte) 0x98, '"', ')', ';'};
+        Path file = folder.newFile().toPath();
+        Files.write(file, overlong);
+        try (MappedSource source = MappedSource.open(file)) {
+            Assert.assertEquals(
+                    new LexerFactory().getCompiledTSLexer().lex(new String(overlong, StandardCharsets.UTF_8)),
+                    new LexerFactory().getMappedTSLexer().lex(source)
+            );
+        }
+    }
+
+    @Test
+    public void shouldCloseTheChannelWhenItCannotBeMapped() throws IOException {
+        FileChannel channel = FileChannel.open(write(PROGRAM), StandardOpenOption.READ);
+        try {
+            new MappedSource(channel, 31);
+            Assert.fail();
+        } catch (IllegalArgumentException exc) {
+            Assert.assertFalse(channel.isOpen());
+        }
+    }
+
+    @Test(expected = UnknownCharacterException.class)
+    public void shouldThrowLexicalErrorOnUnknownCharacter() throws IOException {
+        Path file = write("let \u00f1 = 2;");
+        try (MappedSource source = MappedSource.open(file)) {
+            new LexerFactory().getMappedTSLexer().lex(source);
+        }
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
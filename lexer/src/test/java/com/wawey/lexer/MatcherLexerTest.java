@@ -115,4 +115,99 @@ public class MatcherLexerTest {
                 lexer.lex("")
         );
     }
+
+    @Test
+    public void shouldNotRunTheMatchersItWasBuiltWith() {
+        TokenMatcher matcher = new AutomataTokenMatcher(TokenType.LET, new AutomataFactory().automataFor("let"));
+        Lexer letLexer = new MatcherLexer(matcher);
+        matcher.match('l');
+        List<Token> expected = Arrays.asList(
+                TokenImpl.forFixedToken(TokenType.LET, 1, 1),
+                new TokenImpl(TokenType.EOF, "", 1, 4)
+        );
+        Assert.assertEquals(expected, letLexer.lex("let"));
+        Assert.assertEquals(expected, letLexer.lex("let"));
+        Assert.assertTrue(matcher.isMatching());
+        Assert.assertFalse(matcher.acceptable());
+    }
+
+    @Test
+    public void lexingTimeShouldGrowLinearlyWithTokenCount() {
+        Lexer lexer = new MatcherLexer(new SingleCharTokenMatcher('a'));
+        String small = repeat('a', 10_000);
+        String medium = repeat('a', 100_000);
+        String large = repeat('a', 1_000_000);
+        for (int i = 0; i < 5; i++) {
+            lexer.lex(medium);
+        }
+
+        long smallTime = timeLexing(lexer, small);
+        long mediumTime = timeLexing(lexer, medium);
+        long largeTime = timeLexing(lexer, large);
+
+        Assert.assertEquals(1_000_001, lexer.lex(large).size());
+        // 10 times the tokens should take about 10 times as long, quadratic growth would take 100 times
+        Assert.assertTrue("10k: " + smallTime + "ns, 100k: " + mediumTime + "ns", mediumTime < smallTime * 40);
+        Assert.assertTrue("100k: " + mediumTime + "ns, 1M: " + largeTime + "ns", largeTime < mediumTime * 40);
+    }
+
+    private static long timeLexing(Lexer lexer, String input) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            lexer.lex(input);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static String repeat(char c, int times) {
+        char[] chars = new char[times];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    /**
+     * Matches a single char without going through an automata, so timing only measures the lexer.
+     */
+    private static class SingleCharTokenMatcher implements TokenMatcher {
+        private final char match;
+        private boolean matched = false;
+
+        SingleCharTokenMatcher(char match) {
+            this.match = match;
+        }
+
+        @Override
+        public boolean isMatching() {
+            return matched;
+        }
+
+        @Override
+        public boolean match(char c) {
+            if (matched || c != match) return false;
+            matched = true;
+            return true;
+        }
+
+        @Override
+        public boolean acceptable() {
+            return matched;
+        }
+
+        @Override
+        public BasicToken getBasicToken() {
+            return new BasicTokenImpl(TokenType.IDENTIFIER, String.valueOf(match));
+        }
+
+        @Override
+        public void reset() {
+            matched = false;
+        }
+
+        @Override
+        public TokenMatcher copy() {
+            return new SingleCharTokenMatcher(match);
+        }
+    }
 }
@@ -0,0 +1,76 @@
+package com.wawey.lexer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class NumberLiteralDecoderTest {
+    @Test
+    public void shouldDecodeLikeParseDouble() {
+        String[] literals = {
+                "0", "0.", "0.0", "05", "1", "1.", "3.14", "0.04", "0.1", "0.3", "10", "52.31",
+                "9007199254740992", "9007199254740993", "9007199254740995", "18446744073709551615",
+                "123456789012345678901234567890", "0.000000000000000000000000000000000000001",
+                "1" + repeat('0', 308), "1" + repeat('0', 309), "0." + repeat('0', 320) + "1",
+                "2.2250738585072011", "2.2250738585072014", "1.7976931348623157" + repeat('0', 292),
+                "4.9406564584124654" + repeat('0', 10) + "0"
+        };
+        for (String literal : literals) {
+            assertDecodes(literal);
+        }
+    }
+
+    @Test
+    public void shouldDecodeRandomLiteralsLikeParseDouble() {
+        Random random = new Random(7);
+        for (int i = 0; i < 200_000; i++) {
+            StringBuilder literal = new StringBuilder();
+            int integerDigits = random.nextInt(25);
+            int fractionDigits = random.nextInt(25);
+            literal.append(integerDigits == 0 ? '0' : (char) ('1' + random.nextInt(9)));
+            for (int d = 1; d < integerDigits; d++) {
+                literal.append((char) ('0' + random.nextInt(10)));
+            }
+            if (fractionDigits > 0 || random.nextBoolean()) {
+                literal.append('.');
+                for (int d = 0; d < fractionDigits; d++) {
+                    literal.append((char) ('0' + random.nextInt(10)));
+                }
+            }
+            assertDecodes(literal.toString());
+        }
+    }
+
+    @Test
+    public void shouldDecodeRandomDoublesLikeParseDouble() {
+        Random random = new Random(11);
+        for (int i = 0; i < 100_000; i++) {
+            double value = Double.longBitsToDouble(random.nextLong() & 0x7FFFFFFFFFFFFFFFL);
+            if (Double.isNaN(value) || Double.isInfinite(value)) continue;
+            assertDecodes(new java.math.BigDecimal(value).round(new java.math.MathContext(1 + random.nextInt(19))).toPlainString());
+        }
+    }
+
+    @Test
+    public void shouldDecodePartOfText() {
+        Assert.assertEquals(2.5, NumberLiteralDecoder.decode("let a = 2.5;", 8, 11), 0);
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void shouldRejectNonDigits() {
+        NumberLiteralDecoder.decode("1.2.3");
+    }
+
+    private static void assertDecodes(String literal) {
+        Assert.assertEquals(literal, Double.doubleToLongBits(Double.parseDouble(literal)), Double.doubleToLongBits(NumberLiteralDecoder.decode(literal)));
+    }
+
+    private static String repeat(char c, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,72 @@
+package com.wawey.lexer;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelLexerTest {
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+    private static final DFALexer SEQUENTIAL = new LexerFactory().getCompiledTSLexer();
+    private static final Lexer PARALLEL = new ParallelLexer(SEQUENTIAL, POOL, 16);
+
+    @AfterClass
+    public static void shutdownPool() {
+        POOL.shutdown();
+    }
+
+    @Test
+    public void shouldLexLikeSequentialLexer() {
+        String[] programs = {
+                "",
+                "print(3);",
+                "let a: number;\na = 3;\nprint(a);",
+                "let a = '\"String-ception\"' + \"'Same here'\";\r\n\r\nprint(a);\r\n",
+                "\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n",
+                "let b: string = \"b\";\n    print(a+b);\n\n",
+                "print(1 + 2 * (3 + 9) * 3 - (52 + 0.31) * 2.1);print(1/3);print(1 + 2 * (3 + 9));"
+        };
+        for (String program : programs) {
+            Assert.assertEquals(program, SEQUENTIAL.lex(program), PARALLEL.lex(program));
+        }
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            large.append("let a").append(i).append(": number = ").append(i).append(".5;\n");
+            if (i % 7 == 0) large.append("\r\n    print(\"line ").append(i).append("\");");
+        }
+        Assert.assertEquals(SEQUENTIAL.lex(large.toString()), PARALLEL.lex(large.toString()));
+    }
+
+    @Test
+    public void shouldGiveSameSymbolsAsSequentialLexer() {
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            large.append("let a").append(i % 37).append(" = b").append(i % 11).append(" + c;\n");
+        }
+        List<Token> expected = SEQUENTIAL.lex(large.toString());
+        List<Token> actual = PARALLEL.lex(large.toString());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals(expected.get(i).getSymbol(), actual.get(i).getSymbol());
+        }
+    }
+
+    @Test
+    public void shouldReportFirstErrorWithItsLine() {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            input.append("let a: number = 1;\n");
+        }
+        input.append("let # = 1;\n");
+        for (int i = 0; i < 100; i++) {
+            input.append("let a: number = @;\n");
+        }
+        try {
+            PARALLEL.lex(input.toString());
+            Assert.fail();
+        } catch (UnknownCharacterException e) {
+            Assert.assertEquals("Unknown character \"#\" at line 101, column 5", e.getMessage());
+        }
+    }
+}
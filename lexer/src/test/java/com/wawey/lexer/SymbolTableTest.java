@@ -0,0 +1,51 @@
+package com.wawey.lexer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class SymbolTableTest {
+
+    @Test
+    public void shouldGiveDenseIdsToDistinctNames() {
+        SymbolTable symbols = new SymbolTable();
+        Assert.assertEquals(0, symbols.intern("a"));
+        Assert.assertEquals(1, symbols.intern("let b = a", 4, 5));
+        Assert.assertEquals(0, symbols.intern(new char[]{' ', 'a'}, 1, 2));
+        Assert.assertEquals(2, symbols.intern("ab"));
+        Assert.assertEquals(3, symbols.size());
+        Assert.assertEquals("b", symbols.getName(1));
+        Assert.assertEquals(2, symbols.lookup("ab"));
+        Assert.assertEquals(SymbolTable.NO_SYMBOL, symbols.lookup("c"));
+    }
+
+    @Test
+    public void shouldKeepIdsWhenGrowing() {
+        SymbolTable symbols = new SymbolTable();
+        for (int i = 0; i < 10000; i++) {
+            Assert.assertEquals(i, symbols.intern("name" + i));
+        }
+        for (int i = 0; i < 10000; i++) {
+            Assert.assertEquals(i, symbols.intern("name" + i));
+            Assert.assertEquals("name" + i, symbols.getName(i));
+        }
+    }
+
+    @Test
+    public void lexersShouldShareLexemesOfTheSameIdentifier() {
+        String input = "let a: number = 1;\nlet b = a + a;\nprint(b);";
+        LexerFactory factory = new LexerFactory();
+        for (Lexer lexer : new Lexer[]{factory.getTSLexer(), factory.getCompiledTSLexer(), factory.getGeneratedTSLexer()}) {
+            List<Token> tokens = lexer.lex(input);
+            Token a = tokens.get(1);
+            Token b = tokens.get(8);
+            Token secondA = tokens.get(12);
+            Assert.assertEquals(0, a.getSymbol());
+            Assert.assertEquals(1, b.getSymbol());
+            Assert.assertEquals(0, secondA.getSymbol());
+            Assert.assertSame(a.getLexeme(), secondA.getLexeme());
+            Assert.assertEquals(SymbolTable.NO_SYMBOL, tokens.get(0).getSymbol());
+        }
+    }
+}
@@ -3,8 +3,12 @@ package com.wawey.lexer;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class TSLexerTest {
     @Test
@@ -151,4 +155,51 @@ public class TSLexerTest {
         );
         Assert.assertEquals(expected, actual);
     }
+
+    @Test
+    public void shouldBuildTheMatchersOnce() {
+        Assert.assertSame(new LexerFactory().getTSLexer(), new LexerFactory().getTSLexer());
+    }
+
+    @Test
+    public void shouldLexManyInputsConcurrentlyWithOneInstance() throws Exception {
+        String[] inputs = {
+                "print(3);",
+                "let a: number = 1 + 2 * (3 - 4);\nprint(\"a\" + a);",
+                "let b: string;\r\nb = 'b';\r\nprint(b);",
+                "let \u00f1 = 2;"
+        };
+        Lexer lexer = new LexerFactory().getTSLexer();
+        List<Object> expected = new ArrayList<>();
+        for (String input : inputs) {
+            expected.add(lexOrError(lexer, input));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        int index = i % inputs.length;
+                        Assert.assertEquals(expected.get(index), lexOrError(lexer, inputs[index]));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Object lexOrError(Lexer lexer, String input) {
+        try {
+            return lexer.lex(input);
+        } catch (UnknownCharacterException exc) {
+            return exc.getMessage();
+        }
+    }
 }
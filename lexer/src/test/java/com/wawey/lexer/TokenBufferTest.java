@@ -0,0 +1,49 @@
+package com.wawey.lexer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TokenBufferTest {
+    private static final String PROGRAM = "let a: number;\r\n\n  a = 3.5;\nprint(\"a is \" + a);";
+
+    @Test
+    public void shouldHoldSameTokensAsLexedList() {
+        DFALexer lexer = new LexerFactory().getCompiledTSLexer();
+        Assert.assertEquals(lexer.lex(PROGRAM), lexer.lexToBuffer(PROGRAM).toList());
+    }
+
+    @Test
+    public void shouldStoreOffsetsIntoTheSource() {
+        TokenBuffer buffer = new LexerFactory().getCompiledTSLexer().lexToBuffer(PROGRAM);
+        Assert.assertEquals(TokenType.NUMBER_LITERAL, buffer.getType(7));
+        Assert.assertEquals(PROGRAM.indexOf("3.5"), buffer.getStart(7));
+        Assert.assertEquals(3, buffer.getLength(7));
+        Assert.assertEquals("3.5", buffer.getLexeme(7));
+        Assert.assertEquals(3, buffer.getLine(7));
+        Assert.assertEquals(7, buffer.getStartColumn(7));
+    }
+
+    @Test
+    public void cursorShouldWalkEveryToken() {
+        TokenBuffer buffer = new LexerFactory().getCompiledTSLexer().lexToBuffer(PROGRAM);
+        TokenBuffer.Cursor cursor = buffer.cursor();
+        int count = 0;
+        while (cursor.next()) {
+            Assert.assertEquals(buffer.get(count), cursor.snapshot());
+            Assert.assertEquals(buffer.getType(count), cursor.getType());
+            count++;
+        }
+        Assert.assertEquals(buffer.size(), count);
+        Assert.assertEquals(TokenType.EOF, buffer.getType(count - 1));
+    }
+
+    @Test
+    public void shouldGrowPastItsInitialCapacity() {
+        TokenBuffer buffer = new TokenBuffer("letletlet", 1);
+        buffer.add(TokenType.LET, 0, 3);
+        buffer.add(TokenType.LET, 3, 3);
+        buffer.add(TokenType.LET, 6, 3);
+        Assert.assertEquals(3, buffer.size());
+        Assert.assertEquals(TokenImpl.forFixedToken(TokenType.LET, 1, 7), buffer.get(2));
+    }
+}
@@ -9,3 +9,9 @@ dependencies {
     testCompile("junit:junit:4.12")
 }
 
+
+tasks.register<JavaExec>("allocationBenchmark") {
+    description = "Prints the bytes the TS parsers allocate per token."
+    classpath = sourceSets["test"].runtimeClasspath
+    main = "com.wawey.parser.ParserAllocationBenchmark"
+}
@@ -1,33 +1,70 @@
 package com.wawey.parser;
 
 import com.wawey.lexer.Token;
-import com.wawey.lexer.TokenType;
+import com.wawey.lexer.TokenBuffer;
 import com.wawey.parser.ast.ASTNode;
 import com.wawey.parser.automata.NoTransitionException;
 import com.wawey.parser.automata.ParserAutomata;
 
-import java.util.List;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
+/**
+ * Parser automatas keep the state of the parse, so a parser built from an automata {@link Supplier} asks
+ * for a new one on every parse and can be shared between threads.
+ */
 public class AutomataParser implements Parser {
-    private final ParserAutomata automata;
+    private final Supplier<? extends ParserAutomata> automataSupplier;
 
+    /**
+     * @deprecated an automata can only run one parse, so the parser throws an {@link IllegalStateException}
+     * when asked for a second one. Use {@link #AutomataParser(Supplier)}.
+     */
+    @Deprecated
     public AutomataParser(ParserAutomata automata) {
-        this.automata = automata;
+        this(once(automata));
+    }
+
+    public AutomataParser(Supplier<? extends ParserAutomata> automataSupplier) {
+        this.automataSupplier = automataSupplier;
     }
 
     @Override
-    public ASTNode parse(List<Token> tokens) {
-        tokens.forEach(t -> {
+    public ASTNode parse(Iterator<Token> tokens) {
+        ParserAutomata automata = automataSupplier.get();
+        while (tokens.hasNext()) {
             try {
-                automata.consume(t);
+                automata.consume(tokens.next());
             } catch (NoTransitionException exc) {
-                if (exc.getToken().getType() == TokenType.EOF) {
-                    throw new UnexpectedEndOfFileException(exc.getToken().getLine(), exc.getToken().getStartColumn());
-                } else {
-                    throw new UnexpectedTokenException(exc.getToken());
-                }
+                throw ParseErrors.unexpected(exc.getToken());
             }
-        });
+        }
         return automata.getResult();
     }
+
+    /**
+     * Consumes the buffer through a single cursor, only creating a {@link Token} if parsing fails.
+     */
+    @Override
+    public ASTNode parse(TokenBuffer tokens) {
+        ParserAutomata automata = automataSupplier.get();
+        TokenBuffer.Cursor cursor = tokens.cursor();
+        while (cursor.next()) {
+            try {
+                automata.consume(cursor);
+            } catch (NoTransitionException exc) {
+                throw ParseErrors.unexpected(cursor.snapshot());
+            }
+        }
+        return automata.getResult();
+    }
+
+    private static Supplier<ParserAutomata> once(ParserAutomata automata) {
+        AtomicBoolean used = new AtomicBoolean();
+        return () -> {
+            if (used.getAndSet(true)) throw new IllegalStateException("parser already used");
+            return automata;
+        };
+    }
 }
@@ -0,0 +1,213 @@
+package com.wawey.parser;
+
+import com.wawey.lexer.Token;
+import com.wawey.lexer.TokenBuffer;
+import com.wawey.parser.ast.ASTNode;
+import com.wawey.parser.ast.CompactTree;
+import com.wawey.parser.ast.NonTerminalNode;
+import com.wawey.parser.grammar.LL1Table;
+import com.wawey.parser.grammar.Symbol;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Predictive parser driven by an {@link LL1Table}.
+ * <p>
+ * The symbols still to parse are kept in an int stack and the nodes built so far in a node stack, along
+ * with where the nodes of each collecting production start. All of them are local to each parse, so a
+ * parser can be shared between threads. Nodes are the only objects created per token, and none at all
+ * when parsing into a {@link CompactTree}.
+ *
+ * @author Tomas Perez Molina
+ */
+public class LL1Parser implements Parser {
+    private static final int INITIAL_STACK_SIZE = 32;
+
+    private final LL1Table table;
+
+    public LL1Parser(LL1Table table) {
+        this.table = table;
+    }
+
+    @Override
+    public ASTNode parse(Iterator<Token> tokens) {
+        return parse(tokens, new NodeStack());
+    }
+
+    /**
+     * Walks the buffer with a single cursor. Tokens are only read while they are the lookahead, so the
+     * cursor can stand for all of them.
+     */
+    @Override
+    public ASTNode parse(TokenBuffer tokens) {
+        return parse(iterate(tokens));
+    }
+
+    /**
+     * Parses into a {@link CompactTree}, the same tree as {@link #parse(Iterator)} in a fraction of the memory.
+     */
+    public CompactTree parseCompact(Iterator<Token> tokens) {
+        return parse(tokens, new HandleStack());
+    }
+
+    public CompactTree parseCompact(List<Token> tokens) {
+        return parseCompact(tokens.iterator());
+    }
+
+    public CompactTree parseCompact(TokenBuffer tokens) {
+        return parseCompact(iterate(tokens));
+    }
+
+    private <T> T parse(Iterator<Token> tokens, Reductions<T> nodes) {
+        int[] symbols = new int[INITIAL_STACK_SIZE];
+        int top = 0;
+        symbols[top++] = table.getStart();
+        int[] marks = new int[INITIAL_STACK_SIZE];
+        int marked = 0;
+        Token last = null;
+        Token token = tokens.hasNext() ? tokens.next() : null;
+        while (top > 0) {
+            int symbol = symbols[--top];
+            if (table.isTerminal(symbol)) {
+                if (token == null) throw ParseErrors.unexpectedEnd(last);
+                if (token.getType().ordinal() != symbol) throw ParseErrors.unexpected(token);
+                nodes.shift(symbol, token);
+                last = token;
+                token = tokens.hasNext() ? tokens.next() : null;
+            } else if (table.isNonTerminal(symbol)) {
+                if (token == null) throw ParseErrors.unexpectedEnd(last);
+                int production = table.predict(symbol, token.getType());
+                if (production == LL1Table.NO_PRODUCTION) throw ParseErrors.unexpected(token);
+                if (table.isCollecting(production)) {
+                    if (marked == marks.length) marks = Arrays.copyOf(marks, marked * 2);
+                    marks[marked++] = nodes.size();
+                }
+                int[] body = table.getReversedBody(production);
+                if (top + body.length > symbols.length) {
+                    symbols = Arrays.copyOf(symbols, Math.max(symbols.length * 2, top + body.length));
+                }
+                System.arraycopy(body, 0, symbols, top, body.length);
+                top += body.length;
+            } else {
+                int arity = table.getActionArity(symbol);
+                if (arity == Symbol.ALL_NODES) arity = nodes.size() - marks[--marked];
+                nodes.reduce(table.getActionRule(symbol), arity);
+            }
+        }
+        if (token != null) throw ParseErrors.unexpected(token);
+        return nodes.result();
+    }
+
+    private static Iterator<Token> iterate(TokenBuffer tokens) {
+        TokenBuffer.Cursor cursor = tokens.cursor();
+        return new Iterator<Token>() {
+            private boolean ready = false;
+            private boolean hasNext;
+
+            @Override
+            public boolean hasNext() {
+                if (!ready) {
+                    hasNext = cursor.next();
+                    ready = true;
+                }
+                return hasNext;
+            }
+
+            @Override
+            public Token next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                ready = false;
+                return cursor;
+            }
+        };
+    }
+
+    /**
+     * The node stack of a parse, whatever the nodes are.
+     */
+    private interface Reductions<T> {
+        /**
+         * Pushes the node of a matched token, if its terminal has one.
+         */
+        void shift(int terminal, Token token);
+
+        /**
+         * Replaces the last arity nodes with a node of rule that has them as children.
+         */
+        void reduce(Rule rule, int arity);
+
+        int size();
+
+        T result();
+    }
+
+    private class NodeStack implements Reductions<ASTNode> {
+        private final List<ASTNode> nodes = new ArrayList<>();
+
+        @Override
+        public void shift(int terminal, Token token) {
+            Function<Token, ASTNode> mapper = table.getNodeMapper(terminal);
+            if (mapper != null) nodes.add(mapper.apply(token));
+        }
+
+        @Override
+        public void reduce(Rule rule, int arity) {
+            if (arity == 1) {
+                nodes.add(new NonTerminalNode(rule, nodes.remove(nodes.size() - 1)));
+            } else {
+                List<ASTNode> children = nodes.subList(nodes.size() - arity, nodes.size());
+                ASTNode node = new NonTerminalNode(rule, new ArrayList<>(children));
+                children.clear();
+                nodes.add(node);
+            }
+        }
+
+        @Override
+        public int size() {
+            return nodes.size();
+        }
+
+        @Override
+        public ASTNode result() {
+            return nodes.get(0);
+        }
+    }
+
+    private class HandleStack implements Reductions<CompactTree> {
+        private final CompactTree.Builder tree = new CompactTree.Builder();
+        private int[] handles = new int[INITIAL_STACK_SIZE];
+        private int size = 0;
+
+        @Override
+        public void shift(int terminal, Token token) {
+            Rule rule = table.getNodeRule(terminal);
+            if (rule != null) push(tree.terminal(rule, token));
+        }
+
+        @Override
+        public void reduce(Rule rule, int arity) {
+            size -= arity;
+            push(tree.nonTerminal(rule, handles, size, arity));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public CompactTree result() {
+            return tree.build(handles[0]);
+        }
+
+        private void push(int handle) {
+            if (size == handles.length) handles = Arrays.copyOf(handles, size * 2);
+            handles[size++] = handle;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.wawey.parser;
+
+import com.wawey.lexer.Token;
+import com.wawey.lexer.TokenType;
+
+/**
+ * Errors shared by the parser implementations, so they all report a bad input the same way.
+ *
+ * @author Tomas Perez Molina
+ */
+final class ParseErrors {
+    private ParseErrors() {
+    }
+
+    static RuntimeException unexpected(Token token) {
+        if (token.getType() == TokenType.EOF) {
+            return new UnexpectedEndOfFileException(token.getLine(), token.getStartColumn());
+        } else {
+            return new UnexpectedTokenException(token);
+        }
+    }
+
+    /**
+     * @param last the last token there was, or null if there were none
+     */
+    static RuntimeException unexpectedEnd(Token last) {
+        if (last == null) return new UnexpectedEndOfFileException(1, 1);
+        return new UnexpectedEndOfFileException(last.getLine(), last.getEndColumn());
+    }
+}
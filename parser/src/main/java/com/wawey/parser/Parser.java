@@ -1,10 +1,24 @@
 package com.wawey.parser;
 
 import com.wawey.lexer.Token;
+import com.wawey.lexer.TokenBuffer;
 import com.wawey.parser.ast.ASTNode;
 
+import java.util.Iterator;
 import java.util.List;
 
 public interface Parser {
-    ASTNode parse(List<Token> tokens);
+    /**
+     * Pulls the tokens one at a time, so they can come straight from a lexer without ever being
+     * collected. Parsing stops at the first unexpected token.
+     */
+    ASTNode parse(Iterator<Token> tokens);
+
+    default ASTNode parse(List<Token> tokens) {
+        return parse(tokens.iterator());
+    }
+
+    default ASTNode parse(TokenBuffer tokens) {
+        return parse(tokens.toList());
+    }
 }
@@ -1,12 +1,39 @@
 package com.wawey.parser;
 
+import com.wawey.lexer.LexerFactory;
 import com.wawey.parser.automata.FileAutomata;
+import com.wawey.parser.grammar.TSGrammar;
 
 /**
  * @author Tomas Perez Molina
  */
 public class ParserFactory {
+    /**
+     * @return a parser that can be shared between threads
+     */
     public Parser getTSParser() {
-        return new AutomataParser(new FileAutomata());
+        return new AutomataParser(FileAutomata::new);
+    }
+
+    /**
+     * @return a table driven parser that builds the same trees as {@link #getTSParser()}, and can be shared between threads
+     */
+    public LL1Parser getLL1TSParser() {
+        return new LL1Parser(TSGrammar.table());
+    }
+
+    /**
+     * @return a table driven parser that builds the trees of {@link #getLL1TSParser()} already lowered by a
+     * {@link com.wawey.parser.ast.ChainCollapser}, and can be shared between threads
+     */
+    public LL1Parser getCollapsingLL1TSParser() {
+        return new LL1Parser(TSGrammar.collapsedTable());
+    }
+
+    /**
+     * @return a parser that lexes its input as it goes with the compiled TS lexer, and can be shared between threads
+     */
+    public StreamingParser getStreamingTSParser() {
+        return new StreamingParser(new LexerFactory().getCompiledTSLexer(), getTSParser());
     }
 }
@@ -0,0 +1,44 @@
+package com.wawey.parser;
+
+import com.wawey.lexer.StreamingLexer;
+import com.wawey.parser.ast.ASTNode;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Lexes and parses in a single pass: the parser pulls each token from the lexer as it needs it, so the
+ * token list is never built. Memory is bounded by the lexer buffer and the tree being built.
+ *
+ * @author Tomas Perez Molina
+ */
+public class StreamingParser {
+    private final StreamingLexer lexer;
+    private final Parser parser;
+
+    public StreamingParser(StreamingLexer lexer, Parser parser) {
+        this.lexer = lexer;
+        this.parser = parser;
+    }
+
+    public ASTNode parse(Reader input) {
+        return parser.parse(lexer.tokens(input));
+    }
+
+    public ASTNode parse(String input) {
+        return parse(new StringReader(input));
+    }
+
+    public ASTNode parse(Path file, Charset charset) {
+        try (Reader reader = Files.newBufferedReader(file, charset)) {
+            return parse(reader);
+        } catch (IOException exc) {
+            throw new UncheckedIOException(exc);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import java.util.List;
 public interface ASTNode {
     Rule getRule();
     int getStartLine();
+    int getStartColumn();
     List<LineColumnRangePair> getColumnRanges();
     <R> R accept(ASTVisitor<R> visitor);
 }
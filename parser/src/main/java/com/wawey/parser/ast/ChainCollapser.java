@@ -0,0 +1,71 @@
+package com.wawey.parser.ast;
+
+import com.wawey.parser.Rule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lowers a tree by replacing the nodes of pass through rules that wrap a single child with that child.
+ * <p>
+ * A wrapper spans exactly what its only child does, so source positions are kept. Subtrees where nothing
+ * is dropped are reused as they are.
+ *
+ * @author Tomas Perez Molina
+ */
+public class ChainCollapser implements ASTVisitor<ASTNode> {
+    /**
+     * Rules the TS grammar only uses to wrap a single node. The interpreter accepts trees with or without
+     * them.
+     */
+    public static final Set<Rule> TS_PASS_THROUGH_RULES = Collections.unmodifiableSet(EnumSet.of(
+            Rule.ADDITIVE_EXPRESSION,
+            Rule.MULTIPLICATIVE_EXPRESSION,
+            Rule.PRIMARY_EXPRESSION,
+            Rule.LITERAL,
+            Rule.STATEMENT,
+            Rule.LINE
+    ));
+
+    private final Set<Rule> passThroughRules;
+
+    public ChainCollapser(Set<Rule> passThroughRules) {
+        this.passThroughRules = EnumSet.copyOf(passThroughRules);
+    }
+
+    public ChainCollapser() {
+        this(TS_PASS_THROUGH_RULES);
+    }
+
+    public ASTNode collapse(ASTNode ast) {
+        return ast.accept(this);
+    }
+
+    @Override
+    public ASTNode visit(NonTerminalNode nonTerminal) {
+        List<ASTNode> children = nonTerminal.getChildren();
+        if (children.size() == 1 && passThroughRules.contains(nonTerminal.getRule())) {
+            return children.get(0).accept(this);
+        }
+        List<ASTNode> collapsed = null;
+        for (int i = 0; i < children.size(); i++) {
+            ASTNode child = children.get(i);
+            ASTNode result = child.accept(this);
+            if (collapsed == null && result != child) {
+                collapsed = new ArrayList<>(children.size());
+                collapsed.addAll(children.subList(0, i));
+            }
+            if (collapsed != null) collapsed.add(result);
+        }
+        if (collapsed == null) return nonTerminal;
+        return new NonTerminalNode(nonTerminal.getRule(), collapsed, nonTerminal.getStartLine(), nonTerminal.getStartColumn());
+    }
+
+    @Override
+    public ASTNode visit(TerminalNode terminal) {
+        return terminal;
+    }
+}
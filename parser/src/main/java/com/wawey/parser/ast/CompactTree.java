@@ -0,0 +1,290 @@
+package com.wawey.parser.ast;
+
+import com.wawey.lexer.LineTable;
+import com.wawey.lexer.NumberLiteralDecoder;
+import com.wawey.lexer.Token;
+import com.wawey.parser.Rule;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Tree stored in primitive arrays, with nodes addressed by int handles.
+ * <p>
+ * Each node takes a byte for its rule ordinal and four adjacent ints: first child, next sibling, offset in
+ * the source and, for terminals, an index into the terminal arrays that hold what only leaves have. The
+ * arrays are allocated in pages of {@value #PAGE_SIZE} nodes, so the tree grows without copying and wastes
+ * at most a page. Children are always added before their parent, so the root is the last node.
+ * <p>
+ * {@link #getNode(int)} wraps a node in the usual {@link ASTNode} classes, for code that walks trees
+ * through {@link ASTVisitor}s.
+ *
+ * @author Tomas Perez Molina
+ */
+public final class CompactTree {
+    public static final int NONE = -1;
+
+    private static final Rule[] RULES = Rule.values();
+    private static final int PAGE_SHIFT = 10;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final int INITIAL_PAGES = 4;
+
+    private static final int NODE_INTS = 4;
+    private static final int FIRST_CHILD = 0;
+    private static final int NEXT_SIBLING = 1;
+    private static final int START = 2;
+    private static final int TERMINAL = 3;
+
+    private byte[][] rulePages = new byte[INITIAL_PAGES][];
+    private int[][] nodePages = new int[INITIAL_PAGES][];
+    private int size = 0;
+
+    private String[][] valuePages = new String[INITIAL_PAGES][];
+    private int[][] symbolPages = new int[INITIAL_PAGES][];
+    private LineTable lines;
+    private LineTable[][] linePages;
+    private int terminalCount = 0;
+
+    private int root = NONE;
+
+    private CompactTree() {
+    }
+
+    public int getRoot() {
+        return root;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Rule getRule(int node) {
+        return RULES[rulePages[node >>> PAGE_SHIFT][node & PAGE_MASK]];
+    }
+
+    /**
+     * @return the first child of node, or {@link #NONE} if it is a terminal
+     */
+    public int getFirstChild(int node) {
+        return get(node, FIRST_CHILD);
+    }
+
+    /**
+     * @return the next child of the parent of node, or {@link #NONE} if node is the last one
+     */
+    public int getNextSibling(int node) {
+        return get(node, NEXT_SIBLING);
+    }
+
+    public int getChildCount(int node) {
+        int count = 0;
+        for (int child = getFirstChild(node); child != NONE; child = getNextSibling(child)) count++;
+        return count;
+    }
+
+    public boolean isTerminal(int node) {
+        return get(node, TERMINAL) != NONE;
+    }
+
+    /**
+     * @return the offset in the source of the first token of node
+     */
+    public int getStart(int node) {
+        return get(node, START);
+    }
+
+    public int getStartLine(int node) {
+        return lineTable(firstTerminal(node)).getLine(getStart(node));
+    }
+
+    public int getStartColumn(int node) {
+        return lineTable(firstTerminal(node)).getColumn(getStart(node));
+    }
+
+    /**
+     * @return the lexeme of a terminal node
+     */
+    public String getValue(int node) {
+        int terminal = terminal(node);
+        return valuePages[terminal >>> PAGE_SHIFT][terminal & PAGE_MASK];
+    }
+
+    public double getNumberValue(int node) {
+        return NumberLiteralDecoder.decode(getValue(node));
+    }
+
+    public int getSymbol(int node) {
+        int terminal = terminal(node);
+        return symbolPages[terminal >>> PAGE_SHIFT][terminal & PAGE_MASK];
+    }
+
+    public ASTNode getRootNode() {
+        return getNode(root);
+    }
+
+    /**
+     * @return a view of node as an {@link ASTNode}. Views are built when asked for and not cached, so
+     * they should not be kept around longer than needed.
+     */
+    public ASTNode getNode(int node) {
+        int terminal = get(node, TERMINAL);
+        if (terminal == NONE) {
+            return new NonTerminalNode(getRule(node), new Children(node), getStartLine(node), getStartColumn(node));
+        }
+        int start = getStart(node);
+        LineTable lines = lineTable(terminal);
+        String value = valuePages[terminal >>> PAGE_SHIFT][terminal & PAGE_MASK];
+        switch (getRule(node)) {
+            case IDENTIFIER:
+                return new IdentifierNode(start, lines, value, symbolPages[terminal >>> PAGE_SHIFT][terminal & PAGE_MASK]);
+            case NUMBER_LITERAL:
+                return new NumberLiteralNode(start, lines, value, NumberLiteralDecoder.decode(value));
+            case STRING_LITERAL:
+                return new StringLiteralNode(start, lines, value);
+            case NUMBER_TYPE:
+                return new NumberTypeNode(start, lines);
+            case STRING_TYPE:
+                return new StringTypeNode(start, lines);
+            default:
+                return new TerminalNode(getRule(node), start, lines, value);
+        }
+    }
+
+    private int get(int node, int field) {
+        return nodePages[node >>> PAGE_SHIFT][((node & PAGE_MASK) * NODE_INTS) + field];
+    }
+
+    private void set(int node, int field, int value) {
+        nodePages[node >>> PAGE_SHIFT][((node & PAGE_MASK) * NODE_INTS) + field] = value;
+    }
+
+    private int terminal(int node) {
+        int terminal = get(node, TERMINAL);
+        if (terminal == NONE) throw new IllegalArgumentException("Node " + node + " is not a terminal");
+        return terminal;
+    }
+
+    private int firstTerminal(int node) {
+        int terminal;
+        while ((terminal = get(node, TERMINAL)) == NONE) node = getFirstChild(node);
+        return terminal;
+    }
+
+    private LineTable lineTable(int terminal) {
+        if (linePages == null) return lines;
+        return linePages[terminal >>> PAGE_SHIFT][terminal & PAGE_MASK];
+    }
+
+    private int addNode(Rule rule, int firstChild, int start, int terminal) {
+        int node = size++;
+        int page = node >>> PAGE_SHIFT;
+        if ((node & PAGE_MASK) == 0) {
+            if (page == nodePages.length) {
+                rulePages = Arrays.copyOf(rulePages, page * 2);
+                nodePages = Arrays.copyOf(nodePages, page * 2);
+            }
+            rulePages[page] = new byte[PAGE_SIZE];
+            nodePages[page] = new int[PAGE_SIZE * NODE_INTS];
+        }
+        rulePages[page][node & PAGE_MASK] = (byte) rule.ordinal();
+        set(node, FIRST_CHILD, firstChild);
+        set(node, NEXT_SIBLING, NONE);
+        set(node, START, start);
+        set(node, TERMINAL, terminal);
+        return node;
+    }
+
+    private int addTerminal(Token token) {
+        int terminal = terminalCount++;
+        int page = terminal >>> PAGE_SHIFT;
+        if ((terminal & PAGE_MASK) == 0) {
+            if (page == valuePages.length) {
+                valuePages = Arrays.copyOf(valuePages, page * 2);
+                symbolPages = Arrays.copyOf(symbolPages, page * 2);
+                if (linePages != null) linePages = Arrays.copyOf(linePages, page * 2);
+            }
+            valuePages[page] = new String[PAGE_SIZE];
+            symbolPages[page] = new int[PAGE_SIZE];
+            if (linePages != null) linePages[page] = new LineTable[PAGE_SIZE];
+        }
+        valuePages[page][terminal & PAGE_MASK] = token.getLexeme();
+        symbolPages[page][terminal & PAGE_MASK] = token.getSymbol();
+        LineTable tokenLines = token.getLineTable();
+        if (terminal == 0) {
+            lines = tokenLines;
+        } else if (linePages == null && tokenLines != lines) {
+            splitLineTables();
+        }
+        if (linePages != null) linePages[page][terminal & PAGE_MASK] = tokenLines;
+        return terminal;
+    }
+
+    /**
+     * Tokens of one lexer run share a line table, so a table per terminal is only kept once tokens
+     * with different ones show up.
+     */
+    private void splitLineTables() {
+        linePages = new LineTable[valuePages.length][];
+        for (int page = 0; page <= (terminalCount - 1) >>> PAGE_SHIFT; page++) {
+            linePages[page] = new LineTable[PAGE_SIZE];
+            Arrays.fill(linePages[page], lines);
+        }
+    }
+
+    private class Children extends AbstractList<ASTNode> implements RandomAccess {
+        private final int[] nodes;
+
+        Children(int parent) {
+            int[] nodes = new int[getChildCount(parent)];
+            int i = 0;
+            for (int child = getFirstChild(parent); child != NONE; child = getNextSibling(child)) nodes[i++] = child;
+            this.nodes = nodes;
+        }
+
+        @Override
+        public ASTNode get(int index) {
+            return getNode(nodes[index]);
+        }
+
+        @Override
+        public int size() {
+            return nodes.length;
+        }
+    }
+
+    public static class Builder {
+        private CompactTree tree = new CompactTree();
+
+        /**
+         * @return the handle of a new leaf of rule for token
+         */
+        public int terminal(Rule rule, Token token) {
+            return tree.addNode(rule, NONE, token.getStart(), tree.addTerminal(token));
+        }
+
+        /**
+         * @return the handle of a new node of rule whose children are the count nodes of children starting at
+         * offset
+         */
+        public int nonTerminal(Rule rule, int[] children, int offset, int count) {
+            if (count == 0) throw new IllegalStateException("Non terminal node must have at least one child");
+            int first = children[offset];
+            for (int i = 1; i < count; i++) {
+                tree.set(children[offset + i - 1], NEXT_SIBLING, children[offset + i]);
+            }
+            return tree.addNode(rule, first, tree.getStart(first), NONE);
+        }
+
+        /**
+         * @return the tree with the given root. The builder cannot be used afterwards.
+         */
+        public CompactTree build(int root) {
+            CompactTree result = tree;
+            tree = null;
+            result.root = root;
+            return result;
+        }
+    }
+}
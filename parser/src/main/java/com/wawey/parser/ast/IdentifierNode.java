@@ -1,9 +1,36 @@
 package com.wawey.parser.ast;
 
+import com.wawey.lexer.LineTable;
+import com.wawey.lexer.SymbolTable;
+import com.wawey.lexer.Token;
 import com.wawey.parser.Rule;
 
+/**
+ * Identifier, along with the id the lexer interned it with.
+ */
 public class IdentifierNode extends TerminalNode{
+    private final int symbol;
+
     public IdentifierNode(int line, int startColumn, String value) {
         super(Rule.IDENTIFIER, line, startColumn, value);
+        this.symbol = SymbolTable.NO_SYMBOL;
+    }
+
+    public IdentifierNode(Token token) {
+        super(Rule.IDENTIFIER, token);
+        this.symbol = token.getSymbol();
+    }
+
+    public IdentifierNode(int start, LineTable lines, String value, int symbol) {
+        super(Rule.IDENTIFIER, start, lines, value);
+        this.symbol = symbol;
+    }
+
+    /**
+     * @return the id of the identifier in the {@link SymbolTable} of its compilation, or
+     * {@link SymbolTable#NO_SYMBOL} if the lexer did not intern it
+     */
+    public int getSymbol() {
+        return symbol;
     }
 }
@@ -3,17 +3,35 @@ package com.wawey.parser.ast;
 import com.wawey.parser.*;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
+/**
+ * Inner node of the tree. Where it starts is taken from its first child when it is built, so errors can be
+ * located without walking down the tree; its column ranges are merged from its children the first time
+ * they are asked for and kept.
+ */
 public class NonTerminalNode implements ASTNode {
     private final Rule rule;
     private final List<ASTNode> children;
+    private final int startLine;
+    private final int startColumn;
+    private List<LineColumnRangePair> columnRanges;
 
     public NonTerminalNode(Rule rule, List<ASTNode> children) {
         if (children.size() == 0)
             throw new IllegalStateException("Non terminal node must have at least one child");
         this.rule = rule;
         this.children = children;
+        this.startLine = children.get(0).getStartLine();
+        this.startColumn = children.get(0).getStartColumn();
+    }
+
+    NonTerminalNode(Rule rule, List<ASTNode> children, int startLine, int startColumn) {
+        if (children.size() == 0)
+            throw new IllegalStateException("Non terminal node must have at least one child");
+        this.rule = rule;
+        this.children = children;
+        this.startLine = startLine;
+        this.startColumn = startColumn;
     }
 
     public NonTerminalNode(Rule rule, ASTNode child) {
@@ -34,7 +52,12 @@ public class NonTerminalNode implements ASTNode {
 
     @Override
     public int getStartLine() {
-        return children.get(0).getStartLine();
+        return startLine;
+    }
+
+    @Override
+    public int getStartColumn() {
+        return startColumn;
     }
 
     @Override
@@ -42,26 +65,31 @@ public class NonTerminalNode implements ASTNode {
         return visitor.visit(this);
     }
 
+    /**
+     * Children come in source order, so their ranges are already sorted by line and only the last line
+     * of a child can be shared with the next one; those get joined into a single range.
+     */
     @Override
     public List<LineColumnRangePair> getColumnRanges() {
-        Map<Integer, List<LineColumnRangePair>> byLine =
-                children.stream()
-                        .flatMap(n -> n.getColumnRanges().stream())
-                        .collect(Collectors.groupingBy(LineColumnRangePair::getLine));
-        return byLine.entrySet().stream()
-                .sorted(Comparator.comparingInt(Map.Entry::getKey))
-                .map(ps -> unifyRanges(ps.getKey(), ps.getValue()))
-                .collect(Collectors.toList());
-    }
-
-    private LineColumnRangePair unifyRanges(int line, List<LineColumnRangePair> ranges) {
-        return ranges.stream()
-                .reduce((r1, r2) ->
-                        new LineColumnRangePairImpl(
-                                line,
-                                new RangeImpl(r1.getColumnRange().getStart(), r2.getColumnRange().getEnd())
-                        ))
-                .get();
+        List<LineColumnRangePair> result = columnRanges;
+        if (result != null) return result;
+        List<LineColumnRangePair> merged = new ArrayList<>();
+        for (ASTNode child : children) {
+            for (LineColumnRangePair range : child.getColumnRanges()) {
+                int last = merged.size() - 1;
+                if (last >= 0 && merged.get(last).getLine() == range.getLine()) {
+                    merged.set(last, new LineColumnRangePairImpl(
+                            range.getLine(),
+                            new RangeImpl(merged.get(last).getColumnRange().getStart(), range.getColumnRange().getEnd())
+                    ));
+                } else {
+                    merged.add(range);
+                }
+            }
+        }
+        result = merged.size() == 1 ? Collections.singletonList(merged.get(0)) : Collections.unmodifiableList(merged);
+        columnRanges = result;
+        return result;
     }
 
     @Override
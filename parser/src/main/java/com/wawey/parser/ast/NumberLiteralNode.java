@@ -1,9 +1,36 @@
 package com.wawey.parser.ast;
 
+import com.wawey.lexer.LineTable;
+import com.wawey.lexer.NumberLiteralDecoder;
+import com.wawey.lexer.Token;
 import com.wawey.parser.Rule;
 
+/**
+ * Number literal, along with the value the lexer decoded from it.
+ */
 public class NumberLiteralNode extends TerminalNode {
+    private final double numberValue;
+
     public NumberLiteralNode(int line, int startColumn, String value) {
+        this(line, startColumn, value, NumberLiteralDecoder.decode(value));
+    }
+
+    public NumberLiteralNode(int line, int startColumn, String value, double numberValue) {
         super(Rule.NUMBER_LITERAL, line, startColumn, value);
+        this.numberValue = numberValue;
+    }
+
+    public NumberLiteralNode(Token token) {
+        super(Rule.NUMBER_LITERAL, token);
+        this.numberValue = token.getNumberValue();
+    }
+
+    public NumberLiteralNode(int start, LineTable lines, String value, double numberValue) {
+        super(Rule.NUMBER_LITERAL, start, lines, value);
+        this.numberValue = numberValue;
+    }
+
+    public double getNumberValue() {
+        return numberValue;
     }
 }
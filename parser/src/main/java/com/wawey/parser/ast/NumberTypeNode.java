@@ -1,9 +1,19 @@
 package com.wawey.parser.ast;
 
+import com.wawey.lexer.LineTable;
+import com.wawey.lexer.Token;
 import com.wawey.parser.Rule;
 
 public class NumberTypeNode extends TerminalNode{
     public NumberTypeNode(int line, int startColumn) {
         super(Rule.NUMBER_TYPE, line, startColumn, "number");
     }
+
+    public NumberTypeNode(Token token) {
+        super(Rule.NUMBER_TYPE, token);
+    }
+
+    public NumberTypeNode(int start, LineTable lines) {
+        super(Rule.NUMBER_TYPE, start, lines, "number");
+    }
 }
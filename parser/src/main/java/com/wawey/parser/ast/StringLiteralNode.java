@@ -1,9 +1,19 @@
 package com.wawey.parser.ast;
 
+import com.wawey.lexer.LineTable;
+import com.wawey.lexer.Token;
 import com.wawey.parser.Rule;
 
 public class StringLiteralNode extends TerminalNode {
     public StringLiteralNode(int line, int startColumn, String value) {
         super(Rule.STRING_LITERAL, line, startColumn, value);
     }
+
+    public StringLiteralNode(Token token) {
+        super(Rule.STRING_LITERAL, token);
+    }
+
+    public StringLiteralNode(int start, LineTable lines, String value) {
+        super(Rule.STRING_LITERAL, start, lines, value);
+    }
 }
@@ -1,9 +1,19 @@
 package com.wawey.parser.ast;
 
+import com.wawey.lexer.LineTable;
+import com.wawey.lexer.Token;
 import com.wawey.parser.Rule;
 
 public class StringTypeNode extends TerminalNode{
     public StringTypeNode(int line, int startColumn) {
         super(Rule.STRING_TYPE, line, startColumn, "string");
     }
+
+    public StringTypeNode(Token token) {
+        super(Rule.STRING_TYPE, token);
+    }
+
+    public StringTypeNode(int start, LineTable lines) {
+        super(Rule.STRING_TYPE, start, lines, "string");
+    }
 }
@@ -1,30 +1,54 @@
 package com.wawey.parser.ast;
 
+import com.wawey.lexer.LineTable;
+import com.wawey.lexer.Token;
 import com.wawey.parser.*;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
+/**
+ * Leaf of the tree. Like tokens, it only keeps its offset in the source; line and column ranges are
+ * built from the {@link LineTable} when asked for.
+ */
 public class TerminalNode implements ASTNode {
     private final String value;
     private final Rule rule;
-    private final LineColumnRangePair lineColumnRangePair;
+    private final int start;
+    private final LineTable lines;
 
     public TerminalNode(Rule rule, int line, int startColumn, String value) {
+        this(rule, startColumn - 1, LineTable.singleLine(line), value);
+    }
+
+    public TerminalNode(Rule rule, Token token) {
+        this(rule, token.getStart(), token.getLineTable(), token.getLexeme());
+    }
+
+    public TerminalNode(Rule rule, int start, LineTable lines, String value) {
         this.rule = rule;
         this.value = value;
-        this.lineColumnRangePair = new LineColumnRangePairImpl(line, new RangeImpl(startColumn, startColumn + value.length()));
+        this.start = start;
+        this.lines = lines;
     }
 
     @Override
     public int getStartLine() {
-        return lineColumnRangePair.getLine();
+        return lines.getLine(start);
+    }
+
+    @Override
+    public int getStartColumn() {
+        return lines.getColumn(start);
     }
 
     @Override
     public List<LineColumnRangePair> getColumnRanges() {
-        return Collections.singletonList(lineColumnRangePair);
+        int startColumn = getStartColumn();
+        return Collections.singletonList(
+                new LineColumnRangePairImpl(getStartLine(), new RangeImpl(startColumn, startColumn + value.length()))
+        );
     }
 
     public String getValue() {
@@ -48,12 +72,13 @@ public class TerminalNode implements ASTNode {
         TerminalNode that = (TerminalNode) o;
         return Objects.equals(value, that.value) &&
                 rule == that.rule &&
-                Objects.equals(lineColumnRangePair, that.lineColumnRangePair);
+                getStartLine() == that.getStartLine() &&
+                getStartColumn() == that.getStartColumn();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(value, rule, lineColumnRangePair);
+        return Objects.hash(value, rule, getStartLine(), getStartColumn());
     }
 
     @Override
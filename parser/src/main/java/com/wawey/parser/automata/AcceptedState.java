@@ -1,25 +1,23 @@
 package com.wawey.parser.automata;
 
-import com.wawey.helper.ImmutableStack;
 import com.wawey.lexer.Token;
-import com.wawey.parser.ast.ASTNode;
 
 /**
  * @author Tomas Perez Molina
  */
 public class AcceptedState implements ParserAutomataState {
-    @Override
-    public boolean isAcceptable() {
-        return true;
+    public static final AcceptedState INSTANCE = new AcceptedState();
+
+    private AcceptedState() {
     }
 
     @Override
-    public boolean accepts(Token token) {
-        return false;
+    public boolean isAcceptable() {
+        return true;
     }
 
     @Override
-    public StateChange transition(Token token, ImmutableStack<ASTNode> stack) {
-        throw new NoTransitionException(token);
+    public Transition transitionFor(Token token) {
+        return null;
     }
 }
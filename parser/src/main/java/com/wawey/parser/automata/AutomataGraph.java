@@ -0,0 +1,63 @@
+package com.wawey.parser.automata;
+
+import com.wawey.parser.Rule;
+import com.wawey.parser.ast.ASTNode;
+import com.wawey.parser.ast.NonTerminalNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EmptyStackException;
+import java.util.List;
+
+/**
+ * The states of an automata and the node it builds from what its states pushed.
+ * <p>
+ * Graphs are built once, as the {@code GRAPH} of each automata class, and shared by every parse.
+ *
+ * @author Tomas Perez Molina
+ */
+public class AutomataGraph {
+    private final Rule rule;
+    private final ParserAutomataState initialState;
+    private final boolean passThrough;
+
+    private AutomataGraph(Rule rule, ParserAutomataState initialState, boolean passThrough) {
+        this.rule = rule;
+        this.initialState = initialState;
+        this.passThrough = passThrough;
+    }
+
+    /**
+     * @return a graph whose result is a node of rule with everything pushed by its states
+     */
+    public static AutomataGraph of(Rule rule, ParserAutomataState initialState) {
+        return new AutomataGraph(rule, initialState, false);
+    }
+
+    /**
+     * @return a graph whose result is the last node pushed by its states
+     */
+    public static AutomataGraph passThrough(Rule rule, ParserAutomataState initialState) {
+        return new AutomataGraph(rule, initialState, true);
+    }
+
+    public Rule getRule() {
+        return rule;
+    }
+
+    public ParserAutomataState getInitialState() {
+        return initialState;
+    }
+
+    /**
+     * @param nodes what the states pushed, which is copied if kept
+     */
+    ASTNode result(List<ASTNode> nodes) {
+        if (passThrough) {
+            if (nodes.isEmpty()) throw new EmptyStackException();
+            return nodes.get(nodes.size() - 1);
+        }
+        if (nodes.size() == 1) return new NonTerminalNode(rule, Collections.singletonList(nodes.get(0)));
+        return new NonTerminalNode(rule, new ArrayList<>(nodes));
+    }
+}
@@ -1,29 +1,30 @@
 package com.wawey.parser.automata;
 
 import com.wawey.parser.Rule;
-import com.wawey.parser.ast.ASTNode;
-import com.wawey.parser.ast.NonTerminalNode;
-
-import java.util.LinkedList;
-import java.util.List;
 
 /**
  * @author Tomas Perez Molina
  */
 public class CoverInitializedNameAutomata extends ParserAutomataImpl {
+    static final AutomataGraph GRAPH = AutomataGraph.of(Rule.COVER_INITIALIZED_NAME, InitialState.INSTANCE);
+
     public CoverInitializedNameAutomata() {
-        super(Rule.COVER_INITIALIZED_NAME, new InitialState());
+        super(GRAPH);
     }
 
     private static class InitialState extends TransitionState {
-        public InitialState() {
-            super(new TransitionToAutomata(new IdentifierAutomata(), GotIdentifierState::new));
+        static final InitialState INSTANCE = new InitialState();
+
+        private InitialState() {
+            super(new TransitionToAutomata(() -> IdentifierAutomata.GRAPH, () -> GotIdentifierState.INSTANCE));
         }
     }
 
     private static class GotIdentifierState extends TransitionState {
-        public GotIdentifierState() {
-            super(new TransitionToAutomata(new InitializerAutomata(), AcceptedState::new));
+        static final GotIdentifierState INSTANCE = new GotIdentifierState();
+
+        private GotIdentifierState() {
+            super(new TransitionToAutomata(() -> InitializerAutomata.GRAPH, () -> AcceptedState.INSTANCE));
         }
     }
 }
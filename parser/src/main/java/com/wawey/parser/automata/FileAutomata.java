@@ -1,43 +1,30 @@
 package com.wawey.parser.automata;
 
-import com.wawey.helper.ImmutableStack;
-import com.wawey.lexer.Token;
 import com.wawey.lexer.TokenType;
 import com.wawey.parser.Rule;
-import com.wawey.parser.ast.ASTNode;
 
 public class FileAutomata extends ParserAutomataImpl {
+    static final AutomataGraph GRAPH = AutomataGraph.of(Rule.FILE, InitialState.INSTANCE);
+
     public FileAutomata() {
-        super(Rule.FILE, new InitialState());
+        super(GRAPH);
     }
 
     private static class InitialState extends TransitionState {
-        public InitialState() {
+        static final InitialState INSTANCE = new InitialState();
+
+        private InitialState() {
             super(
-                    new TransitionToAutomata(new ProgramAutomata(), GotFileState::new)
+                    new TransitionToAutomata(() -> ProgramAutomata.GRAPH, () -> GotFileState.INSTANCE)
             );
         }
     }
 
-    private static class GotFileState implements ParserAutomataState {
-        @Override
-        public StateChange transition(Token token, ImmutableStack<ASTNode> stack) {
-            if (accepts(token)) {
-                return new StateChangeImpl(
-                        new AcceptedState(),
-                        stack
-                );
-            } else throw new NoTransitionException(token);
-        }
-
-        @Override
-        public boolean isAcceptable() {
-            return false;
-        }
+    private static class GotFileState extends TransitionState {
+        static final GotFileState INSTANCE = new GotFileState();
 
-        @Override
-        public boolean accepts(Token token) {
-            return token.getType() == TokenType.EOF;
+        private GotFileState() {
+            super(new TokenTransition(TokenType.EOF, () -> AcceptedState.INSTANCE));
         }
     }
 }
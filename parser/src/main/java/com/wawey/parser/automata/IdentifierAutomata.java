@@ -5,12 +5,9 @@ import com.wawey.parser.Rule;
 import com.wawey.parser.ast.IdentifierNode;
 
 public class IdentifierAutomata extends TerminalNodeAutomata {
+    static final AutomataGraph GRAPH = graph(Rule.IDENTIFIER, TokenType.IDENTIFIER, IdentifierNode::new);
 
     public IdentifierAutomata() {
-        super(
-                Rule.IDENTIFIER,
-                TokenType.IDENTIFIER,
-                token -> new IdentifierNode(token.getLine(), token.getStartColumn(), token.getLexeme())
-        );
+        super(GRAPH);
     }
 }
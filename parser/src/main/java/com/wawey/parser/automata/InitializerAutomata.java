@@ -1,38 +1,31 @@
 package com.wawey.parser.automata;
 
-import com.wawey.helper.ImmutableStack;
-import com.wawey.lexer.Token;
 import com.wawey.lexer.TokenType;
 import com.wawey.parser.Rule;
-import com.wawey.parser.ast.ASTNode;
 
 /**
  * @author Tomas Perez Molina
  */
 public class InitializerAutomata extends ParserAutomataImpl {
+    static final AutomataGraph GRAPH = AutomataGraph.of(Rule.INITIALIZER, InitialState.INSTANCE);
+
     public InitializerAutomata() {
-        super(Rule.INITIALIZER, new InitialState());
+        super(GRAPH);
     }
 
-    private static class InitialState implements ParserAutomataState {
-        @Override
-        public StateChange transition(Token token, ImmutableStack<ASTNode> stack) {
-            if (accepts(token)) {
-                return new StateChangeImpl(
-                        new InnerAutomataState(new AdditiveExpressionAutomata(), AcceptedState::new),
-                        stack
-                );
-            } else throw new NoTransitionException(token);
-        }
+    private static class InitialState extends TransitionState {
+        static final InitialState INSTANCE = new InitialState();
 
-        @Override
-        public boolean isAcceptable() {
-            return false;
+        private InitialState() {
+            super(new TokenTransition(TokenType.EQUALS, () -> ExpressionState.INSTANCE));
         }
+    }
+
+    private static class ExpressionState extends TransitionState {
+        static final ExpressionState INSTANCE = new ExpressionState();
 
-        @Override
-        public boolean accepts(Token token) {
-            return token.getType() == TokenType.EQUALS;
+        private ExpressionState() {
+            super(new TransitionToAutomata(() -> AdditiveExpressionAutomata.GRAPH, () -> AcceptedState.INSTANCE));
         }
     }
 }
@@ -1,44 +1,31 @@
 package com.wawey.parser.automata;
 
-import com.wawey.helper.ImmutableStack;
-import com.wawey.lexer.Token;
 import com.wawey.lexer.TokenType;
 import com.wawey.parser.Rule;
-import com.wawey.parser.ast.ASTNode;
 
 /**
  * @author Tomas Perez Molina
  */
 public class LineAutomata extends ParserAutomataImpl {
+    static final AutomataGraph GRAPH = AutomataGraph.of(Rule.LINE, InitialState.INSTANCE);
+
     public LineAutomata() {
-        super(Rule.LINE, new InitialState());
+        super(GRAPH);
     }
 
     private static class InitialState extends TransitionState {
-        public InitialState() {
-            super(new TransitionToAutomata(new StatementAutomata(), GotStatementState::new));
-        }
-    }
+        static final InitialState INSTANCE = new InitialState();
 
-    private static class GotStatementState implements ParserAutomataState {
-        @Override
-        public StateChange transition(Token token, ImmutableStack<ASTNode> stack) {
-            if (accepts(token)) {
-                return new StateChangeImpl(
-                        new AcceptedState(),
-                        stack
-                );
-            } else throw new NoTransitionException(token);
+        private InitialState() {
+            super(new TransitionToAutomata(() -> StatementAutomata.GRAPH, () -> GotStatementState.INSTANCE));
         }
+    }
 
-        @Override
-        public boolean isAcceptable() {
-            return false;
-        }
+    private static class GotStatementState extends TransitionState {
+        static final GotStatementState INSTANCE = new GotStatementState();
 
-        @Override
-        public boolean accepts(Token token) {
-            return token.getType() == TokenType.SEMICOLON;
+        private GotStatementState() {
+            super(new TokenTransition(TokenType.SEMICOLON, () -> AcceptedState.INSTANCE));
         }
     }
 }
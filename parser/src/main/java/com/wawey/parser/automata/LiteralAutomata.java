@@ -1,20 +1,21 @@
 package com.wawey.parser.automata;
 
 import com.wawey.parser.Rule;
-import com.wawey.parser.ast.ASTNode;
-import com.wawey.parser.ast.NonTerminalNode;
 
 public class LiteralAutomata extends ParserAutomataImpl {
+    static final AutomataGraph GRAPH = AutomataGraph.of(Rule.LITERAL, InitialState.INSTANCE);
 
     public LiteralAutomata() {
-        super(Rule.LITERAL, new InitialState());
+        super(GRAPH);
     }
 
     private static class InitialState extends TransitionState {
-        public InitialState() {
+        static final InitialState INSTANCE = new InitialState();
+
+        private InitialState() {
             super(
-                    new TransitionToAutomata(new NumberLiteralAutomata(), AcceptedState::new),
-                    new TransitionToAutomata(new StringLiteralAutomata(), AcceptedState::new)
+                    new TransitionToAutomata(() -> NumberLiteralAutomata.GRAPH, () -> AcceptedState.INSTANCE),
+                    new TransitionToAutomata(() -> StringLiteralAutomata.GRAPH, () -> AcceptedState.INSTANCE)
             );
         }
     }
@@ -1,83 +1,56 @@
 package com.wawey.parser.automata;
 
-import com.wawey.helper.ImmutableStack;
-import com.wawey.lexer.Token;
 import com.wawey.lexer.TokenType;
 import com.wawey.parser.Rule;
-import com.wawey.parser.ast.ASTNode;
-import com.wawey.parser.ast.NonTerminalNode;
-
-import java.util.Stack;
 
 public class MultiplicativeExpressionAutomata extends ParserAutomataImpl {
+    static final AutomataGraph GRAPH = AutomataGraph.of(Rule.MULTIPLICATIVE_EXPRESSION, InitialState.INSTANCE);
 
     public MultiplicativeExpressionAutomata() {
-        super(Rule.MULTIPLICATIVE_EXPRESSION, new InitialState());
+        super(GRAPH);
     }
 
     private static class InitialState extends TransitionState {
-        public InitialState() {
+        static final InitialState INSTANCE = new InitialState();
+
+        private InitialState() {
             super(
-                    new TransitionToAutomata(new PrimaryExpressionAutomata(), DivideOrMultiplyState::new)
+                    new TransitionToAutomata(() -> PrimaryExpressionAutomata.GRAPH, () -> DivideOrMultiplyState.INSTANCE)
             );
         }
     }
 
     private static class DivideOrMultiplyState extends TransitionState {
+        static final DivideOrMultiplyState INSTANCE = new DivideOrMultiplyState();
 
-        public DivideOrMultiplyState() {
+        private DivideOrMultiplyState() {
             super(
                     true,
-                    new Transition() {
-                        @Override
-                        public boolean consumes(Token token) {
-                            return token.getType() == TokenType.ASTERISK;
-                        }
+                    new TokenTransition(
+                            TokenType.ASTERISK,
+                            ParseFrames.wrap(Rule.MULTIPLICATIVE_EXPRESSION),
+                            () -> OperandState.MULTIPLY
+                    ),
+                    new TokenTransition(
+                            TokenType.FORWARD_SLASH,
+                            ParseFrames.wrap(Rule.MULTIPLICATIVE_EXPRESSION),
+                            () -> OperandState.DIVIDE
+                    )
+            );
+        }
+    }
 
-                        @Override
-                        public StateChange nextState(Token token, ImmutableStack<ASTNode> stack) {
-                            ImmutableStack.PopResult<ASTNode> popResult = stack.pop();
-                            ASTNode left = popResult.getElement();
-                            ImmutableStack<ASTNode> newStack =
-                                    popResult.getStack()
-                                            .push(new NonTerminalNode(Rule.MULTIPLICATIVE_EXPRESSION, left));
-                            return new StateChangeImpl(
-                                    new InnerAutomataState(new PrimaryExpressionAutomata(), DivideOrMultiplyState::new, (s) -> {
-                                        ImmutableStack.PopResult<ASTNode> popResult1 = s.pop();
-                                        ImmutableStack.PopResult<ASTNode> popResult2 = popResult1.getStack().pop();
-                                        ASTNode r = popResult1.getElement();
-                                        ASTNode l = popResult2.getElement();
-                                        return popResult2.getStack().push(new NonTerminalNode(Rule.MULTIPLY_EXPRESSION, l, r));
-                                    }),
-                                    newStack
-                            );
-                        }
-                    },
-                    new Transition() {
-                        @Override
-                        public boolean consumes(Token token) {
-                            return token.getType() == TokenType.FORWARD_SLASH;
-                        }
+    private static class OperandState extends TransitionState {
+        static final OperandState MULTIPLY = new OperandState(Rule.MULTIPLY_EXPRESSION);
+        static final OperandState DIVIDE = new OperandState(Rule.DIVIDE_EXPRESSION);
 
-                        @Override
-                        public StateChange nextState(Token token, ImmutableStack<ASTNode> stack) {
-                            ImmutableStack.PopResult<ASTNode> popResult = stack.pop();
-                            ASTNode left = popResult.getElement();
-                            ImmutableStack<ASTNode> newStack =
-                                    popResult.getStack()
-                                            .push(new NonTerminalNode(Rule.MULTIPLICATIVE_EXPRESSION, left));
-                            return new StateChangeImpl(
-                                    new InnerAutomataState(new PrimaryExpressionAutomata(), DivideOrMultiplyState::new, (s) -> {
-                                        ImmutableStack.PopResult<ASTNode> popResult1 = s.pop();
-                                        ImmutableStack.PopResult<ASTNode> popResult2 = popResult1.getStack().pop();
-                                        ASTNode r = popResult1.getElement();
-                                        ASTNode l = popResult2.getElement();
-                                        return popResult2.getStack().push(new NonTerminalNode(Rule.DIVIDE_EXPRESSION, l, r));
-                                    }),
-                                    newStack
-                            );
-                        }
-                    }
+        private OperandState(Rule operation) {
+            super(
+                    new TransitionToAutomata(
+                            () -> PrimaryExpressionAutomata.GRAPH,
+                            () -> DivideOrMultiplyState.INSTANCE,
+                            ParseFrames.combine(operation)
+                    )
             );
         }
     }
@@ -5,12 +5,9 @@ import com.wawey.parser.Rule;
 import com.wawey.parser.ast.NumberLiteralNode;
 
 public class NumberLiteralAutomata extends TerminalNodeAutomata {
+    static final AutomataGraph GRAPH = graph(Rule.NUMBER_LITERAL, TokenType.NUMBER_LITERAL, NumberLiteralNode::new);
 
     public NumberLiteralAutomata() {
-        super(
-                Rule.NUMBER_LITERAL,
-                TokenType.NUMBER_LITERAL,
-                token -> new NumberLiteralNode(token.getLine(), token.getStartColumn(), token.getLexeme())
-        );
+        super(GRAPH);
     }
 }
@@ -5,12 +5,9 @@ import com.wawey.parser.Rule;
 import com.wawey.parser.ast.NumberTypeNode;
 
 public class NumberTypeAutomata extends TerminalNodeAutomata {
+    static final AutomataGraph GRAPH = graph(Rule.NUMBER_TYPE, TokenType.NUMBER_TYPE, NumberTypeNode::new);
 
     public NumberTypeAutomata() {
-        super(
-                Rule.NUMBER_TYPE,
-                TokenType.NUMBER_TYPE,
-                token -> new NumberTypeNode(token.getLine(), token.getStartColumn())
-        );
+        super(GRAPH);
     }
 }
@@ -0,0 +1,153 @@
+package com.wawey.parser.automata;
+
+import com.wawey.lexer.Token;
+import com.wawey.parser.Rule;
+import com.wawey.parser.ast.ASTNode;
+import com.wawey.parser.ast.NonTerminalNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Progress of one parse through the shared automata graphs: a frame for each automata entered and not
+ * finished yet, and the nodes they pushed, all in one list.
+ * <p>
+ * An inner automata is only finished when a token does not fit it anymore, or when the result is asked
+ * for, so entering and leaving automatas allocates nothing but the nodes they build.
+ *
+ * @author Tomas Perez Molina
+ */
+public final class ParseFrames {
+    private static final int INITIAL_DEPTH = 16;
+
+    private AutomataGraph[] graphs = new AutomataGraph[INITIAL_DEPTH];
+    private ParserAutomataState[] states = new ParserAutomataState[INITIAL_DEPTH];
+    private TransitionToAutomata[] openedBy = new TransitionToAutomata[INITIAL_DEPTH];
+    private int[] bases = new int[INITIAL_DEPTH];
+    private int top = 0;
+    private final List<ASTNode> nodes;
+
+    ParseFrames(AutomataGraph root) {
+        graphs[0] = root;
+        states[0] = root.getInitialState();
+        nodes = new ArrayList<>();
+    }
+
+    private ParseFrames(ParseFrames other) {
+        graphs = other.graphs.clone();
+        states = other.states.clone();
+        openedBy = other.openedBy.clone();
+        bases = other.bases.clone();
+        top = other.top;
+        nodes = new ArrayList<>(other.nodes);
+    }
+
+    /**
+     * Takes the transition of the innermost frame that has one for token, finishing the frames above it.
+     *
+     * @throws NoTransitionException if no frame can consume token
+     */
+    void consume(Token token) {
+        for (int level = top; ; level--) {
+            Transition transition = states[level].transitionFor(token);
+            if (transition != null) {
+                while (top > level) finish();
+                transition.take(token, this);
+                return;
+            }
+            if (level == 0 || !states[level].isAcceptable()) throw new NoTransitionException(token);
+        }
+    }
+
+    /**
+     * @return whether some frame can consume token. A frame can only be left for the one below if it could
+     * finish.
+     */
+    boolean accepts(Token token) {
+        for (int i = top; i >= 0; i--) {
+            if (states[i].accepts(token)) return true;
+            if (!states[i].isAcceptable()) return false;
+        }
+        return false;
+    }
+
+    /**
+     * @return whether every frame could finish here
+     */
+    boolean acceptable() {
+        for (int i = top; i >= 0; i--) {
+            if (!states[i].isAcceptable()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the result of the outermost automata, built from what its frame has so far. Finishes the
+     * frames that can be finished on a copy, so the parse can go on.
+     */
+    ASTNode result() {
+        if (top == 0) return graphs[0].result(nodes);
+        ParseFrames frames = new ParseFrames(this);
+        while (frames.top > 0 && frames.states[frames.top].isAcceptable()) frames.finish();
+        int end = frames.top == 0 ? frames.nodes.size() : frames.bases[1];
+        return graphs[0].result(frames.nodes.subList(0, end));
+    }
+
+    void setState(ParserAutomataState state) {
+        states[top] = state;
+    }
+
+    void open(AutomataGraph graph, TransitionToAutomata transition) {
+        if (++top == graphs.length) {
+            graphs = Arrays.copyOf(graphs, top * 2);
+            states = Arrays.copyOf(states, top * 2);
+            openedBy = Arrays.copyOf(openedBy, top * 2);
+            bases = Arrays.copyOf(bases, top * 2);
+        }
+        graphs[top] = graph;
+        states[top] = graph.getInitialState();
+        openedBy[top] = transition;
+        bases[top] = nodes.size();
+    }
+
+    public void push(ASTNode node) {
+        nodes.add(node);
+    }
+
+    public ASTNode pop() {
+        return nodes.remove(nodes.size() - 1);
+    }
+
+    /**
+     * @return an action that wraps the last node in a node of rule
+     */
+    public static Consumer<ParseFrames> wrap(Rule rule) {
+        return frames -> frames.push(new NonTerminalNode(rule, frames.pop()));
+    }
+
+    /**
+     * @return an action that replaces the last two nodes with a node of rule that has both
+     */
+    public static Consumer<ParseFrames> combine(Rule rule) {
+        return frames -> {
+            ASTNode right = frames.pop();
+            ASTNode left = frames.pop();
+            frames.push(new NonTerminalNode(rule, left, right));
+        };
+    }
+
+    private void finish() {
+        List<ASTNode> pushed = nodes.subList(bases[top], nodes.size());
+        ASTNode result = graphs[top].result(pushed);
+        pushed.clear();
+        TransitionToAutomata transition = openedBy[top];
+        graphs[top] = null;
+        states[top] = null;
+        openedBy[top] = null;
+        top--;
+        nodes.add(result);
+        transition.finished(this);
+    }
+}
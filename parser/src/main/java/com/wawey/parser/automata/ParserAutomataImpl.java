@@ -1,43 +1,35 @@
 package com.wawey.parser.automata;
 
-import com.wawey.helper.ImmutableStack;
-import com.wawey.helper.LinkedImmutableStack;
 import com.wawey.lexer.Token;
-import com.wawey.parser.Rule;
 import com.wawey.parser.ast.ASTNode;
-import com.wawey.parser.ast.NonTerminalNode;
-
-import java.util.LinkedList;
 
+/**
+ * Runs a shared {@link AutomataGraph}, keeping the progress of this parse in its own {@link ParseFrames}.
+ */
 public class ParserAutomataImpl implements ParserAutomata {
-    private final Rule rule;
-    protected ImmutableStack<ASTNode> stack = LinkedImmutableStack.empty();
-    private ParserAutomataState currentState;
+    private final ParseFrames frames;
 
-    public ParserAutomataImpl(Rule rule, ParserAutomataState initialState) {
-        this.rule = rule;
-        this.currentState = initialState;
+    public ParserAutomataImpl(AutomataGraph graph) {
+        this.frames = new ParseFrames(graph);
     }
 
     @Override
     public void consume(Token token) {
-        StateChange change = currentState.transition(token, stack);
-        currentState = change.getNextState();
-        stack = change.getNewStack();
+        frames.consume(token);
     }
 
     @Override
     public ASTNode getResult() {
-        return new NonTerminalNode(rule, new LinkedList<>(stack.toList()));
+        return frames.result();
     }
 
     @Override
     public boolean accepts(Token token) {
-        return currentState.accepts(token);
+        return frames.accepts(token);
     }
 
     @Override
     public boolean acceptable() {
-        return currentState.isAcceptable();
+        return frames.acceptable();
     }
 }
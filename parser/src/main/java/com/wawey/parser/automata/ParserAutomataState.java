@@ -1,11 +1,20 @@
 package com.wawey.parser.automata;
 
-import com.wawey.helper.ImmutableStack;
 import com.wawey.lexer.Token;
-import com.wawey.parser.ast.ASTNode;
 
+/**
+ * A state of an {@link AutomataGraph}. States are immutable and shared by every parse, whatever a parse
+ * has built so far lives in its {@link ParseFrames}.
+ */
 public interface ParserAutomataState {
-    StateChange transition(Token token, ImmutableStack<ASTNode> stack);
+    /**
+     * @return the transition to take on token, or null if there is none
+     */
+    Transition transitionFor(Token token);
+
     boolean isAcceptable();
-    boolean accepts(Token token);
+
+    default boolean accepts(Token token) {
+        return transitionFor(token) != null;
+    }
 }
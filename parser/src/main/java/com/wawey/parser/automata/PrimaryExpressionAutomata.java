@@ -1,62 +1,40 @@
 package com.wawey.parser.automata;
 
-import com.wawey.helper.ImmutableStack;
-import com.wawey.lexer.Token;
 import com.wawey.lexer.TokenType;
 import com.wawey.parser.Rule;
-import com.wawey.parser.ast.ASTNode;
 
 public class PrimaryExpressionAutomata extends ParserAutomataImpl {
+    static final AutomataGraph GRAPH = AutomataGraph.of(Rule.PRIMARY_EXPRESSION, InitialState.INSTANCE);
 
     public PrimaryExpressionAutomata() {
-        super(Rule.PRIMARY_EXPRESSION, new InitialState());
+        super(GRAPH);
     }
 
     private static class InitialState extends TransitionState {
+        static final InitialState INSTANCE = new InitialState();
 
-        public InitialState() {
+        private InitialState() {
             super(
-                    new TransitionToAutomata(new LiteralAutomata(), AcceptedState::new),
-                    new TransitionToAutomata(new IdentifierAutomata(), AcceptedState::new),
-                    new Transition() {
-                        @Override
-                        public boolean consumes(Token token) {
-                            return token.getType() == TokenType.LEFT_PAREN;
-                        }
-
-                        @Override
-                        public StateChange nextState(Token token, ImmutableStack<ASTNode> stack) {
-                            return new StateChangeImpl(
-                                    new InnerAutomataState(new AdditiveExpressionAutomata(), RightParenState::new),
-                                    stack
-                            );
-                        }
-                    }
+                    new TransitionToAutomata(() -> LiteralAutomata.GRAPH, () -> AcceptedState.INSTANCE),
+                    new TransitionToAutomata(() -> IdentifierAutomata.GRAPH, () -> AcceptedState.INSTANCE),
+                    new TokenTransition(TokenType.LEFT_PAREN, () -> ExpressionState.INSTANCE)
             );
         }
     }
 
-    private static class RightParenState implements ParserAutomataState {
-        @Override
-        public StateChange transition(Token token, ImmutableStack<ASTNode> stack) {
-            if (accepts(token)) {
-                return new StateChangeImpl(
-                        new AcceptedState(),
-                        stack
-                );
-            } else {
-                throw new NoTransitionException(token);
-            }
-        }
+    private static class ExpressionState extends TransitionState {
+        static final ExpressionState INSTANCE = new ExpressionState();
 
-        @Override
-        public boolean accepts(Token token) {
-            return token.getType() == TokenType.RIGHT_PAREN;
+        private ExpressionState() {
+            super(new TransitionToAutomata(() -> AdditiveExpressionAutomata.GRAPH, () -> RightParenState.INSTANCE));
         }
+    }
+
+    private static class RightParenState extends TransitionState {
+        static final RightParenState INSTANCE = new RightParenState();
 
-        @Override
-        public boolean isAcceptable() {
-            return false;
+        private RightParenState() {
+            super(new TokenTransition(TokenType.RIGHT_PAREN, () -> AcceptedState.INSTANCE));
         }
     }
 }
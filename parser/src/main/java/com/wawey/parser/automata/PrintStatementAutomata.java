@@ -1,82 +1,47 @@
 package com.wawey.parser.automata;
 
-import com.wawey.helper.ImmutableStack;
-import com.wawey.lexer.Token;
 import com.wawey.lexer.TokenType;
 import com.wawey.parser.Rule;
-import com.wawey.parser.ast.ASTNode;
 
 /**
  * @author Tomas Perez Molina
  */
 public class PrintStatementAutomata extends ParserAutomataImpl {
+    static final AutomataGraph GRAPH = AutomataGraph.of(Rule.PRINT_STATEMENT, InitialState.INSTANCE);
+
     public PrintStatementAutomata() {
-        super(Rule.PRINT_STATEMENT, new InitialState());
+        super(GRAPH);
     }
 
-    private static class InitialState implements ParserAutomataState {
-        @Override
-        public StateChange transition(Token token, ImmutableStack<ASTNode> stack) {
-            if (accepts(token)) {
-                return new StateChangeImpl(
-                        new PostPrintState(),
-                        stack
-                );
-            } else throw new NoTransitionException(token);
-        }
+    private static class InitialState extends TransitionState {
+        static final InitialState INSTANCE = new InitialState();
 
-        @Override
-        public boolean isAcceptable() {
-            return false;
-        }
-
-        @Override
-        public boolean accepts(Token token) {
-            return token.getType() == TokenType.PRINT;
+        private InitialState() {
+            super(new TokenTransition(TokenType.PRINT, () -> PostPrintState.INSTANCE));
         }
     }
 
-    private static class PostPrintState implements ParserAutomataState {
-        @Override
-        public StateChange transition(Token token, ImmutableStack<ASTNode> stack) {
-            if (accepts(token)) {
-                return new StateChangeImpl(
-                        new InnerAutomataState(new AdditiveExpressionAutomata(), RightParenState::new),
-                        stack
-                );
-            } else throw new NoTransitionException(token);
-        }
-
-        @Override
-        public boolean isAcceptable() {
-            return false;
-        }
+    private static class PostPrintState extends TransitionState {
+        static final PostPrintState INSTANCE = new PostPrintState();
 
-        @Override
-        public boolean accepts(Token token) {
-            return token.getType() == TokenType.LEFT_PAREN;
+        private PostPrintState() {
+            super(new TokenTransition(TokenType.LEFT_PAREN, () -> ExpressionState.INSTANCE));
         }
     }
 
-    private static class RightParenState implements ParserAutomataState {
-        @Override
-        public StateChangeImpl transition(Token token, ImmutableStack<ASTNode> stack) {
-            if (accepts(token)) {
-                return new StateChangeImpl(
-                        new AcceptedState(),
-                        stack
-                );
-            } else throw new NoTransitionException(token);
-        }
+    private static class ExpressionState extends TransitionState {
+        static final ExpressionState INSTANCE = new ExpressionState();
 
-        @Override
-        public boolean isAcceptable() {
-            return false;
+        private ExpressionState() {
+            super(new TransitionToAutomata(() -> AdditiveExpressionAutomata.GRAPH, () -> RightParenState.INSTANCE));
         }
+    }
+
+    private static class RightParenState extends TransitionState {
+        static final RightParenState INSTANCE = new RightParenState();
 
-        @Override
-        public boolean accepts(Token token) {
-            return token.getType() == TokenType.RIGHT_PAREN;
+        private RightParenState() {
+            super(new TokenTransition(TokenType.RIGHT_PAREN, () -> AcceptedState.INSTANCE));
         }
     }
 }
@@ -1,74 +1,32 @@
 package com.wawey.parser.automata;
 
-import com.wawey.helper.ImmutableStack;
-import com.wawey.lexer.Token;
 import com.wawey.parser.Rule;
-import com.wawey.parser.ast.ASTNode;
-import com.wawey.parser.ast.NonTerminalNode;
 
 /**
+ * Builds a single PROGRAM node with every line as a child, so long scripts do not make deep trees.
+ *
  * @author Tomas Perez Molina
  */
 public class ProgramAutomata extends ParserAutomataImpl {
-    public ProgramAutomata() {
-        super(Rule.PROGRAM, new InitialState());
-    }
+    static final AutomataGraph GRAPH = AutomataGraph.of(Rule.PROGRAM, InitialState.INSTANCE);
 
-    @Override
-    public ASTNode getResult() {
-        return stack.peek();
+    public ProgramAutomata() {
+        super(GRAPH);
     }
 
     private static class InitialState extends TransitionState {
-        public InitialState() {
-            super(
-                    new Transition() {
-                        ParserAutomata inner = new LineAutomata();
+        static final InitialState INSTANCE = new InitialState();
 
-                        @Override
-                        public boolean consumes(Token token) {
-                            return inner.accepts(token);
-                        }
-
-                        @Override
-                        public StateChange nextState(Token token, ImmutableStack<ASTNode> stack) {
-                            ParserAutomataState next = new InnerAutomataState(inner, GotLineState::new, (s) -> {
-                                ImmutableStack.PopResult<ASTNode> popResult = s.pop();
-                                ASTNode line = popResult.getElement();
-                                return popResult.getStack().push(new NonTerminalNode(Rule.PROGRAM, line));
-                            });
-                            return next.transition(token, stack);
-                        }
-                    }
-            );
+        private InitialState() {
+            super(new TransitionToAutomata(() -> LineAutomata.GRAPH, () -> GotLineState.INSTANCE));
         }
     }
 
     private static class GotLineState extends TransitionState {
-        public GotLineState() {
-            super(
-                    true,
-                    new Transition() {
-                        ParserAutomata inner = new LineAutomata();
-
-                        @Override
-                        public boolean consumes(Token token) {
-                            return inner.accepts(token);
-                        }
+        static final GotLineState INSTANCE = new GotLineState();
 
-                        @Override
-                        public StateChange nextState(Token token, ImmutableStack<ASTNode> stack) {
-                            ParserAutomataState next = new InnerAutomataState(inner, GotLineState::new, (s) -> {
-                                ImmutableStack.PopResult<ASTNode> popResult1 = s.pop();
-                                ImmutableStack.PopResult<ASTNode> popResult2 = popResult1.getStack().pop();
-                                ASTNode line = popResult1.getElement();
-                                ASTNode program = popResult2.getElement();
-                                return popResult2.getStack().push(new NonTerminalNode(Rule.PROGRAM, program, line));
-                            });
-                            return next.transition(token, stack);
-                        }
-                    }
-            );
+        private GotLineState() {
+            super(true, new TransitionToAutomata(() -> LineAutomata.GRAPH, () -> GotLineState.INSTANCE));
         }
     }
 }
@@ -6,16 +6,20 @@ import com.wawey.parser.Rule;
  * @author Tomas Perez Molina
  */
 public class StatementAutomata extends ParserAutomataImpl {
+    static final AutomataGraph GRAPH = AutomataGraph.of(Rule.STATEMENT, InitialState.INSTANCE);
+
     public StatementAutomata() {
-        super(Rule.STATEMENT, new InitialState());
+        super(GRAPH);
     }
 
     private static class InitialState extends TransitionState {
-        public InitialState() {
+        static final InitialState INSTANCE = new InitialState();
+
+        private InitialState() {
             super(
-                    new TransitionToAutomata(new VariableDeclarationAutomata(), AcceptedState::new),
-                    new TransitionToAutomata(new PrintStatementAutomata(), AcceptedState::new),
-                    new TransitionToAutomata(new CoverInitializedNameAutomata(), AcceptedState::new)
+                    new TransitionToAutomata(() -> VariableDeclarationAutomata.GRAPH, () -> AcceptedState.INSTANCE),
+                    new TransitionToAutomata(() -> PrintStatementAutomata.GRAPH, () -> AcceptedState.INSTANCE),
+                    new TransitionToAutomata(() -> CoverInitializedNameAutomata.GRAPH, () -> AcceptedState.INSTANCE)
             );
         }
     }
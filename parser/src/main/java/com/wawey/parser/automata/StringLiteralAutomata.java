@@ -5,12 +5,9 @@ import com.wawey.parser.Rule;
 import com.wawey.parser.ast.StringLiteralNode;
 
 public class StringLiteralAutomata extends TerminalNodeAutomata {
+    static final AutomataGraph GRAPH = graph(Rule.STRING_LITERAL, TokenType.STRING_LITERAL, StringLiteralNode::new);
 
     public StringLiteralAutomata() {
-        super(
-                Rule.STRING_LITERAL,
-                TokenType.STRING_LITERAL,
-                token -> new StringLiteralNode(token.getLine(), token.getStartColumn(), token.getLexeme())
-        );
+        super(GRAPH);
     }
 }
@@ -5,12 +5,9 @@ import com.wawey.parser.Rule;
 import com.wawey.parser.ast.StringTypeNode;
 
 public class StringTypeAutomata extends TerminalNodeAutomata {
+    static final AutomataGraph GRAPH = graph(Rule.STRING_TYPE, TokenType.STRING_TYPE, StringTypeNode::new);
 
     public StringTypeAutomata() {
-        super(
-                Rule.STRING_TYPE,
-                TokenType.STRING_TYPE,
-                token -> new StringTypeNode(token.getLine(), token.getStartColumn())
-        );
+        super(GRAPH);
     }
 }
@@ -1,6 +1,5 @@
 package com.wawey.parser.automata;
 
-import com.wawey.helper.ImmutableStack;
 import com.wawey.lexer.Token;
 import com.wawey.lexer.TokenType;
 import com.wawey.parser.Rule;
@@ -13,44 +12,18 @@ import java.util.function.Function;
  */
 public class TerminalNodeAutomata extends ParserAutomataImpl {
 
-    public TerminalNodeAutomata(Rule rule, TokenType tokenType, Function<Token, ASTNode> nodeMapper) {
-        super(rule, new InitialState(tokenType, nodeMapper));
+    protected TerminalNodeAutomata(AutomataGraph graph) {
+        super(graph);
     }
 
-    @Override
-    public ASTNode getResult() {
-        return stack.peek();
-    }
-
-    private static class InitialState implements ParserAutomataState {
-        private final TokenType tokenType;
-        private final Function<Token, ASTNode> nodeMapper;
-
-        InitialState(TokenType tokenType, Function<Token, ASTNode> nodeMapper) {
-            this.tokenType = tokenType;
-            this.nodeMapper = nodeMapper;
-        }
-
-        @Override
-        public boolean isAcceptable() {
-            return false;
-        }
-
-        @Override
-        public boolean accepts(Token token) {
-            return token.getType() == tokenType;
-        }
-
-        @Override
-        public StateChangeImpl transition(Token token, ImmutableStack<ASTNode> stack) {
-            if (accepts(token)) {
-                return new StateChangeImpl(
-                        new AcceptedState(),
-                        stack.push(nodeMapper.apply(token))
-                );
-            } else {
-                throw new NoTransitionException(token);
-            }
-        }
+    /**
+     * @return the graph of an automata that takes a single token of tokenType and results in the node
+     * nodeMapper builds from it
+     */
+    static AutomataGraph graph(Rule rule, TokenType tokenType, Function<Token, ASTNode> nodeMapper) {
+        return AutomataGraph.passThrough(
+                rule,
+                new TransitionState(TokenTransition.pushing(tokenType, nodeMapper, () -> AcceptedState.INSTANCE))
+        );
     }
 }
@@ -0,0 +1,55 @@
+package com.wawey.parser.automata;
+
+import com.wawey.lexer.Token;
+import com.wawey.lexer.TokenType;
+
+import com.wawey.parser.ast.ASTNode;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Consumes a single token of the given type, optionally changing the nodes of the top frame.
+ *
+ * @author Tomas Perez Molina
+ */
+public class TokenTransition implements Transition {
+    private final TokenType type;
+    private final BiConsumer<Token, ParseFrames> action;
+    private final Supplier<ParserAutomataState> next;
+
+    public TokenTransition(TokenType type, Supplier<ParserAutomataState> next) {
+        this(type, (token, frames) -> {}, next);
+    }
+
+    public TokenTransition(TokenType type, Consumer<ParseFrames> action, Supplier<ParserAutomataState> next) {
+        this(type, (token, frames) -> action.accept(frames), next);
+    }
+
+    private TokenTransition(TokenType type, BiConsumer<Token, ParseFrames> action, Supplier<ParserAutomataState> next) {
+        this.type = type;
+        this.action = action;
+        this.next = next;
+    }
+
+    /**
+     * @return a transition that pushes the node nodeMapper builds from the token
+     */
+    public static TokenTransition pushing(TokenType type, Function<Token, ASTNode> nodeMapper,
+                                          Supplier<ParserAutomataState> next) {
+        return new TokenTransition(type, (token, frames) -> frames.push(nodeMapper.apply(token)), next);
+    }
+
+    @Override
+    public boolean consumes(Token token) {
+        return token.getType() == type;
+    }
+
+    @Override
+    public void take(Token token, ParseFrames frames) {
+        action.accept(token, frames);
+        frames.setState(next.get());
+    }
+}
@@ -1,11 +1,12 @@
 package com.wawey.parser.automata;
 
-import com.wawey.helper.ImmutableStack;
 import com.wawey.lexer.Token;
-import com.wawey.parser.ast.ASTNode;
 
 public interface Transition {
     boolean consumes(Token token);
 
-    StateChange nextState(Token token, ImmutableStack<ASTNode> stack);
+    /**
+     * Consumes token, moving the top frame of the parse to its next state.
+     */
+    void take(Token token, ParseFrames frames);
 }
@@ -1,31 +1,51 @@
 package com.wawey.parser.automata;
 
-import com.wawey.helper.ImmutableStack;
 import com.wawey.lexer.Token;
-import com.wawey.parser.ast.ASTNode;
 
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
+ * Enters an inner automata, which pushes its result on the outer frame when it finishes.
+ * <p>
+ * Automatas refer to each other recursively, so the inner graph is only looked up when the transition
+ * is used.
+ *
  * @author Tomas Perez Molina
  */
 public class TransitionToAutomata implements Transition {
-    private final ParserAutomata automata;
+    private final Supplier<AutomataGraph> automata;
     private final Supplier<ParserAutomataState> onFinishTransition;
+    private final Consumer<ParseFrames> onFinish;
 
-    public TransitionToAutomata(ParserAutomata automata, Supplier<ParserAutomataState> onFinishTransition) {
+    public TransitionToAutomata(Supplier<AutomataGraph> automata, Supplier<ParserAutomataState> onFinishTransition) {
+        this(automata, onFinishTransition, frames -> {});
+    }
+
+    public TransitionToAutomata(Supplier<AutomataGraph> automata, Supplier<ParserAutomataState> onFinishTransition,
+                                Consumer<ParseFrames> onFinish) {
         this.automata = automata;
         this.onFinishTransition = onFinishTransition;
+        this.onFinish = onFinish;
     }
 
     @Override
     public boolean consumes(Token token) {
-        return automata.accepts(token);
+        return automata.get().getInitialState().accepts(token);
     }
 
     @Override
-    public StateChange nextState(Token token, ImmutableStack<ASTNode> stack) {
-        ParserAutomataState next = new InnerAutomataState(automata, onFinishTransition);
-        return next.transition(token, stack);
+    public void take(Token token, ParseFrames frames) {
+        frames.setState(onFinishTransition.get());
+        AutomataGraph inner = automata.get();
+        frames.open(inner, this);
+        inner.getInitialState().transitionFor(token).take(token, frames);
+    }
+
+    /**
+     * Called once the inner automata result was pushed on the outer frame.
+     */
+    void finished(ParseFrames frames) {
+        onFinish.accept(frames);
     }
 }
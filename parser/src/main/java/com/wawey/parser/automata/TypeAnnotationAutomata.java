@@ -1,38 +1,31 @@
 package com.wawey.parser.automata;
 
-import com.wawey.helper.ImmutableStack;
-import com.wawey.lexer.Token;
 import com.wawey.lexer.TokenType;
 import com.wawey.parser.Rule;
-import com.wawey.parser.ast.ASTNode;
 
 /**
  * @author Tomas Perez Molina
  */
 public class TypeAnnotationAutomata extends ParserAutomataImpl {
+    static final AutomataGraph GRAPH = AutomataGraph.of(Rule.TYPE_ANNOTATION, InitialState.INSTANCE);
+
     public TypeAnnotationAutomata() {
-        super(Rule.TYPE_ANNOTATION, new InitialState());
+        super(GRAPH);
     }
 
-    private static class InitialState implements ParserAutomataState {
-        @Override
-        public StateChange transition(Token token, ImmutableStack<ASTNode> stack) {
-            if (accepts(token)) {
-                return new StateChangeImpl(
-                        new InnerAutomataState(new TypeAutomata(), AcceptedState::new),
-                        stack
-                );
-            } else throw new NoTransitionException(token);
-        }
+    private static class InitialState extends TransitionState {
+        static final InitialState INSTANCE = new InitialState();
 
-        @Override
-        public boolean isAcceptable() {
-            return false;
+        private InitialState() {
+            super(new TokenTransition(TokenType.COLON, () -> TypeState.INSTANCE));
         }
+    }
+
+    private static class TypeState extends TransitionState {
+        static final TypeState INSTANCE = new TypeState();
 
-        @Override
-        public boolean accepts(Token token) {
-            return token.getType() == TokenType.COLON;
+        private TypeState() {
+            super(new TransitionToAutomata(() -> TypeAutomata.GRAPH, () -> AcceptedState.INSTANCE));
         }
     }
 }
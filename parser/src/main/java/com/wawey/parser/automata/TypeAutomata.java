@@ -1,20 +1,21 @@
 package com.wawey.parser.automata;
 
 import com.wawey.parser.Rule;
-import com.wawey.parser.ast.ASTNode;
-import com.wawey.parser.ast.NonTerminalNode;
 
 public class TypeAutomata extends ParserAutomataImpl {
+    static final AutomataGraph GRAPH = AutomataGraph.of(Rule.TYPE, InitialState.INSTANCE);
 
     public TypeAutomata() {
-        super(Rule.TYPE, new InitialState());
+        super(GRAPH);
     }
 
     private static class InitialState extends TransitionState {
-        public InitialState() {
+        static final InitialState INSTANCE = new InitialState();
+
+        private InitialState() {
             super(
-                    new TransitionToAutomata(new NumberTypeAutomata(), AcceptedState::new),
-                    new TransitionToAutomata(new StringTypeAutomata(), AcceptedState::new)
+                    new TransitionToAutomata(() -> NumberTypeAutomata.GRAPH, () -> AcceptedState.INSTANCE),
+                    new TransitionToAutomata(() -> StringTypeAutomata.GRAPH, () -> AcceptedState.INSTANCE)
             );
         }
     }
@@ -1,54 +1,51 @@
 package com.wawey.parser.automata;
 
-import com.wawey.helper.ImmutableStack;
-import com.wawey.lexer.Token;
 import com.wawey.lexer.TokenType;
 import com.wawey.parser.Rule;
-import com.wawey.parser.ast.ASTNode;
 
 /**
  * @author Tomas Perez Molina
  */
 public class VariableDeclarationAutomata extends ParserAutomataImpl {
+    static final AutomataGraph GRAPH = AutomataGraph.of(Rule.VARIABLE_DECLARATION, InitialState.INSTANCE);
+
     public VariableDeclarationAutomata() {
-        super(Rule.VARIABLE_DECLARATION, new InitialState());
+        super(GRAPH);
     }
 
-    private static class InitialState implements ParserAutomataState {
-        @Override
-        public StateChange transition(Token token, ImmutableStack<ASTNode> stack) {
-            if (accepts(token)) {
-                return new StateChangeImpl(
-                        new InnerAutomataState(new IdentifierAutomata(), PostIdentifierState::new),
-                        stack
-                );
-            } else throw new NoTransitionException(token);
-        }
+    private static class InitialState extends TransitionState {
+        static final InitialState INSTANCE = new InitialState();
 
-        @Override
-        public boolean isAcceptable() {
-            return false;
+        private InitialState() {
+            super(new TokenTransition(TokenType.LET, () -> PostLetState.INSTANCE));
         }
+    }
 
-        @Override
-        public boolean accepts(Token token) {
-            return token.getType() == TokenType.LET;
+    private static class PostLetState extends TransitionState {
+        static final PostLetState INSTANCE = new PostLetState();
+
+        private PostLetState() {
+            super(new TransitionToAutomata(() -> IdentifierAutomata.GRAPH, () -> PostIdentifierState.INSTANCE));
         }
     }
 
     private static class PostIdentifierState extends TransitionState {
-        public PostIdentifierState() {
+        static final PostIdentifierState INSTANCE = new PostIdentifierState();
+
+        private PostIdentifierState() {
             super(
                     true,
-                    new TransitionToAutomata(new TypeAnnotationAutomata(), PostTypeAnnotationState::new),
-                    new TransitionToAutomata(new InitializerAutomata(), AcceptedState::new)
+                    new TransitionToAutomata(() -> TypeAnnotationAutomata.GRAPH, () -> PostTypeAnnotationState.INSTANCE),
+                    new TransitionToAutomata(() -> InitializerAutomata.GRAPH, () -> AcceptedState.INSTANCE)
             );
         }
     }
 
     private static class PostTypeAnnotationState extends TransitionState {
-        public PostTypeAnnotationState() {
-            super(true, new TransitionToAutomata(new InitializerAutomata(), AcceptedState::new));
+        static final PostTypeAnnotationState INSTANCE = new PostTypeAnnotationState();
+
+        private PostTypeAnnotationState() {
+            super(true, new TransitionToAutomata(() -> InitializerAutomata.GRAPH, () -> AcceptedState.INSTANCE));
         }
     }
 }
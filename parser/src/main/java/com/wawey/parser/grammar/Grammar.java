@@ -0,0 +1,148 @@
+package com.wawey.parser.grammar;
+
+import com.wawey.lexer.Token;
+import com.wawey.lexer.TokenType;
+import com.wawey.parser.Rule;
+import com.wawey.parser.ast.ASTNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Context free grammar whose productions also say which nodes to build.
+ * <p>
+ * Bodies are written as space separated symbols: token types in upper case, such as {@code SEMICOLON},
+ * non terminals in camel case, and actions such as {@code {LINE/1}}, which wrap the last nodes parsed in a
+ * node of a {@link Rule}, or {@code {PROGRAM/*}}, which wraps every node parsed in its production. Tokens
+ * only become nodes when a node mapper is declared for their type.
+ *
+ * @author Tomas Perez Molina
+ */
+public class Grammar {
+    private final String start;
+    private final List<Production> productions;
+    private final Map<TokenType, Rule> nodeRules;
+    private final Map<TokenType, Function<Token, ASTNode>> nodeMappers;
+
+    private Grammar(String start, List<Production> productions, Map<TokenType, Rule> nodeRules,
+                    Map<TokenType, Function<Token, ASTNode>> nodeMappers) {
+        this.start = start;
+        this.productions = Collections.unmodifiableList(productions);
+        this.nodeRules = Collections.unmodifiableMap(nodeRules);
+        this.nodeMappers = Collections.unmodifiableMap(nodeMappers);
+    }
+
+    public String getStart() {
+        return start;
+    }
+
+    public List<Production> getProductions() {
+        return productions;
+    }
+
+    /**
+     * @return the non terminals, in the order their first production was declared
+     */
+    public List<String> getNonTerminals() {
+        Set<String> result = new LinkedHashSet<>();
+        productions.forEach(p -> result.add(p.getHead()));
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * @return the rule of the leaves built for each token type that becomes a node
+     */
+    public Map<TokenType, Rule> getNodeRules() {
+        return nodeRules;
+    }
+
+    public Map<TokenType, Function<Token, ASTNode>> getNodeMappers() {
+        return nodeMappers;
+    }
+
+    public static class Builder {
+        private final String start;
+        private final List<Production> productions = new ArrayList<>();
+        private final Map<TokenType, Rule> nodeRules = new EnumMap<>(TokenType.class);
+        private final Map<TokenType, Function<Token, ASTNode>> nodeMappers = new EnumMap<>(TokenType.class);
+        private final Set<Rule> collapsed = EnumSet.noneOf(Rule.class);
+
+        public Builder(String start) {
+            this.start = start;
+        }
+
+        public Builder production(String head, String body) {
+            List<Symbol> symbols = new ArrayList<>();
+            for (String symbol : body.trim().split("\\s+")) {
+                if (!symbol.isEmpty()) symbols.add(parseSymbol(symbol));
+            }
+            productions.add(new Production(head, symbols));
+            return this;
+        }
+
+        public Builder node(TokenType type, Rule rule, Function<Token, ASTNode> mapper) {
+            nodeRules.put(type, rule);
+            nodeMappers.put(type, mapper);
+            return this;
+        }
+
+        /**
+         * Drops the actions that wrap a single node in one of the given rules, so the trees built are the
+         * ones {@link com.wawey.parser.ast.ChainCollapser} lowers them to.
+         */
+        public Builder collapse(Set<Rule> rules) {
+            collapsed.addAll(rules);
+            return this;
+        }
+
+        public Grammar build() {
+            Set<String> heads = new LinkedHashSet<>();
+            productions.forEach(p -> heads.add(p.getHead()));
+            if (!heads.contains(start)) throw new IllegalStateException("No production for start symbol " + start);
+            for (Production production : productions) {
+                for (Symbol symbol : production.getBody()) {
+                    if (symbol.getKind() == Symbol.Kind.NON_TERMINAL && !heads.contains(symbol.getNonTerminal()))
+                        throw new IllegalStateException("No production for " + symbol + " in " + production);
+                }
+            }
+            List<Production> result = new ArrayList<>();
+            for (Production production : productions) {
+                result.add(collapsed.isEmpty() ? production : collapse(production));
+            }
+            return new Grammar(start, result, new EnumMap<>(nodeRules), new EnumMap<>(nodeMappers));
+        }
+
+        private Production collapse(Production production) {
+            List<Symbol> body = new ArrayList<>();
+            for (Symbol symbol : production.getBody()) {
+                boolean dropped = symbol.getKind() == Symbol.Kind.ACTION && symbol.getArity() == 1 &&
+                        collapsed.contains(symbol.getRule());
+                if (!dropped) body.add(symbol);
+            }
+            return new Production(production.getHead(), body);
+        }
+
+        private static Symbol parseSymbol(String symbol) {
+            if (symbol.startsWith("{")) {
+                int slash = symbol.indexOf('/');
+                if (!symbol.endsWith("}") || slash < 0)
+                    throw new IllegalArgumentException("Malformed action " + symbol);
+                Rule rule = Rule.valueOf(symbol.substring(1, slash));
+                String arity = symbol.substring(slash + 1, symbol.length() - 1);
+                if (arity.equals("*")) return Symbol.collect(rule);
+                return Symbol.action(rule, Integer.parseInt(arity));
+            }
+            if (Character.isUpperCase(symbol.charAt(0))) {
+                return Symbol.terminal(TokenType.valueOf(symbol));
+            }
+            return Symbol.nonTerminal(symbol);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.wawey.parser.grammar;
+
+import com.wawey.lexer.Token;
+import com.wawey.lexer.TokenType;
+import com.wawey.parser.Rule;
+import com.wawey.parser.ast.ASTNode;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Parse tables of an LL(1) grammar, with every symbol encoded as an int.
+ * <p>
+ * Symbols below {@link #getTerminalCount()} are token type ordinals, the next {@link #getNonTerminalCount()}
+ * are non terminals, and the rest are actions. Built by {@link LL1TableBuilder}; immutable, so it can be
+ * shared between threads.
+ *
+ * @author Tomas Perez Molina
+ */
+public class LL1Table {
+    public static final int NO_PRODUCTION = -1;
+
+    private final int terminalCount;
+    private final String[] nonTerminals;
+    private final int start;
+    private final int[][] reversedBodies;
+    private final boolean[] collecting;
+    private final int[] predictions;
+    private final Rule[] actionRules;
+    private final int[] actionArities;
+    private final Rule[] nodeRules;
+    private final List<Function<Token, ASTNode>> nodeMappers;
+
+    LL1Table(int terminalCount, String[] nonTerminals, int start, int[][] reversedBodies, boolean[] collecting, int[] predictions,
+             Rule[] actionRules, int[] actionArities, Rule[] nodeRules, List<Function<Token, ASTNode>> nodeMappers) {
+        this.terminalCount = terminalCount;
+        this.nonTerminals = nonTerminals;
+        this.start = start;
+        this.reversedBodies = reversedBodies;
+        this.collecting = collecting;
+        this.predictions = predictions;
+        this.actionRules = actionRules;
+        this.actionArities = actionArities;
+        this.nodeRules = nodeRules;
+        this.nodeMappers = Collections.unmodifiableList(nodeMappers);
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getTerminalCount() {
+        return terminalCount;
+    }
+
+    public int getNonTerminalCount() {
+        return nonTerminals.length;
+    }
+
+    public boolean isTerminal(int symbol) {
+        return symbol < terminalCount;
+    }
+
+    public boolean isNonTerminal(int symbol) {
+        return symbol >= terminalCount && symbol < terminalCount + nonTerminals.length;
+    }
+
+    /**
+     * @return the production to expand nonTerminal with when the next token has the given type, or
+     * {@link #NO_PRODUCTION}
+     */
+    public int predict(int nonTerminal, TokenType next) {
+        return predictions[(nonTerminal - terminalCount) * terminalCount + next.ordinal()];
+    }
+
+    /**
+     * @return the body of the production, last symbol first, ready to be pushed on a stack
+     */
+    public int[] getReversedBody(int production) {
+        return reversedBodies[production];
+    }
+
+    /**
+     * @return whether the production has an action that takes every node parsed since it was expanded, so
+     * the parser has to remember where its nodes start
+     */
+    public boolean isCollecting(int production) {
+        return collecting[production];
+    }
+
+    /**
+     * @return the number of nodes the action takes, or {@link Symbol#ALL_NODES}
+     */
+    public int getActionArity(int symbol) {
+        return actionArities[symbol - terminalCount - nonTerminals.length];
+    }
+
+    public Rule getActionRule(int symbol) {
+        return actionRules[symbol - terminalCount - nonTerminals.length];
+    }
+
+    /**
+     * @return the rule of the leaves built for tokens of the given terminal, or null if they are dropped
+     */
+    public Rule getNodeRule(int terminal) {
+        return nodeRules[terminal];
+    }
+
+    /**
+     * @return how tokens of the given terminal become nodes, or null if they are dropped
+     */
+    public Function<Token, ASTNode> getNodeMapper(int terminal) {
+        return nodeMappers.get(terminal);
+    }
+
+    public String getNonTerminalName(int symbol) {
+        return nonTerminals[symbol - terminalCount];
+    }
+}
@@ -0,0 +1,182 @@
+package com.wawey.parser.grammar;
+
+import com.wawey.lexer.Token;
+import com.wawey.lexer.TokenType;
+import com.wawey.parser.Rule;
+import com.wawey.parser.ast.ASTNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Builds the {@link LL1Table} of a {@link Grammar} from the FIRST and FOLLOW sets of its non terminals.
+ * <p>
+ * A production is only predicted on tokens that can actually start it, or follow its head when it can be
+ * empty, so errors are found on the first token that cannot be parsed. Grammars that are not LL(1) are
+ * rejected with an {@link IllegalArgumentException} naming the conflict.
+ *
+ * @author Tomas Perez Molina
+ */
+public class LL1TableBuilder {
+    private static final int TERMINAL_COUNT = TokenType.values().length;
+
+    public LL1Table build(Grammar grammar) {
+        List<String> nonTerminals = grammar.getNonTerminals();
+        Map<String, Integer> nonTerminalIndexes = new HashMap<>();
+        for (int i = 0; i < nonTerminals.size(); i++) {
+            nonTerminalIndexes.put(nonTerminals.get(i), i);
+        }
+        List<Production> productions = grammar.getProductions();
+
+        boolean[] nullable = new boolean[nonTerminals.size()];
+        BitSet[] first = new BitSet[nonTerminals.size()];
+        BitSet[] follow = new BitSet[nonTerminals.size()];
+        for (int i = 0; i < nonTerminals.size(); i++) {
+            first[i] = new BitSet(TERMINAL_COUNT);
+            follow[i] = new BitSet(TERMINAL_COUNT);
+        }
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Production production : productions) {
+                int head = nonTerminalIndexes.get(production.getHead());
+                BitSet bodyFirst = new BitSet(TERMINAL_COUNT);
+                boolean bodyNullable = firstOf(production.getBody(), 0, nonTerminalIndexes, nullable, first, bodyFirst);
+                if (bodyNullable && !nullable[head]) {
+                    nullable[head] = true;
+                    changed = true;
+                }
+                changed |= addAll(first[head], bodyFirst);
+            }
+        }
+
+        changed = true;
+        while (changed) {
+            changed = false;
+            for (Production production : productions) {
+                int head = nonTerminalIndexes.get(production.getHead());
+                List<Symbol> body = production.getBody();
+                for (int i = 0; i < body.size(); i++) {
+                    if (body.get(i).getKind() != Symbol.Kind.NON_TERMINAL) continue;
+                    int nonTerminal = nonTerminalIndexes.get(body.get(i).getNonTerminal());
+                    BitSet restFirst = new BitSet(TERMINAL_COUNT);
+                    boolean restNullable = firstOf(body, i + 1, nonTerminalIndexes, nullable, first, restFirst);
+                    changed |= addAll(follow[nonTerminal], restFirst);
+                    if (restNullable) changed |= addAll(follow[nonTerminal], follow[head]);
+                }
+            }
+        }
+
+        List<Symbol> actions = new ArrayList<>();
+        Map<Symbol, Integer> actionIndexes = new HashMap<>();
+        int[][] reversedBodies = new int[productions.size()][];
+        boolean[] collecting = new boolean[productions.size()];
+        int[] predictions = new int[nonTerminals.size() * TERMINAL_COUNT];
+        Arrays.fill(predictions, LL1Table.NO_PRODUCTION);
+        for (int p = 0; p < productions.size(); p++) {
+            Production production = productions.get(p);
+            List<Symbol> body = production.getBody();
+            int[] reversed = new int[body.size()];
+            for (int i = 0; i < body.size(); i++) {
+                Symbol symbol = body.get(i);
+                int encoded;
+                switch (symbol.getKind()) {
+                    case TERMINAL:
+                        encoded = symbol.getTokenType().ordinal();
+                        break;
+                    case NON_TERMINAL:
+                        encoded = TERMINAL_COUNT + nonTerminalIndexes.get(symbol.getNonTerminal());
+                        break;
+                    default:
+                        collecting[p] |= symbol.getArity() == Symbol.ALL_NODES;
+                        Integer index = actionIndexes.get(symbol);
+                        if (index == null) {
+                            index = actions.size();
+                            actions.add(symbol);
+                            actionIndexes.put(symbol, index);
+                        }
+                        encoded = TERMINAL_COUNT + nonTerminals.size() + index;
+                }
+                reversed[body.size() - 1 - i] = encoded;
+            }
+            reversedBodies[p] = reversed;
+
+            int head = nonTerminalIndexes.get(production.getHead());
+            BitSet predicted = new BitSet(TERMINAL_COUNT);
+            if (firstOf(body, 0, nonTerminalIndexes, nullable, first, predicted)) {
+                predicted.or(follow[head]);
+            }
+            for (int t = predicted.nextSetBit(0); t >= 0; t = predicted.nextSetBit(t + 1)) {
+                int cell = head * TERMINAL_COUNT + t;
+                if (predictions[cell] != LL1Table.NO_PRODUCTION) {
+                    throw new IllegalArgumentException(String.format(
+                            "Grammar is not LL(1): on %s, %s could be expanded with %s or %s",
+                            TokenType.values()[t], production.getHead(), productions.get(predictions[cell]), production
+                    ));
+                }
+                predictions[cell] = p;
+            }
+        }
+
+        Rule[] actionRules = new Rule[actions.size()];
+        int[] actionArities = new int[actions.size()];
+        for (int i = 0; i < actions.size(); i++) {
+            actionRules[i] = actions.get(i).getRule();
+            actionArities[i] = actions.get(i).getArity();
+        }
+        List<Function<Token, ASTNode>> nodeMappers = new ArrayList<>(Collections.nCopies(TERMINAL_COUNT, null));
+        grammar.getNodeMappers().forEach((type, mapper) -> nodeMappers.set(type.ordinal(), mapper));
+        Rule[] nodeRules = new Rule[TERMINAL_COUNT];
+        grammar.getNodeRules().forEach((type, rule) -> nodeRules[type.ordinal()] = rule);
+
+        return new LL1Table(
+                TERMINAL_COUNT,
+                nonTerminals.toArray(new String[0]),
+                TERMINAL_COUNT + nonTerminalIndexes.get(grammar.getStart()),
+                reversedBodies,
+                collecting,
+                predictions,
+                actionRules,
+                actionArities,
+                nodeRules,
+                nodeMappers
+        );
+    }
+
+    /**
+     * Adds to result the tokens that can start the symbols of body from the given index on.
+     *
+     * @return whether those symbols can all be empty
+     */
+    private static boolean firstOf(List<Symbol> body, int from, Map<String, Integer> nonTerminalIndexes,
+                                   boolean[] nullable, BitSet[] first, BitSet result) {
+        for (int i = from; i < body.size(); i++) {
+            Symbol symbol = body.get(i);
+            switch (symbol.getKind()) {
+                case TERMINAL:
+                    result.set(symbol.getTokenType().ordinal());
+                    return false;
+                case NON_TERMINAL:
+                    int index = nonTerminalIndexes.get(symbol.getNonTerminal());
+                    result.or(first[index]);
+                    if (!nullable[index]) return false;
+                    break;
+                default:
+            }
+        }
+        return true;
+    }
+
+    private static boolean addAll(BitSet into, BitSet from) {
+        int before = into.cardinality();
+        into.or(from);
+        return into.cardinality() != before;
+    }
+}
@@ -0,0 +1,31 @@
+package com.wawey.parser.grammar;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * @author Tomas Perez Molina
+ */
+public class Production {
+    private final String head;
+    private final List<Symbol> body;
+
+    public Production(String head, List<Symbol> body) {
+        this.head = head;
+        this.body = Collections.unmodifiableList(body);
+    }
+
+    public String getHead() {
+        return head;
+    }
+
+    public List<Symbol> getBody() {
+        return body;
+    }
+
+    @Override
+    public String toString() {
+        return head + " -> " + (body.isEmpty() ? "<empty>" : body.stream().map(Symbol::toString).collect(Collectors.joining(" ")));
+    }
+}
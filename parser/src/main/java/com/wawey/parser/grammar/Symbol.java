@@ -0,0 +1,112 @@
+package com.wawey.parser.grammar;
+
+import com.wawey.lexer.TokenType;
+import com.wawey.parser.Rule;
+
+import java.util.Objects;
+
+/**
+ * Element of the body of a {@link Production}: a token to match, a non terminal to expand, or an action
+ * that builds a node out of the last nodes parsed.
+ *
+ * @author Tomas Perez Molina
+ */
+public class Symbol {
+    public enum Kind {
+        TERMINAL,
+        NON_TERMINAL,
+        ACTION
+    }
+
+    /**
+     * Arity of actions that take every node parsed since their production was expanded.
+     */
+    public static final int ALL_NODES = -1;
+
+    private final Kind kind;
+    private final TokenType tokenType;
+    private final String nonTerminal;
+    private final Rule rule;
+    private final int arity;
+
+    private Symbol(Kind kind, TokenType tokenType, String nonTerminal, Rule rule, int arity) {
+        this.kind = kind;
+        this.tokenType = tokenType;
+        this.nonTerminal = nonTerminal;
+        this.rule = rule;
+        this.arity = arity;
+    }
+
+    public static Symbol terminal(TokenType tokenType) {
+        return new Symbol(Kind.TERMINAL, tokenType, null, null, 0);
+    }
+
+    public static Symbol nonTerminal(String name) {
+        return new Symbol(Kind.NON_TERMINAL, null, name, null, 0);
+    }
+
+    /**
+     * Replaces the last arity nodes with a node of the given rule that has them as children.
+     */
+    public static Symbol action(Rule rule, int arity) {
+        if (arity <= 0) throw new IllegalArgumentException("Actions must wrap at least one node");
+        return new Symbol(Kind.ACTION, null, null, rule, arity);
+    }
+
+    /**
+     * Replaces every node parsed since the production of this action was expanded with a node of the
+     * given rule that has them as children, so lists of any length end up in a single node.
+     */
+    public static Symbol collect(Rule rule) {
+        return new Symbol(Kind.ACTION, null, null, rule, ALL_NODES);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public TokenType getTokenType() {
+        return tokenType;
+    }
+
+    public String getNonTerminal() {
+        return nonTerminal;
+    }
+
+    public Rule getRule() {
+        return rule;
+    }
+
+    public int getArity() {
+        return arity;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Symbol symbol = (Symbol) o;
+        return arity == symbol.arity &&
+                kind == symbol.kind &&
+                tokenType == symbol.tokenType &&
+                Objects.equals(nonTerminal, symbol.nonTerminal) &&
+                rule == symbol.rule;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, tokenType, nonTerminal, rule, arity);
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case TERMINAL:
+                return tokenType.name();
+            case NON_TERMINAL:
+                return nonTerminal;
+            default:
+                return "{" + rule + "/" + (arity == ALL_NODES ? "*" : Integer.toString(arity)) + "}";
+        }
+    }
+}
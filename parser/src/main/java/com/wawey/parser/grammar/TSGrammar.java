@@ -0,0 +1,97 @@
+package com.wawey.parser.grammar;
+
+import com.wawey.lexer.TokenType;
+import com.wawey.parser.Rule;
+import com.wawey.parser.ast.ChainCollapser;
+import com.wawey.parser.ast.IdentifierNode;
+import com.wawey.parser.ast.NumberLiteralNode;
+import com.wawey.parser.ast.NumberTypeNode;
+import com.wawey.parser.ast.StringLiteralNode;
+import com.wawey.parser.ast.StringTypeNode;
+
+/**
+ * The TS grammar the parser automatas implement, written as an LL(1) grammar that builds the same trees.
+ * <p>
+ * Left recursive rules are written as tails: every operator first wraps the expression so far, then the
+ * operation node takes it and the next operand, as the automatas do. The lines of a program are all
+ * collected in one node.
+ *
+ * @author Tomas Perez Molina
+ */
+public final class TSGrammar {
+    private TSGrammar() {
+    }
+
+    /**
+     * @return the LL(1) table of the TS grammar, built once per process
+     */
+    public static LL1Table table() {
+        return TableHolder.TABLE;
+    }
+
+    /**
+     * @return the LL(1) table of the TS grammar without {@link ChainCollapser#TS_PASS_THROUGH_RULES}
+     * wrappers, built once per process
+     */
+    public static LL1Table collapsedTable() {
+        return CollapsedTableHolder.TABLE;
+    }
+
+    public static Grammar grammar() {
+        return builder().build();
+    }
+
+    public static Grammar collapsedGrammar() {
+        return builder().collapse(ChainCollapser.TS_PASS_THROUGH_RULES).build();
+    }
+
+    private static Grammar.Builder builder() {
+        return new Grammar.Builder("file")
+                .production("file", "program EOF {FILE/1}")
+                .production("program", "line programTail {PROGRAM/*}")
+                .production("programTail", "line programTail")
+                .production("programTail", "")
+                .production("line", "statement SEMICOLON {LINE/1}")
+                .production("statement", "variableDeclaration {STATEMENT/1}")
+                .production("statement", "printStatement {STATEMENT/1}")
+                .production("statement", "coverInitializedName {STATEMENT/1}")
+                .production("variableDeclaration", "LET IDENTIFIER variableDeclarationTail")
+                .production("variableDeclarationTail", "typeAnnotation typedVariableDeclarationTail")
+                .production("variableDeclarationTail", "initializer {VARIABLE_DECLARATION/2}")
+                .production("variableDeclarationTail", "{VARIABLE_DECLARATION/1}")
+                .production("typedVariableDeclarationTail", "initializer {VARIABLE_DECLARATION/3}")
+                .production("typedVariableDeclarationTail", "{VARIABLE_DECLARATION/2}")
+                .production("typeAnnotation", "COLON type {TYPE_ANNOTATION/1}")
+                .production("type", "NUMBER_TYPE {TYPE/1}")
+                .production("type", "STRING_TYPE {TYPE/1}")
+                .production("initializer", "EQUALS additiveExpression {INITIALIZER/1}")
+                .production("printStatement", "PRINT LEFT_PAREN additiveExpression RIGHT_PAREN {PRINT_STATEMENT/1}")
+                .production("coverInitializedName", "IDENTIFIER initializer {COVER_INITIALIZED_NAME/2}")
+                .production("additiveExpression", "multiplicativeExpression additiveTail {ADDITIVE_EXPRESSION/1}")
+                .production("additiveTail", "PLUS {ADDITIVE_EXPRESSION/1} multiplicativeExpression {SUM_EXPRESSION/2} additiveTail")
+                .production("additiveTail", "MINUS {ADDITIVE_EXPRESSION/1} multiplicativeExpression {SUBTRACT_EXPRESSION/2} additiveTail")
+                .production("additiveTail", "")
+                .production("multiplicativeExpression", "primaryExpression multiplicativeTail {MULTIPLICATIVE_EXPRESSION/1}")
+                .production("multiplicativeTail", "ASTERISK {MULTIPLICATIVE_EXPRESSION/1} primaryExpression {MULTIPLY_EXPRESSION/2} multiplicativeTail")
+                .production("multiplicativeTail", "FORWARD_SLASH {MULTIPLICATIVE_EXPRESSION/1} primaryExpression {DIVIDE_EXPRESSION/2} multiplicativeTail")
+                .production("multiplicativeTail", "")
+                .production("primaryExpression", "literal {PRIMARY_EXPRESSION/1}")
+                .production("primaryExpression", "IDENTIFIER {PRIMARY_EXPRESSION/1}")
+                .production("primaryExpression", "LEFT_PAREN additiveExpression RIGHT_PAREN {PRIMARY_EXPRESSION/1}")
+                .production("literal", "NUMBER_LITERAL {LITERAL/1}")
+                .production("literal", "STRING_LITERAL {LITERAL/1}")
+                .node(TokenType.IDENTIFIER, Rule.IDENTIFIER, IdentifierNode::new)
+                .node(TokenType.NUMBER_LITERAL, Rule.NUMBER_LITERAL, NumberLiteralNode::new)
+                .node(TokenType.STRING_LITERAL, Rule.STRING_LITERAL, StringLiteralNode::new)
+                .node(TokenType.NUMBER_TYPE, Rule.NUMBER_TYPE, NumberTypeNode::new)
+                .node(TokenType.STRING_TYPE, Rule.STRING_TYPE, StringTypeNode::new);
+    }
+
+    private static class TableHolder {
+        static final LL1Table TABLE = new LL1TableBuilder().build(grammar());
+    }
+
+    private static class CollapsedTableHolder {
+        static final LL1Table TABLE = new LL1TableBuilder().build(collapsedGrammar());
+    }
+}
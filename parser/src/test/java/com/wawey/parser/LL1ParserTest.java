@@ -0,0 +1,49 @@
+package com.wawey.parser;
+
+import com.wawey.lexer.DFALexer;
+import com.wawey.lexer.LexerFactory;
+import com.wawey.lexer.Token;
+import com.wawey.parser.grammar.Grammar;
+import com.wawey.parser.grammar.LL1TableBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LL1ParserTest {
+    @Test
+    public void shouldReportSameErrorsAsAutomataParser() {
+        DFALexer lexer = new LexerFactory().getCompiledTSLexer();
+        Parser automataParser = new ParserFactory().getTSParser();
+        Parser parser = new ParserFactory().getLL1TSParser();
+        for (String program : TSPrograms.PROGRAMS) {
+            List<Token> tokens = lexer.lex(program);
+            for (int i = 0; i < tokens.size() - 1; i++) {
+                List<Token> missing = new ArrayList<>(tokens);
+                missing.remove(i);
+                Assert.assertEquals(parseOrError(automataParser, missing), parseOrError(parser, missing));
+                List<Token> repeated = new ArrayList<>(tokens);
+                repeated.add(i, tokens.get(i));
+                Assert.assertEquals(parseOrError(automataParser, repeated), parseOrError(parser, repeated));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectGrammarsThatAreNotLL1() {
+        Grammar grammar = new Grammar.Builder("statement")
+                .production("statement", "IDENTIFIER SEMICOLON")
+                .production("statement", "IDENTIFIER EQUALS IDENTIFIER SEMICOLON")
+                .build();
+        new LL1TableBuilder().build(grammar);
+    }
+
+    private static Object parseOrError(Parser parser, List<Token> tokens) {
+        try {
+            return parser.parse(tokens);
+        } catch (UnexpectedTokenException | UnexpectedEndOfFileException exc) {
+            return exc.getClass().getSimpleName() + ": " + exc.getMessage();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.wawey.parser;
+
+import com.wawey.lexer.LexerFactory;
+import com.wawey.lexer.Token;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Prints the bytes the TS parsers allocate per token once warmed up, which is mostly the tree they build.
+ * Run with {@code gradle :parser:allocationBenchmark}.
+ *
+ * @author Tomas Perez Molina
+ */
+public class ParserAllocationBenchmark {
+    private static final int WARMUP_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)
+                || !((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+            System.out.println("Thread allocation counters are not supported by this JVM");
+            return;
+        }
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        allocations.setThreadAllocatedMemoryEnabled(true);
+
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        List<Token> tokens = new LexerFactory().getCompiledTSLexer().lex(input(lines));
+        ParserFactory factory = new ParserFactory();
+        Parser automataParser = factory.getTSParser();
+        LL1Parser ll1Parser = factory.getLL1TSParser();
+        LL1Parser collapsingParser = factory.getCollapsingLL1TSParser();
+        System.out.printf("%d tokens%n", tokens.size());
+        run(allocations, "AutomataParser.parse", tokens, automataParser::parse);
+        run(allocations, "LL1Parser.parse", tokens, ll1Parser::parse);
+        run(allocations, "LL1Parser.parseCompact", tokens, ll1Parser::parseCompact);
+        run(allocations, "collapsing LL1Parser", tokens, collapsingParser::parse);
+    }
+
+    private static void run(com.sun.management.ThreadMXBean allocations, String name, List<Token> tokens, Consumer<List<Token>> parser) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            parser.accept(tokens);
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = allocations.getThreadAllocatedBytes(threadId);
+        parser.accept(tokens);
+        long allocated = allocations.getThreadAllocatedBytes(threadId) - before;
+        System.out.printf("%-24s %10d bytes %8.1f bytes/token%n", name, allocated, (double) allocated / tokens.size());
+    }
+
+    private static String input(int lines) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            builder.append("let a").append(i).append(": number = 1 + 2 * (3 - a) / 4;\nprint(\"a\" + a);\n");
+        }
+        return builder.toString();
+    }
+}
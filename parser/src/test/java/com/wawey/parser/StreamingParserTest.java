@@ -0,0 +1,46 @@
+package com.wawey.parser;
+
+import com.wawey.lexer.LexerFactory;
+import com.wawey.parser.ast.ASTNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.Reader;
+
+public class StreamingParserTest {
+    @Test
+    public void shouldParseLikeListParser() {
+        Parser parser = new ParserFactory().getTSParser();
+        StreamingParser streamingParser = new ParserFactory().getStreamingTSParser();
+        for (String program : TSPrograms.PROGRAMS) {
+            ASTNode expected = parser.parse(new LexerFactory().getCompiledTSLexer().lex(program));
+            Assert.assertEquals(program, expected, streamingParser.parse(program));
+        }
+    }
+
+    @Test
+    public void shouldStopPullingTokensAtTheFirstError() {
+        Reader endless = new Reader() {
+            private final String start = "print(1);\nprint(2;\n";
+            private long position = 0;
+
+            @Override
+            public int read(char[] buffer, int offset, int length) {
+                for (int i = 0; i < length; i++, position++) {
+                    buffer[offset + i] = position < start.length() ? start.charAt((int) position) : ' ';
+                }
+                return length;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        try {
+            new ParserFactory().getStreamingTSParser().parse(endless);
+            Assert.fail("Expected an unexpected token error");
+        } catch (UnexpectedTokenException exc) {
+            Assert.assertTrue(exc.getMessage(), exc.getMessage().contains("line 2"));
+        }
+    }
+}
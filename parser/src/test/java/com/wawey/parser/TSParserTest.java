@@ -0,0 +1,339 @@
+package com.wawey.parser;
+
+import com.wawey.lexer.DFALexer;
+import com.wawey.lexer.Lexer;
+import com.wawey.lexer.LexerFactory;
+import com.wawey.lexer.Token;
+import com.wawey.parser.ast.*;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@RunWith(Parameterized.class)
+public class TSParserTest {
+    private static final Parser AUTOMATA_PARSER = new ParserFactory().getTSParser();
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> parsers() {
+        LL1Parser ll1Parser = new ParserFactory().getLL1TSParser();
+        Parser compactParser = tokens -> ll1Parser.parseCompact(tokens).getRootNode();
+        return Arrays.asList(
+                new Object[]{"automata", AUTOMATA_PARSER},
+                new Object[]{"LL(1)", ll1Parser},
+                new Object[]{"LL(1) compact", compactParser}
+        );
+    }
+
+    @Parameterized.Parameter
+    public String name;
+
+    @Parameterized.Parameter(1)
+    public Parser parser;
+
+    @Test
+    public void shouldBuildTheSameTreesAsTheAutomataParser() {
+        DFALexer lexer = new LexerFactory().getCompiledTSLexer();
+        for (String program : TSPrograms.PROGRAMS) {
+            ASTNode expected = AUTOMATA_PARSER.parse(lexer.lex(program));
+            Assert.assertEquals(program, expected, parser.parse(lexer.lex(program)));
+            Assert.assertEquals(program, expected, parser.parse(lexer.lexToBuffer(program)));
+        }
+    }
+
+    @Test
+    public void shouldBuildTreeOf_File_PrintStatement_WhenParsingPrint3() {
+        LexerFactory lexerFactory = new LexerFactory();
+        Lexer lexer = lexerFactory.getTSLexer();
+        ASTNode result = parser.parse(lexer.lex("print(3);"));
+        ASTNode expected = new NonTerminalNode(
+                Rule.FILE,
+                new NonTerminalNode(
+                        Rule.PROGRAM,
+                        new NonTerminalNode(
+                                Rule.LINE,
+                                new NonTerminalNode(
+                                        Rule.STATEMENT,
+                                        new NonTerminalNode(
+                                                Rule.PRINT_STATEMENT,
+                                                new NonTerminalNode(
+                                                        Rule.ADDITIVE_EXPRESSION,
+                                                        new NonTerminalNode(
+                                                                Rule.MULTIPLICATIVE_EXPRESSION,
+                                                                new NonTerminalNode(
+                                                                        Rule.PRIMARY_EXPRESSION,
+                                                                        new NonTerminalNode(
+                                                                                Rule.LITERAL,
+                                                                                new NumberLiteralNode(1, 7, "3")
+                                                                        )
+                                                                )
+                                                        )
+                                                )
+                                        )
+                                )
+                        )
+                )
+        );
+        Assert.assertEquals(expected, result);
+    }
+
+    @Test
+    public void shouldBuildTreeOf_File_PrintStatement_WhenParsingPrint3Plus3() {
+        LexerFactory lexerFactory = new LexerFactory();
+        Lexer lexer = lexerFactory.getTSLexer();
+        ASTNode result = parser.parse(lexer.lex("print(3+3);"));
+        ASTNode expected = new NonTerminalNode(
+                Rule.FILE,
+                new NonTerminalNode(
+                        Rule.PROGRAM,
+                        new NonTerminalNode(
+                                Rule.LINE,
+                                new NonTerminalNode(
+                                        Rule.STATEMENT,
+                                        new NonTerminalNode(
+                                                Rule.PRINT_STATEMENT,
+                                                new NonTerminalNode(
+                                                        Rule.ADDITIVE_EXPRESSION,
+                                                        new NonTerminalNode(
+                                                                Rule.SUM_EXPRESSION,
+                                                                new NonTerminalNode(
+                                                                        Rule.ADDITIVE_EXPRESSION,
+                                                                        new NonTerminalNode(
+                                                                                Rule.MULTIPLICATIVE_EXPRESSION,
+                                                                                new NonTerminalNode(
+                                                                                        Rule.PRIMARY_EXPRESSION,
+                                                                                        new NonTerminalNode(
+                                                                                                Rule.LITERAL,
+                                                                                                new NumberLiteralNode(1, 7, "3")
+                                                                                        )
+                                                                                )
+                                                                        )
+                                                                ),
+                                                                new NonTerminalNode(
+                                                                        Rule.MULTIPLICATIVE_EXPRESSION,
+                                                                        new NonTerminalNode(
+                                                                                Rule.PRIMARY_EXPRESSION,
+                                                                                new NonTerminalNode(
+                                                                                        Rule.LITERAL,
+                                                                                        new NumberLiteralNode(1, 9, "3")
+                                                                                )
+                                                                        )
+                                                                )
+                                                        )
+                                                )
+                                        )
+                                )
+                        )
+                )
+        );
+        Assert.assertEquals(expected, result);
+    }
+
+    @Test
+    public void shouldBuildTreeOf_VariableDeclaration() {
+        String input = "let a : number;";
+        LexerFactory lexerFactory = new LexerFactory();
+        Lexer lexer = lexerFactory.getTSLexer();
+        List<Token> tokens = lexer.lex(input);
+        ASTNode result = parser.parse(tokens);
+        ASTNode expected = new NonTerminalNode(
+                Rule.FILE,
+                new NonTerminalNode(
+                        Rule.PROGRAM,
+                        new NonTerminalNode(
+                                Rule.LINE,
+                                new NonTerminalNode(
+                                        Rule.STATEMENT,
+                                        new NonTerminalNode(
+                                                Rule.VARIABLE_DECLARATION,
+                                                new IdentifierNode(1, 5, "a"),
+                                                new NonTerminalNode(
+                                                        Rule.TYPE_ANNOTATION,
+                                                        new NonTerminalNode(
+                                                                Rule.TYPE,
+                                                                new NumberTypeNode(1, 9)
+                                                        )
+                                                )
+                                        )
+                                )
+                        )
+                )
+        );
+        Assert.assertEquals(expected, result);
+    }
+
+    @Test
+    public void shouldBuildTreeOf_MultipleVariableDeclarations() {
+        String input = "let a : number;let a : number;";
+        LexerFactory lexerFactory = new LexerFactory();
+        Lexer lexer = lexerFactory.getTSLexer();
+        List<Token> tokens = lexer.lex(input);
+        ASTNode result = parser.parse(tokens);
+        ASTNode firstVar = new NonTerminalNode(
+                Rule.LINE,
+                new NonTerminalNode(
+                        Rule.STATEMENT,
+                        new NonTerminalNode(
+                                Rule.VARIABLE_DECLARATION,
+                                new IdentifierNode(1, 5, "a"),
+                                new NonTerminalNode(
+                                        Rule.TYPE_ANNOTATION,
+                                        new NonTerminalNode(
+                                                Rule.TYPE,
+                                                new NumberTypeNode(1, 9)
+                                        )
+                                )
+                        )
+                )
+        );
+        ASTNode secondVar = new NonTerminalNode(
+                Rule.LINE,
+                new NonTerminalNode(
+                        Rule.STATEMENT,
+                        new NonTerminalNode(
+                                Rule.VARIABLE_DECLARATION,
+                                new IdentifierNode(1, 20, "a"),
+                                new NonTerminalNode(
+                                        Rule.TYPE_ANNOTATION,
+                                        new NonTerminalNode(
+                                                Rule.TYPE,
+                                                new NumberTypeNode(1, 24)
+                                        )
+                                )
+                        )
+                )
+        );
+
+        ASTNode expected = new NonTerminalNode(
+                Rule.FILE,
+                new NonTerminalNode(
+                        Rule.PROGRAM,
+                        firstVar,
+                        secondVar
+                )
+        );
+        Assert.assertEquals(expected, result);
+    }
+
+    @Test(expected = UnexpectedEndOfFileException.class)
+    public void shoudThrowUnexpectedEOFWhenMissingASemicolon() {
+        String input = "let a : number";
+        LexerFactory lexerFactory = new LexerFactory();
+        Lexer lexer = lexerFactory.getTSLexer();
+        List<Token> tokens = lexer.lex(input);
+        parser.parse(tokens);
+    }
+
+    @Test(expected = UnexpectedTokenException.class)
+    public void shoudThrowUnexpectedTokenWhenGivenAnExtraSemicolon() {
+        String input = "let a : number;;";
+        LexerFactory lexerFactory = new LexerFactory();
+        Lexer lexer = lexerFactory.getTSLexer();
+        List<Token> tokens = lexer.lex(input);
+        parser.parse(tokens);
+    }
+
+    @Test
+    public void shouldBuildAFlatProgramForLongScripts() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 200_000; i++) {
+            builder.append("let a").append(i).append(" = ").append(i).append(";\n");
+        }
+        List<Token> tokens = new LexerFactory().getCompiledTSLexer().lex(builder.toString());
+        ASTNode result = parser.parse(tokens);
+        NonTerminalNode program = (NonTerminalNode) ((NonTerminalNode) result).getChildren().get(0);
+        Assert.assertEquals(Rule.PROGRAM, program.getRule());
+        Assert.assertEquals(200_000, program.getChildren().size());
+        Assert.assertEquals(200_000, result.getColumnRanges().size());
+    }
+
+    @Test
+    public void shouldBuildSameTreeFromATokenBuffer() {
+        String input = "let a: number = 1 + 2 * (3 - a);\nprint(\"a\" + a);";
+        DFALexer lexer = new LexerFactory().getCompiledTSLexer();
+        ASTNode fromList = parser.parse(lexer.lex(input));
+        ASTNode fromBuffer = parser.parse(lexer.lexToBuffer(input));
+        Assert.assertEquals(fromList, fromBuffer);
+    }
+
+    @Test
+    public void shouldReportUnexpectedTokenPositionFromATokenBuffer() {
+        DFALexer lexer = new LexerFactory().getCompiledTSLexer();
+        try {
+            parser.parse(lexer.lexToBuffer("print(1);\n  let a : number;;"));
+            Assert.fail();
+        } catch (UnexpectedTokenException exc) {
+            Assert.assertEquals("Unexpected SEMICOLON Token \";\" at line 2, column 18", exc.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldParseManyInputsConcurrentlyWithOneInstance() throws Exception {
+        String[] inputs = {
+                "print(3);",
+                "let a: number = 1 + 2 * (3 - 4);\nprint(\"a\" + a);",
+                "let b: string;\nb = 'b';\nprint(b);",
+                "let a : number;;"
+        };
+        Lexer lexer = new LexerFactory().getTSLexer();
+        List<Object> expected = new ArrayList<>();
+        for (String input : inputs) {
+            expected.add(parseOrError(parser, lexer.lex(input)));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        int index = i % inputs.length;
+                        Assert.assertEquals(expected.get(index), parseOrError(parser, lexer.lex(inputs[index])));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Object parseOrError(Parser parser, List<Token> tokens) {
+        try {
+            return parser.parse(tokens);
+        } catch (UnexpectedTokenException exc) {
+            return exc.getMessage();
+        }
+    }
+
+    @Test
+    public void identifierNodesShouldCarryTheirSymbol() {
+        Lexer lexer = new LexerFactory().getCompiledTSLexer();
+        ASTNode result = parser.parse(lexer.lex("let a = 1;\nlet b = a;\nprint(b + a);"));
+        List<IdentifierNode> identifiers = new ArrayList<>();
+        collectIdentifiers(result, identifiers);
+        Assert.assertEquals(5, identifiers.size());
+        int[] expected = {0, 1, 0, 1, 0};
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(expected[i], identifiers.get(i).getSymbol());
+        }
+    }
+
+    private static void collectIdentifiers(ASTNode node, List<IdentifierNode> into) {
+        if (node instanceof IdentifierNode) {
+            into.add((IdentifierNode) node);
+        } else if (node instanceof NonTerminalNode) {
+            ((NonTerminalNode) node).getChildren().forEach(child -> collectIdentifiers(child, into));
+        }
+    }
+}
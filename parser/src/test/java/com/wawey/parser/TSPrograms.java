@@ -0,0 +1,27 @@
+package com.wawey.parser;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * TS programs using every statement and expression the grammar has, shared by the tests that compare
+ * parsers with each other.
+ *
+ * @author Tomas Perez Molina
+ */
+public final class TSPrograms {
+    public static final List<String> PROGRAMS = Collections.unmodifiableList(Arrays.asList(
+            "print(3);",
+            "print(3+3);",
+            "let a: number;",
+            "let a: number;\na = 3;\nprint(a);",
+            "let a: number;\nlet b: string = \"b\";\nlet c = 'c';\na = 3;\nprint(a);",
+            "let a: number = 1 + 2 * (3 - a) / 4 - 5;\nprint(\"a\" + a);",
+            "let a = '\"String-ception\"' + \"'Same here'\";\r\n\r\nprint(a);\r\n",
+            "let b: string = \"b\";\n    print(1 + 2 * (3 + 9) * 3 - (52 + 0.31) * 2.1);\n\n"
+    ));
+
+    private TSPrograms() {
+    }
+}
@@ -44,6 +44,33 @@ public class ASTNodeTest {
         );
     }
 
+    @Test
+    public void nonTerminalShouldJoinRangesOfNestedChildrenOnSharedLines() {
+        ASTNode inner = new NonTerminalNode(
+                anyRule(),
+                new TerminalNode(anyRule(), 1, 3, "a"),
+                new TerminalNode(anyRule(), 2, 1, "bc")
+        );
+        ASTNode nonTerminal = new NonTerminalNode(anyRule(), inner, new TerminalNode(anyRule(), 2, 4, "d"));
+        Assert.assertEquals(
+                Arrays.asList(
+                        new LineColumnRangePairImpl(1, new RangeImpl(3, 4)),
+                        new LineColumnRangePairImpl(2, new RangeImpl(1, 5))
+                ),
+                nonTerminal.getColumnRanges()
+        );
+        Assert.assertSame(nonTerminal.getColumnRanges(), nonTerminal.getColumnRanges());
+    }
+
+    @Test
+    public void nonTerminalShouldStartWhereItsFirstChildStarts() {
+        ASTNode terminal1 = new TerminalNode(anyRule(), 3, 7, "ads");
+        ASTNode terminal2 = new TerminalNode(anyRule(), 4, 1, "ads");
+        ASTNode nonTerminal = new NonTerminalNode(anyRule(), new NonTerminalNode(anyRule(), terminal1), terminal2);
+        Assert.assertEquals(3, nonTerminal.getStartLine());
+        Assert.assertEquals(7, nonTerminal.getStartColumn());
+    }
+
     private Rule anyRule() {
         return Rule.NUMBER_LITERAL;
     }
@@ -0,0 +1,54 @@
+package com.wawey.parser.ast;
+
+import com.wawey.lexer.LexerFactory;
+import com.wawey.lexer.Token;
+import com.wawey.parser.ParserFactory;
+import com.wawey.parser.TSPrograms;
+import com.wawey.parser.Rule;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class ChainCollapserTest {
+    @Test
+    public void shouldDropPassThroughWrappers() {
+        List<Token> tokens = new LexerFactory().getCompiledTSLexer().lex("print(3);");
+        ASTNode collapsed = new ChainCollapser().collapse(new ParserFactory().getTSParser().parse(tokens));
+        ASTNode expected = new NonTerminalNode(
+                Rule.FILE,
+                new NonTerminalNode(
+                        Rule.PROGRAM,
+                        new NonTerminalNode(Rule.PRINT_STATEMENT, new NumberLiteralNode(tokens.get(2)))
+                )
+        );
+        Assert.assertEquals(expected, collapsed);
+    }
+
+    @Test
+    public void shouldKeepSourcePositions() {
+        List<Token> tokens = new LexerFactory().getCompiledTSLexer().lex("let a = 1;\n  print(a + 2 * 3);");
+        ASTNode tree = new ParserFactory().getTSParser().parse(tokens);
+        ASTNode collapsed = new ChainCollapser().collapse(tree);
+        Assert.assertEquals(tree.getColumnRanges(), collapsed.getColumnRanges());
+        ASTNode print = ((NonTerminalNode) ((NonTerminalNode) collapsed).getChildren().get(0)).getChildren().get(1);
+        Assert.assertEquals(Rule.PRINT_STATEMENT, print.getRule());
+        Assert.assertEquals(2, print.getStartLine());
+        Assert.assertEquals(9, print.getStartColumn());
+    }
+
+    @Test
+    public void collapsingParserShouldBuildCollapsedTrees() {
+        for (String program : TSPrograms.PROGRAMS) {
+            List<Token> tokens = new LexerFactory().getCompiledTSLexer().lex(program);
+            ASTNode expected = new ChainCollapser().collapse(new ParserFactory().getLL1TSParser().parse(tokens));
+            Assert.assertEquals(program, expected, new ParserFactory().getCollapsingLL1TSParser().parse(tokens));
+        }
+    }
+
+    @Test
+    public void shouldReuseSubtreesWithoutWrappers() {
+        ASTNode type = new NonTerminalNode(Rule.TYPE, new NumberTypeNode(1, 8));
+        Assert.assertSame(type, new ChainCollapser().collapse(type));
+    }
+}
@@ -0,0 +1,69 @@
+package com.wawey.parser.ast;
+
+import com.wawey.lexer.LexerFactory;
+import com.wawey.lexer.Token;
+import com.wawey.parser.LL1Parser;
+import com.wawey.parser.ParserFactory;
+import com.wawey.parser.TSPrograms;
+import com.wawey.parser.Rule;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class CompactTreeTest {
+    @Test
+    public void nodeViewsShouldBeTheTreeTheParserBuilds() {
+        LL1Parser parser = new ParserFactory().getLL1TSParser();
+        for (String program : TSPrograms.PROGRAMS) {
+            List<Token> tokens = new LexerFactory().getCompiledTSLexer().lex(program);
+            ASTNode expected = parser.parse(tokens);
+            ASTNode actual = parser.parseCompact(tokens).getRootNode();
+            Assert.assertEquals(program, expected, actual);
+            Assert.assertEquals(program, expected.getColumnRanges(), actual.getColumnRanges());
+        }
+    }
+
+    @Test
+    public void shouldLinkChildrenInOrder() {
+        List<Token> tokens = new LexerFactory().getCompiledTSLexer().lex("let a = 1;\nprint(a);");
+        CompactTree tree = new ParserFactory().getLL1TSParser().parseCompact(tokens);
+        int program = tree.getFirstChild(tree.getRoot());
+        Assert.assertEquals(Rule.FILE, tree.getRule(tree.getRoot()));
+        Assert.assertEquals(Rule.PROGRAM, tree.getRule(program));
+        Assert.assertEquals(2, tree.getChildCount(program));
+        int first = tree.getFirstChild(program);
+        int second = tree.getNextSibling(first);
+        Assert.assertEquals(CompactTree.NONE, tree.getNextSibling(second));
+        Assert.assertEquals(1, tree.getStartLine(first));
+        Assert.assertEquals(2, tree.getStartLine(second));
+
+        int declaration = tree.getFirstChild(tree.getFirstChild(first));
+        Assert.assertEquals(Rule.VARIABLE_DECLARATION, tree.getRule(declaration));
+        int identifier = tree.getFirstChild(declaration);
+        Assert.assertTrue(tree.isTerminal(identifier));
+        Assert.assertEquals("a", tree.getValue(identifier));
+        Assert.assertEquals(0, tree.getSymbol(identifier));
+        Assert.assertEquals(5, tree.getStartColumn(identifier));
+        Assert.assertEquals(CompactTree.NONE, tree.getFirstChild(identifier));
+    }
+
+    @Test
+    public void shouldHoldOneEntryPerNodeOfTheTree() {
+        LL1Parser parser = new ParserFactory().getLL1TSParser();
+        for (String program : TSPrograms.PROGRAMS) {
+            List<Token> tokens = new LexerFactory().getCompiledTSLexer().lex(program);
+            Assert.assertEquals(program, countNodes(parser.parse(tokens)), parser.parseCompact(tokens).size());
+        }
+    }
+
+    private static int countNodes(ASTNode node) {
+        int count = 1;
+        if (node instanceof NonTerminalNode) {
+            for (ASTNode child : ((NonTerminalNode) node).getChildren()) {
+                count += countNodes(child);
+            }
+        }
+        return count;
+    }
+}
@@ -46,7 +46,7 @@ public class ProgramAutomataTest {
     }
 
     @Test
-    public void shouldBuildATreeOf_Program_ProgramLine_ProgramLine_Line_WhenGiven3Lines() {
+    public void shouldBuildATreeOf_Program_Line_Line_Line_WhenGiven3Lines() {
         ParserAutomata automata = new ProgramAutomata();
         automata.consume(TokenImpl.forFixedToken(TokenType.LET, 1, 1));
         automata.consume(new TokenImpl(TokenType.IDENTIFIER, "a", 1, 4));
@@ -62,28 +62,22 @@ public class ProgramAutomataTest {
         ASTNode expected = new NonTerminalNode(
                 Rule.PROGRAM,
                 new NonTerminalNode(
-                        Rule.PROGRAM,
+                        Rule.LINE,
                         new NonTerminalNode(
-                                Rule.PROGRAM,
+                                Rule.STATEMENT,
                                 new NonTerminalNode(
-                                        Rule.LINE,
-                                        new NonTerminalNode(
-                                                Rule.STATEMENT,
-                                                new NonTerminalNode(
-                                                        Rule.VARIABLE_DECLARATION,
-                                                        new IdentifierNode(1, 4, "a")
-                                                )
-                                        )
+                                        Rule.VARIABLE_DECLARATION,
+                                        new IdentifierNode(1, 4, "a")
                                 )
-                        ),
+                        )
+                ),
+                new NonTerminalNode(
+                        Rule.LINE,
                         new NonTerminalNode(
-                                Rule.LINE,
+                                Rule.STATEMENT,
                                 new NonTerminalNode(
-                                        Rule.STATEMENT,
-                                        new NonTerminalNode(
-                                                Rule.VARIABLE_DECLARATION,
-                                                new IdentifierNode(2, 4, "b")
-                                        )
+                                        Rule.VARIABLE_DECLARATION,
+                                        new IdentifierNode(2, 4, "b")
                                 )
                         )
                 ),
@@ -103,7 +97,7 @@ public class ProgramAutomataTest {
     }
 
     @Test
-    public void shouldBuildATreeOf_Program_ProgramLine_Line_WhenGiven2Lines() {
+    public void shouldBuildATreeOf_Program_Line_Line_WhenGiven2Lines() {
         ParserAutomata automata = new ProgramAutomata();
         automata.consume(TokenImpl.forFixedToken(TokenType.LET, 1, 1));
         automata.consume(new TokenImpl(TokenType.IDENTIFIER, "a", 1, 4));
@@ -116,15 +110,12 @@ public class ProgramAutomataTest {
         ASTNode expected = new NonTerminalNode(
                 Rule.PROGRAM,
                 new NonTerminalNode(
-                        Rule.PROGRAM,
+                        Rule.LINE,
                         new NonTerminalNode(
-                                Rule.LINE,
+                                Rule.STATEMENT,
                                 new NonTerminalNode(
-                                        Rule.STATEMENT,
-                                        new NonTerminalNode(
-                                                Rule.VARIABLE_DECLARATION,
-                                                new IdentifierNode(1, 4, "a")
-                                        )
+                                        Rule.VARIABLE_DECLARATION,
+                                        new IdentifierNode(1, 4, "a")
                                 )
                         )
                 ),